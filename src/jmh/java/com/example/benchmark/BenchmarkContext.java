@@ -0,0 +1,55 @@
+package com.example.benchmark;
+
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Application context shared by a benchmark fork. Startup listeners that would talk to MongoDB are
+ * switched off; the client itself only connects lazily, so no server is needed to resolve codecs.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+
+    private static final String DEFAULT_MONGODB_URI = "mongodb://localhost:27017/pokemon_db";
+
+    ApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = ApplicationContext.run(Map.of(
+                "app.init-db", false,
+                "app.seed-data", false,
+                "app.verify-indexes", false
+        ));
+    }
+
+    /**
+     * Properties for benchmarks that run against a live MongoDB ({@code -Dbenchmark.mongodb.uri}): caches,
+     * the change stream and the profiler are off so every operation reaches the server unobserved.
+     */
+    static Map<String, Object> liveMongoProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("mongodb.uri", System.getProperty("benchmark.mongodb.uri", DEFAULT_MONGODB_URI));
+        properties.put("app.init-db", false);
+        properties.put("app.seed-data", false);
+        properties.put("app.verify-indexes", false);
+        properties.put("app.entity-cache.enabled", false);
+        properties.put("app.change-stream.enabled", false);
+        properties.put("app.profiler.enabled", false);
+        return properties;
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.benchmark;
+
+import com.example.model.CardOwner;
+import com.example.model.PokemonCard;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BSON encode/decode through the codecs the repositories' typed collections resolve, i.e. the cost paid
+ * per document on every read and write before any network I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BsonCodecBenchmark {
+
+    private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    Codec<PokemonCard> cardCodec;
+    Codec<CardOwner> ownerCodec;
+
+    PokemonCard card;
+    byte[] cardBson;
+
+    @Setup
+    public void setUp(BenchmarkContext benchmarkContext) {
+        cardCodec = database(benchmarkContext).getCollection("pokemon_cards", PokemonCard.class)
+                .getCodecRegistry().get(PokemonCard.class);
+        ownerCodec = ownerCodec(benchmarkContext);
+
+        card = Fixtures.card();
+        cardBson = encode(cardCodec, card);
+    }
+
+    @Benchmark
+    public byte[] encodeCard() {
+        return encode(cardCodec, card);
+    }
+
+    @Benchmark
+    public PokemonCard decodeCard() {
+        return decode(cardCodec, cardBson);
+    }
+
+    @Benchmark
+    public byte[] encodeOwner(Owners owners) {
+        return encode(ownerCodec, owners.owner);
+    }
+
+    @Benchmark
+    public CardOwner decodeOwner(Owners owners) {
+        return decode(ownerCodec, owners.ownerBson);
+    }
+
+    private static MongoDatabase database(BenchmarkContext benchmarkContext) {
+        return benchmarkContext.context.getBean(MongoClient.class).getDatabase("pokemon_db");
+    }
+
+    private static Codec<CardOwner> ownerCodec(BenchmarkContext benchmarkContext) {
+        return database(benchmarkContext).getCollection("card_owners", CardOwner.class)
+                .getCodecRegistry().get(CardOwner.class);
+    }
+
+    private static <T> byte[] encode(Codec<T> codec, T value) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            codec.encode(writer, value, ENCODER_CONTEXT);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static <T> T decode(Codec<T> codec, byte[] bson) {
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bson))) {
+            return codec.decode(reader, DECODER_CONTEXT);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Owners {
+
+        @Param({"10", "10000"})
+        int ownedCards;
+
+        CardOwner owner;
+        byte[] ownerBson;
+
+        @Setup
+        public void setUp(BenchmarkContext benchmarkContext) {
+            owner = Fixtures.owner(ownedCards);
+            ownerBson = encode(ownerCodec(benchmarkContext), owner);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.benchmark;
+
+import com.example.model.PokemonCard;
+import com.example.repository.PokemonCardRepository;
+import com.mongodb.reactivestreams.client.MongoClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for the Mongo connection pool: {@code concurrency} point reads in flight at once against a pool
+ * of {@code maxPoolSize} connections. While concurrency stays below the pool size, throughput scales; past
+ * it, operations queue for a connection and the checkout wait reported next to the score grows instead.
+ * Requires a running MongoDB ({@code -Dbenchmark.mongodb.uri}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ConnectionPoolBenchmark {
+
+    private static final String CHECKOUT_TIMER = "mongodb.pool.checkout";
+
+    @Param({"10", "50", "100"})
+    int maxPoolSize;
+
+    @Param({"8", "32", "128", "512"})
+    int concurrency;
+
+    ApplicationContext context;
+    PokemonCardRepository repository;
+    MeterRegistry meterRegistry;
+    String cardId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Object> properties = BenchmarkContext.liveMongoProperties();
+        properties.put("app.mongo.pool.max-size", maxPoolSize);
+        properties.put("app.mongo.pool.wait-queue-timeout", "30s");
+        context = ApplicationContext.run(properties);
+        repository = context.getBean(PokemonCardRepository.class);
+        meterRegistry = context.getBean(MeterRegistry.class);
+
+        PokemonCard card = Fixtures.card();
+        cardId = card.getId();
+        repository.deleteById(cardId).block();
+        Mono.from(context.getBean(MongoClient.class)
+                .getDatabase("pokemon_db")
+                .getCollection("pokemon_cards", PokemonCard.class)
+                .insertOne(card)).block();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            repository.deleteById(cardId).block();
+            context.close();
+        }
+    }
+
+    /**
+     * One operation is a wave of {@code concurrency} concurrent reads; the score is waves per second.
+     */
+    @Benchmark
+    public PokemonCard concurrentFindById(CheckoutWait wait) {
+        Timer before = checkoutTimer();
+        long checkouts = before == null ? 0 : before.count();
+        double waited = before == null ? 0 : before.totalTime(TimeUnit.MILLISECONDS);
+        PokemonCard card = Flux.range(0, concurrency)
+                .flatMap(i -> repository.findById(cardId), concurrency)
+                .blockLast();
+        Timer after = checkoutTimer();
+        if (after != null) {
+            wait.checkouts += after.count() - checkouts;
+            wait.checkoutWaitMillis += after.totalTime(TimeUnit.MILLISECONDS) - waited;
+        }
+        return card;
+    }
+
+    private Timer checkoutTimer() {
+        return meterRegistry.find(CHECKOUT_TIMER).tag("outcome", "success").timer();
+    }
+
+    /**
+     * Connection checkouts and the total time spent waiting for them, counted per iteration and reported
+     * by JMH as secondary results; their ratio is the mean checkout wait.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CheckoutWait {
+
+        public long checkouts;
+        public double checkoutWaitMillis;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            checkouts = 0;
+            checkoutWaitMillis = 0;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.benchmark;
+
+import com.example.model.CardOwner;
+import com.example.model.PokemonCard;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic documents shaped like the seeded data, so benchmark runs are comparable.
+ */
+final class Fixtures {
+
+    private static final String[] NAMES = {"Pikachu", "Charizard", "Bulbasaur", "Squirtle", "Eevee", "Mewtwo",
+            "Gengar", "Snorlax", "Jigglypuff", "Dragonite", "Gyarados", "Lapras"};
+    private static final String[] TYPES = {"Fire", "Water", "Grass", "Electric", "Psychic", "Fighting",
+            "Normal", "Dragon"};
+    private static final String[] RARITIES = {"Common", "Uncommon", "Rare", "Rare Holo"};
+    private static final String[] ABILITIES = {"Tackle", "Thunder Shock", "Fire Spin", "Vine Whip", "Hydro Pump",
+            "Psychic", "Hyper Beam", "Rest", "Body Slam", "Quick Attack"};
+
+    private Fixtures() {}
+
+    static PokemonCard card() {
+        PokemonCard card = new PokemonCard("Charizard", "Fire", 120, "Rare Holo", "Base Set",
+                new BigDecimal("350.00"), Arrays.asList("Fire Spin", "Energy Burn"));
+        card.setId("64b7f0c2a1e4d3b2c1a09f01");
+        return card;
+    }
+
+    /**
+     * {@code size} distinct cards with values drawn from a fixed seed, so compressed sizes are repeatable.
+     * All cards belong to {@code set}, and their ids are unique to it.
+     */
+    static List<PokemonCard> catalog(int size, String set) {
+        Random random = new Random(42);
+        List<PokemonCard> cards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            PokemonCard card = new PokemonCard(
+                    NAMES[random.nextInt(NAMES.length)] + " " + i,
+                    TYPES[random.nextInt(TYPES.length)],
+                    30 + 10 * random.nextInt(20),
+                    RARITIES[random.nextInt(RARITIES.length)],
+                    set,
+                    BigDecimal.valueOf(random.nextInt(100_000), 2),
+                    Arrays.asList(ABILITIES[random.nextInt(ABILITIES.length)],
+                            ABILITIES[random.nextInt(ABILITIES.length)]));
+            card.setId(String.format("%08x%016x", set.hashCode(), i));
+            cards.add(card);
+        }
+        return cards;
+    }
+
+    static CardOwner owner(int ownedCards) {
+        List<String> ownedCardIds = new ArrayList<>(ownedCards);
+        for (int i = 0; i < ownedCards; i++) {
+            ownedCardIds.add(String.format("64b7f0c2a1e4d3b2%08x", i));
+        }
+        CardOwner owner = new CardOwner("Ash", "Ketchum", "ash.ketchum@pokemon.com", "+1-555-0101",
+                new CardOwner.Address("1 Route 1", "Pallet Town", "Kanto", "00001", "Japan"),
+                ownedCardIds);
+        owner.setId("64b7f0c2a1e4d3b2c1a0aa01");
+        return owner;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.benchmark;
+
+import com.example.model.PokemonCard;
+import io.micronaut.json.JsonMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Server-side cost of a full-catalog JSON response under each HTTP content encoding: serialization through
+ * the application's {@link JsonMapper}, then gzip or deflate at the given level, the same zlib the Netty
+ * compressor uses ({@code micronaut.server.netty.compression-level}). The {@code bytes} counter is the
+ * response body size as it goes on the wire; {@code identity} is the uncompressed baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpCompressionBenchmark {
+
+    @Param({"1000", "10000"})
+    int catalogSize;
+
+    @Param({"identity", "gzip:1", "gzip:6", "gzip:9", "deflate:6"})
+    String encoding;
+
+    JsonMapper jsonMapper;
+    List<PokemonCard> catalog;
+    String algorithm;
+    int level;
+
+    @Setup
+    public void setUp(BenchmarkContext benchmarkContext) {
+        jsonMapper = benchmarkContext.context.getBean(JsonMapper.class);
+        catalog = Fixtures.catalog(catalogSize, "Base Set");
+        String[] parts = encoding.split(":");
+        algorithm = parts[0];
+        level = parts.length > 1 ? Integer.parseInt(parts[1]) : Deflater.NO_COMPRESSION;
+    }
+
+    @Benchmark
+    public byte[] fullCatalogResponse(WireBytes wireBytes) throws IOException {
+        byte[] json = jsonMapper.writeValueAsBytes(catalog);
+        byte[] body = "identity".equals(algorithm) ? json : compress(json);
+        wireBytes.bytes = body.length;
+        return body;
+    }
+
+    private byte[] compress(byte[] json) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+        try (OutputStream out = "gzip".equals(algorithm)
+                ? new LeveledGzip(buffer, level)
+                : new LeveledDeflate(buffer, level)) {
+            out.write(json);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Response body size, reported next to the time per operation.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireBytes {
+        public long bytes;
+    }
+
+    private static final class LeveledGzip extends GZIPOutputStream {
+        LeveledGzip(OutputStream out, int level) throws IOException {
+            super(out);
+            def.setLevel(level);
+        }
+    }
+
+    private static final class LeveledDeflate extends DeflaterOutputStream {
+        LeveledDeflate(OutputStream out, int level) {
+            super(out, new Deflater(level));
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                def.end();
+            }
+        }
+    }
+}
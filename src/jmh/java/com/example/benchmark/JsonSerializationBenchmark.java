@@ -0,0 +1,115 @@
+package com.example.benchmark;
+
+import com.example.model.CardOwner;
+import com.example.model.PokemonCard;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micronaut.core.type.Argument;
+import io.micronaut.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encode/decode of the API models through the {@link JsonMapper} the HTTP layer uses and through a
+ * bare Jackson {@link ObjectMapper}. Owners are measured both typical and holding 10k {@code ownedCardIds}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final Argument<PokemonCard> CARD = Argument.of(PokemonCard.class);
+    private static final Argument<CardOwner> OWNER = Argument.of(CardOwner.class);
+
+    JsonMapper micronautMapper;
+    ObjectMapper jacksonMapper;
+
+    PokemonCard card;
+    byte[] cardJson;
+
+    @Setup
+    public void setUp(BenchmarkContext benchmarkContext) throws IOException {
+        micronautMapper = benchmarkContext.context.getBean(JsonMapper.class);
+        jacksonMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        card = Fixtures.card();
+        cardJson = micronautMapper.writeValueAsBytes(card);
+    }
+
+    @Benchmark
+    public byte[] encodeCardMicronaut() throws IOException {
+        return micronautMapper.writeValueAsBytes(card);
+    }
+
+    @Benchmark
+    public PokemonCard decodeCardMicronaut() throws IOException {
+        return micronautMapper.readValue(cardJson, CARD);
+    }
+
+    @Benchmark
+    public byte[] encodeCardJackson() throws IOException {
+        return jacksonMapper.writeValueAsBytes(card);
+    }
+
+    @Benchmark
+    public PokemonCard decodeCardJackson() throws IOException {
+        return jacksonMapper.readValue(cardJson, PokemonCard.class);
+    }
+
+    @Benchmark
+    public byte[] encodeOwnerMicronaut(Owners owners) throws IOException {
+        return micronautMapper.writeValueAsBytes(owners.owner);
+    }
+
+    @Benchmark
+    public CardOwner decodeOwnerMicronaut(Owners owners) throws IOException {
+        return micronautMapper.readValue(owners.ownerJson, OWNER);
+    }
+
+    @Benchmark
+    public byte[] encodeOwnerJackson(Owners owners) throws IOException {
+        return jacksonMapper.writeValueAsBytes(owners.owner);
+    }
+
+    @Benchmark
+    public CardOwner decodeOwnerJackson(Owners owners) throws IOException {
+        return jacksonMapper.readValue(owners.ownerJson, CardOwner.class);
+    }
+
+    /**
+     * Owner fixtures, parameterised separately so the card benchmarks are not repeated per size.
+     */
+    @State(Scope.Benchmark)
+    public static class Owners {
+
+        @Param({"10", "10000"})
+        int ownedCards;
+
+        CardOwner owner;
+        byte[] ownerJson;
+
+        @Setup
+        public void setUp(BenchmarkContext benchmarkContext) throws IOException {
+            owner = Fixtures.owner(ownedCards);
+            ownerJson = benchmarkContext.context.getBean(JsonMapper.class).writeValueAsBytes(owner);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.benchmark;
+
+import com.example.model.CardOwner;
+import com.example.model.Portfolio;
+import com.example.model.PokemonCard;
+import com.example.repository.CardOwnerRepository;
+import com.example.repository.PokemonCardRepository;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Portfolio valuation for owners of {@code ownedCards} cards. {@code aggregation} is the
+ * {@code GET /api/owners/{id}/portfolio} pipeline. {@code clientSide} is what clients did before: load the
+ * owner, fetch every owned card ({@code $in} batches through the repository) and sum the prices in the JVM.
+ * Requires a running MongoDB ({@code -Dbenchmark.mongodb.uri}); cards are inserted once and reused.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PortfolioBenchmark {
+
+    private static final String SET = "Portfolio Benchmark";
+    private static final int CATALOG_SIZE = 50_000;
+    private static final int ID_BATCH = 1_000;
+
+    @Param({"100", "10000", "50000"})
+    int ownedCards;
+
+    ApplicationContext context;
+    CardOwnerRepository owners;
+    PokemonCardRepository cards;
+    String ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ApplicationContext.run(BenchmarkContext.liveMongoProperties());
+        owners = context.getBean(CardOwnerRepository.class);
+        cards = context.getBean(PokemonCardRepository.class);
+        MongoDatabase database = context.getBean(MongoClient.class).getDatabase("pokemon_db");
+
+        List<PokemonCard> catalog = Fixtures.catalog(CATALOG_SIZE, SET);
+        MongoCollection<PokemonCard> cardCollection = database.getCollection("pokemon_cards", PokemonCard.class);
+        if (Mono.from(cardCollection.countDocuments(Filters.eq("set", SET))).block() != CATALOG_SIZE) {
+            Mono.from(cardCollection.deleteMany(Filters.eq("set", SET))).block();
+            Flux.fromIterable(catalog)
+                    .buffer(ID_BATCH)
+                    .concatMap(batch -> cardCollection.insertMany(batch, new InsertManyOptions().ordered(false)))
+                    .blockLast();
+        }
+
+        CardOwner owner = Fixtures.owner(0);
+        ownerId = "portfolio-benchmark-" + ownedCards;
+        owner.setId(ownerId);
+        owner.setEmail(ownerId + "@benchmark.example");
+        owner.setOwnedCardIds(catalog.subList(0, ownedCards).stream().map(PokemonCard::getId).toList());
+        Mono.from(database.getCollection("card_owners", CardOwner.class)
+                .replaceOne(Filters.eq("_id", ownerId), owner, new ReplaceOptions().upsert(true))).block();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Portfolio aggregation() {
+        return owners.portfolio(ownerId).block();
+    }
+
+    @Benchmark
+    public BigDecimal clientSide() {
+        return owners.findById(ownerId)
+                .flatMapMany(owner -> Flux.fromIterable(owner.getOwnedCardIds()).buffer(ID_BATCH))
+                .concatMap(cards::findAllById)
+                .map(PokemonCard::getMarketPrice)
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .block();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.benchmark;
+
+import com.example.model.PokemonCard;
+import com.example.repository.FieldProjection;
+import com.example.repository.PageCursor;
+import com.example.repository.PokemonCardRepository;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.micronaut.context.ApplicationContext;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price range scans over {@code cardCount} cards with prices spread uniformly over {@code [0, 1000)}. Each
+ * range is {@code rangePercent} of that span, starting at 500. {@code firstPage} and {@code midRangePage} page
+ * through the {@code (marketPrice, _id)} index. Their cost should not depend on the range width. By contrast,
+ * {@code countInRange} has to visit every key in the range. Requires a running MongoDB
+ * ({@code -Dbenchmark.mongodb.uri}); the cards are inserted once and reused by later runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PriceRangeBenchmark {
+
+    private static final String SET = "Price Range Benchmark";
+    private static final BigDecimal RANGE_START = new BigDecimal("500");
+    private static final int PAGE_SIZE = 50;
+    private static final int INSERT_BATCH = 10_000;
+
+    @Param({"1000000"})
+    int cardCount;
+
+    @Param({"0.1", "1", "10"})
+    String rangePercent;
+
+    ApplicationContext context;
+    PokemonCardRepository repository;
+    MongoCollection<Document> cards;
+    BigDecimal min;
+    BigDecimal max;
+    PageCursor midRange;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ApplicationContext.run(BenchmarkContext.liveMongoProperties());
+        repository = context.getBean(PokemonCardRepository.class);
+        cards = context.getBean(MongoClient.class).getDatabase("pokemon_db").getCollection("pokemon_cards");
+        Mono.from(cards.createIndex(new Document("marketPrice", 1).append("_id", 1))).block();
+        seed();
+
+        min = RANGE_START;
+        max = RANGE_START.add(new BigDecimal("10").multiply(new BigDecimal(rangePercent)));
+        long inRange = Mono.from(cards.countDocuments(range())).block();
+        Document middle = Mono.from(cards.find(range())
+                .sort(new Document("marketPrice", 1).append("_id", 1))
+                .skip((int) (inRange / 2))
+                .first()).block();
+        midRange = PageCursor.of(middle.get("marketPrice", Decimal128.class).bigDecimalValue(),
+                middle.getString("_id"));
+    }
+
+    private void seed() {
+        Bson benchmarkCards = Filters.eq("set", SET);
+        if (Mono.from(cards.countDocuments(benchmarkCards)).block() == cardCount) {
+            return;
+        }
+        Mono.from(cards.deleteMany(benchmarkCards)).block();
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        Flux.range(0, cardCount)
+                .map(i -> new Document("_id", String.format("price-range-%08d", i))
+                        .append("name", "Price Card " + i)
+                        .append("normalizedName", "price card " + i)
+                        .append("type", "Normal")
+                        .append("hp", 50)
+                        .append("rarity", "Common")
+                        .append("set", SET)
+                        .append("marketPrice", new Decimal128(BigDecimal.valueOf(random.nextInt(100_000), 2)))
+                        .append("createdAt", now)
+                        .append("updatedAt", now))
+                .buffer(INSERT_BATCH)
+                .flatMap(batch -> cards.insertMany(batch, new InsertManyOptions().ordered(false)), 4)
+                .blockLast();
+    }
+
+    private Bson range() {
+        return Filters.and(Filters.eq("set", SET),
+                Filters.gte("marketPrice", new Decimal128(min)),
+                Filters.lte("marketPrice", new Decimal128(max)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public List<PokemonCard> firstPage() {
+        return repository.findByPriceRange(min, max, true, null, PAGE_SIZE, FieldProjection.ALL)
+                .collect(() -> new ArrayList<PokemonCard>(PAGE_SIZE), List::add)
+                .block();
+    }
+
+    @Benchmark
+    public List<PokemonCard> midRangePage() {
+        return repository.findByPriceRange(min, max, true, midRange, PAGE_SIZE, FieldProjection.ALL)
+                .collect(() -> new ArrayList<PokemonCard>(PAGE_SIZE), List::add)
+                .block();
+    }
+
+    @Benchmark
+    public Long countInRange() {
+        return Mono.from(cards.countDocuments(Filters.and(
+                Filters.gte("marketPrice", new Decimal128(min)),
+                Filters.lte("marketPrice", new Decimal128(max))))).block();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.benchmark;
+
+import com.example.model.PokemonCard;
+import com.example.repository.FieldProjection;
+import com.example.repository.PokemonCardRepository;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.micronaut.context.ApplicationContext;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-catalog reads from MongoDB under each driver wire compressor. Time per operation includes the
+ * client-side decompression. The {@code bytes} counter is what the server sent for one read, taken from
+ * {@code serverStatus.network.physicalBytesOut}, i.e. after compression. Requires a running MongoDB
+ * ({@code -Dbenchmark.mongodb.uri}); the catalog is inserted once and reused.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class WireCompressionBenchmark {
+
+    private static final String SET = "Wire Compression Benchmark";
+
+    @Param({"10000"})
+    int catalogSize;
+
+    @Param({"none", "snappy", "zlib", "zstd"})
+    String compressor;
+
+    ApplicationContext context;
+    PokemonCardRepository repository;
+    MongoClient mongoClient;
+    long bytesPerRead;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Object> properties = BenchmarkContext.liveMongoProperties();
+        if ("none".equals(compressor)) {
+            properties.put("app.mongo.compression.enabled", false);
+        } else {
+            properties.put("app.mongo.compression.compressors", List.of(compressor));
+        }
+        context = ApplicationContext.run(properties);
+        repository = context.getBean(PokemonCardRepository.class);
+        mongoClient = context.getBean(MongoClient.class);
+        seed();
+
+        long before = physicalBytesOut();
+        fullCatalog();
+        bytesPerRead = physicalBytesOut() - before;
+    }
+
+    private void seed() {
+        MongoCollection<PokemonCard> cards = mongoClient.getDatabase("pokemon_db")
+                .getCollection("pokemon_cards", PokemonCard.class);
+        if (Mono.from(cards.countDocuments(Filters.eq("set", SET))).block() == catalogSize) {
+            return;
+        }
+        Mono.from(cards.deleteMany(Filters.eq("set", SET))).block();
+        Flux.fromIterable(Fixtures.catalog(catalogSize, SET))
+                .buffer(1000)
+                .concatMap(batch -> cards.insertMany(batch, new InsertManyOptions().ordered(false)))
+                .blockLast();
+    }
+
+    private long physicalBytesOut() {
+        Document status = Mono.from(mongoClient.getDatabase("admin")
+                .runCommand(new Document("serverStatus", 1).append("repl", 0).append("metrics", 0))).block();
+        Document network = status.get("network", Document.class);
+        Number bytesOut = network.containsKey("physicalBytesOut")
+                ? network.get("physicalBytesOut", Number.class)
+                : network.get("bytesOut", Number.class);
+        return bytesOut.longValue();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public List<PokemonCard> fullCatalogRead(WireBytes wireBytes) {
+        wireBytes.bytes = bytesPerRead;
+        return fullCatalog();
+    }
+
+    private List<PokemonCard> fullCatalog() {
+        return repository.findBySet(SET, null, catalogSize, FieldProjection.ALL).collectList().block();
+    }
+
+    /**
+     * Bytes the server sent per read, reported next to the time per operation.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireBytes {
+        public long bytes;
+    }
+}
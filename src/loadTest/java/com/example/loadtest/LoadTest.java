@@ -0,0 +1,229 @@
+package com.example.loadtest;
+
+import com.example.model.CardFacets;
+import com.example.model.CardOwner;
+import com.example.model.PokemonCard;
+import com.example.service.StartupPipeline;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.type.Argument;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load test against the service running in this JVM.
+ * <p>
+ * The application is started on a random port against a MongoDB container, or {@code load.mongodb-uri}.
+ * The seed phase fills it with the synthetic dataset. Requests then arrive as a Poisson process at
+ * {@code load.rate} per second, whether or not earlier ones have completed, with routes drawn from
+ * {@code load.mix}. Each request is sent with the JDK client's non-blocking {@code sendAsync}, so one arrival
+ * thread can keep thousands in flight. Nothing is recorded during the warmup. The report gives throughput and
+ * latency percentiles per route; it is written as JSON to {@code load.output} and printed.
+ */
+public final class LoadTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadTest.class);
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(30);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int SAMPLE_SIZE = 500;
+
+    private final LoadTestSettings settings;
+    private final HttpClient client;
+    private final JsonMapper jsonMapper;
+    private final URI baseUri;
+    private final Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private LoadTest(LoadTestSettings settings, EmbeddedServer server) {
+        this.settings = settings;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        this.jsonMapper = server.getApplicationContext().getBean(JsonMapper.class);
+        this.baseUri = server.getURI();
+        for (Route route : Route.values()) {
+            stats.put(route, new RouteStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        MongoDBContainer mongo = settings.mongodbUri == null ? new MongoDBContainer(settings.mongoImage) : null;
+        try {
+            String mongodbUri = settings.mongodbUri;
+            if (mongo != null) {
+                mongo.start();
+                mongodbUri = mongo.getReplicaSetUrl("pokemon_db");
+            }
+            try (EmbeddedServer server = ApplicationContext.run(EmbeddedServer.class, applicationProperties(settings, mongodbUri))) {
+                awaitReady(server.getApplicationContext().getBean(StartupPipeline.class));
+                new LoadTest(settings, server).run();
+            }
+        } finally {
+            if (mongo != null) {
+                mongo.stop();
+            }
+        }
+    }
+
+    private static Map<String, Object> applicationProperties(LoadTestSettings settings, String mongodbUri) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("mongodb.uri", mongodbUri);
+        properties.put("micronaut.server.port", -1);
+        properties.put("app.seed-data", true);
+        properties.put("app.seed.cards", settings.cards);
+        properties.put("app.seed.owners", settings.owners);
+        properties.put("app.seed.max-owned-cards", settings.maxOwnedCards);
+        properties.put("app.seed.random-seed", settings.randomSeed);
+        properties.putAll(settings.applicationProperties);
+        return properties;
+    }
+
+    private static void awaitReady(StartupPipeline pipeline) throws InterruptedException {
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        while (pipeline.getStatus() == StartupPipeline.Status.STARTING) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Service not ready after " + READY_TIMEOUT);
+            }
+            TimeUnit.MILLISECONDS.sleep(500);
+        }
+        if (pipeline.getStatus() == StartupPipeline.Status.FAILED) {
+            throw new IllegalStateException("Service failed to start: " + pipeline.getFailure());
+        }
+        LOG.info("Service ready after {} ms", pipeline.getBootToReadyMillis());
+    }
+
+    private void run() throws IOException, InterruptedException {
+        Workload workload = workload();
+        long warmupNanos = settings.warmup.toNanos();
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + settings.duration.toNanos();
+        LOG.info("Offering {} req/s for {} after {} warmup", settings.rate, settings.duration, settings.warmup);
+
+        long arrival = start;
+        while (arrival < end) {
+            long wait = arrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            send(workload.nextRoute(), workload, arrival, arrival >= measureFrom);
+            arrival += workload.nextGapNanos(settings.rate);
+        }
+        drain();
+        report(settings.duration.toNanos() / 1e9);
+    }
+
+    /**
+     * Builds the workload from what the service reports, so it only asks for values that exist.
+     */
+    private Workload workload() throws IOException, InterruptedException {
+        CardFacets facets = get("/api/cards/facets", Argument.of(CardFacets.class));
+        List<PokemonCard> cards = get("/api/cards?fields=name&limit=" + SAMPLE_SIZE, Argument.listOf(PokemonCard.class));
+        List<CardOwner> owners = get("/api/owners?fields=email&limit=" + SAMPLE_SIZE, Argument.listOf(CardOwner.class));
+        return new Workload(settings,
+                Workload.keysByCount(facets.getTypes()),
+                Workload.keysByCount(facets.getRarities()),
+                Workload.keysByCount(facets.getSets()),
+                cards.stream().map(PokemonCard::getName).filter(Objects::nonNull).toList(),
+                owners.stream().map(CardOwner::getEmail).filter(Objects::nonNull).toList());
+    }
+
+    private <T> T get(String path, Argument<T> type) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request("GET", path), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return jsonMapper.readValue(response.body(), type);
+    }
+
+    private void send(Route route, Workload workload, long arrival, boolean measured) {
+        RouteStats routeStats = stats.get(route);
+        HttpRequest request = request(route.method(), route.path(workload));
+        if (inFlight.incrementAndGet() > settings.maxInFlight) {
+            inFlight.decrementAndGet();
+            if (measured) {
+                routeStats.dropped();
+            }
+            return;
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    inFlight.decrementAndGet();
+                    if (!measured) {
+                        return;
+                    }
+                    long latency = System.nanoTime() - arrival;
+                    if (failure != null) {
+                        routeStats.failed(failure, latency);
+                    } else {
+                        routeStats.completed(response.statusCode(), latency);
+                    }
+                });
+    }
+
+    private HttpRequest request(String method, String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private void drain() throws InterruptedException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        if (inFlight.get() > 0) {
+            LOG.warn("{} request(s) still in flight after {}", inFlight.get(), DRAIN_TIMEOUT);
+        }
+    }
+
+    private void report(double seconds) throws IOException {
+        Map<String, Object> routes = new LinkedHashMap<>();
+        long requests = 0;
+        for (Route route : settings.mix.keySet()) {
+            RouteStats routeStats = stats.get(route);
+            requests += routeStats.requests();
+            routes.put(route.label(), routeStats.report(seconds));
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings.describe());
+        report.put("offeredRate", settings.rate);
+        report.put("throughput", Math.round(requests / seconds * 1000) / 1000.0);
+        report.put("routes", routes);
+
+        byte[] json = jsonMapper.writeValueAsBytes(report);
+        Path output = Path.of(settings.output);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Files.write(output, json);
+        LOG.info("Load test report written to {}", output.toAbsolutePath());
+        System.out.println(new String(json, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Load test parameters, read from {@code load.*} system properties ({@code ./gradlew loadTest -Pload.rate=500}).
+ * Properties named {@code load.app.*} are passed to the application as {@code app.*}, so the same run can be
+ * repeated with a feature switched on and off.
+ */
+final class LoadTestSettings {
+
+    static final String DEFAULT_MIX = "card-detail:30,type-search:8,rarity-search:4,set-search:8,name-search:10,"
+            + "owner-detail:14,owner-email:4,owners-by-card:8,add-card:7,remove-card:7";
+
+    final double rate;
+    final Duration warmup;
+    final Duration duration;
+    final int maxInFlight;
+    final long randomSeed;
+    final long cards;
+    final long owners;
+    final int maxOwnedCards;
+    final String mongodbUri;
+    final String mongoImage;
+    final String output;
+    final Map<Route, Integer> mix;
+    final Map<String, Object> applicationProperties;
+
+    private LoadTestSettings(Properties properties) {
+        this.rate = Double.parseDouble(properties.getProperty("load.rate", "200"));
+        this.warmup = Duration.parse("PT" + properties.getProperty("load.warmup", "15s"));
+        this.duration = Duration.parse("PT" + properties.getProperty("load.duration", "60s"));
+        this.maxInFlight = Integer.parseInt(properties.getProperty("load.max-in-flight", "1000"));
+        this.randomSeed = Long.parseLong(properties.getProperty("load.random-seed", "42"));
+        this.cards = Long.parseLong(properties.getProperty("load.cards", "100000"));
+        this.owners = Long.parseLong(properties.getProperty("load.owners", "10000"));
+        this.maxOwnedCards = Integer.parseInt(properties.getProperty("load.max-owned-cards", "1000"));
+        this.mongodbUri = properties.getProperty("load.mongodb-uri");
+        this.mongoImage = properties.getProperty("load.mongo-image", "mongo:7.0");
+        this.output = properties.getProperty("load.output", "build/reports/load-test/result.json");
+        this.mix = Route.parseMix(properties.getProperty("load.mix", DEFAULT_MIX));
+        this.applicationProperties = new LinkedHashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith("load.app.")) {
+                applicationProperties.put(name.substring("load.".length()), properties.getProperty(name));
+            }
+        }
+        if (rate <= 0 || duration.isNegative() || duration.isZero() || maxInFlight < 1) {
+            throw new IllegalArgumentException(
+                    "load.rate, load.duration and load.max-in-flight must be positive");
+        }
+        if (cards < 1 || owners < 1) {
+            throw new IllegalArgumentException("load.cards and load.owners must be positive");
+        }
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(System.getProperties());
+    }
+
+    Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("rate", rate);
+        description.put("warmupSeconds", warmup.toSeconds());
+        description.put("durationSeconds", duration.toSeconds());
+        description.put("maxInFlight", maxInFlight);
+        description.put("randomSeed", randomSeed);
+        description.put("cards", cards);
+        description.put("owners", owners);
+        description.put("maxOwnedCards", maxOwnedCards);
+        description.put("mongodb", mongodbUri == null ? mongoImage : "external");
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        mix.forEach((route, weight) -> weights.put(route.label(), weight));
+        description.put("mix", weights);
+        description.put("application", applicationProperties);
+        return description;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The routes the load test drives, each turning the workload's next random choice into a request.
+ */
+enum Route {
+
+    CARD_DETAIL("card-detail", "GET") {
+        @Override
+        String path(Workload workload) {
+            return "/api/cards/" + workload.card();
+        }
+    },
+    TYPE_SEARCH("type-search", "GET") {
+        @Override
+        String path(Workload workload) {
+            return "/api/cards/search/type/" + Workload.encode(workload.type());
+        }
+    },
+    RARITY_SEARCH("rarity-search", "GET") {
+        @Override
+        String path(Workload workload) {
+            return "/api/cards/search/rarity/" + Workload.encode(workload.rarity());
+        }
+    },
+    SET_SEARCH("set-search", "GET") {
+        @Override
+        String path(Workload workload) {
+            return "/api/cards/search/set/" + Workload.encode(workload.set());
+        }
+    },
+    NAME_SEARCH("name-search", "GET") {
+        @Override
+        String path(Workload workload) {
+            return "/api/cards/search/name?name=" + Workload.encode(workload.namePrefix());
+        }
+    },
+    OWNER_DETAIL("owner-detail", "GET") {
+        @Override
+        String path(Workload workload) {
+            return "/api/owners/" + workload.owner();
+        }
+    },
+    OWNER_EMAIL("owner-email", "GET") {
+        @Override
+        String path(Workload workload) {
+            return "/api/owners/search/email?email=" + Workload.encode(workload.email());
+        }
+    },
+    OWNERS_BY_CARD("owners-by-card", "GET") {
+        @Override
+        String path(Workload workload) {
+            return "/api/owners/search/card/" + workload.card();
+        }
+    },
+    ADD_CARD("add-card", "POST") {
+        @Override
+        String path(Workload workload) {
+            Workload.Holding holding = workload.acquire();
+            return "/api/owners/" + holding.ownerId() + "/cards/" + holding.cardId();
+        }
+    },
+    REMOVE_CARD("remove-card", "DELETE") {
+        @Override
+        String path(Workload workload) {
+            Workload.Holding holding = workload.release();
+            return "/api/owners/" + holding.ownerId() + "/cards/" + holding.cardId();
+        }
+    };
+
+    private final String label;
+    private final String method;
+
+    Route(String label, String method) {
+        this.label = label;
+        this.method = method;
+    }
+
+    String label() {
+        return label;
+    }
+
+    String method() {
+        return method;
+    }
+
+    abstract String path(Workload workload);
+
+    /**
+     * Parses {@code label:weight,...}; routes left out get no traffic.
+     */
+    static Map<Route, Integer> parseMix(String mix) {
+        Map<Route, Integer> weights = new EnumMap<>(Route.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like route:weight, got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + parts[0]);
+            }
+            weights.put(byLabel(parts[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix has no traffic: " + mix);
+        }
+        return weights;
+    }
+
+    private static Route byLabel(String label) {
+        for (Route route : values()) {
+            if (route.label.equals(label)) {
+                return route;
+            }
+        }
+        throw new IllegalArgumentException("Unknown route " + label);
+    }
+}
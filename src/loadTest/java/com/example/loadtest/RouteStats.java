@@ -0,0 +1,87 @@
+package com.example.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcomes of one route during the measured phase. Latency runs from each request's scheduled arrival
+ * time, not from when it was sent, so queueing in the client counts against the service rather than
+ * being hidden (no coordinated omission). Every latency is kept, so percentiles are exact.
+ */
+final class RouteStats {
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String[] PERCENTILE_LABELS = {"p50", "p90", "p99", "p999"};
+
+    private long[] latencies = new long[4096];
+    private int count;
+    private long errors;
+    private long dropped;
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+    private final Map<String, Long> failures = new TreeMap<>();
+
+    synchronized void completed(int status, long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        statuses.merge(status, 1L, Long::sum);
+        if (status >= 500) {
+            errors++;
+        }
+    }
+
+    synchronized void failed(Throwable failure, long latencyNanos) {
+        completed(-1, latencyNanos);
+        errors++;
+        failures.merge(failure.getClass().getSimpleName(), 1L, Long::sum);
+    }
+
+    /**
+     * An arrival that was not sent because {@code load.max-in-flight} requests were already outstanding.
+     */
+    synchronized void dropped() {
+        dropped++;
+    }
+
+    synchronized long requests() {
+        return count;
+    }
+
+    synchronized Map<String, Object> report(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", count);
+        report.put("errors", errors);
+        report.put("dropped", dropped);
+        report.put("throughput", round(count / seconds));
+        Map<String, Object> latency = new LinkedHashMap<>();
+        if (count > 0) {
+            latency.put("mean", round(Arrays.stream(sorted).average().orElse(0) / 1e6));
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                latency.put(PERCENTILE_LABELS[i], round(percentileOf(sorted, PERCENTILES[i]) / 1e6));
+            }
+            latency.put("max", round(sorted[count - 1] / 1e6));
+        }
+        report.put("latencyMillis", latency);
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        statuses.forEach((status, n) -> statusCounts.put(status < 0 ? "failed" : String.valueOf(status), n));
+        report.put("statuses", statusCounts);
+        if (!failures.isEmpty()) {
+            report.put("failures", failures);
+        }
+        return report;
+    }
+
+    private static long percentileOf(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.loadtest;
+
+import com.example.util.SyntheticDataGenerator;
+import com.example.util.ZipfSampler;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Random choices behind each request, drawn from a fixed seed so two runs send the same sequence.
+ * Cards and owners are picked by Zipf popularity over the generated ids, and types, rarities and sets in
+ * proportion to their counts. Only the arrival loop uses a workload, so it needs no locking.
+ */
+final class Workload {
+
+    private static final int MAX_HOLDINGS = 10_000;
+
+    record Holding(String ownerId, String cardId) {}
+
+    private final SplittableRandom random;
+    private final ZipfSampler cards;
+    private final ZipfSampler owners;
+    private final ZipfSampler types;
+    private final ZipfSampler rarities;
+    private final ZipfSampler sets;
+    private final List<String> typeNames;
+    private final List<String> rarityNames;
+    private final List<String> setNames;
+    private final List<String> names;
+    private final List<String> emails;
+    private final Route[] routes;
+    private final int[] cumulativeWeights;
+    private final Deque<Holding> holdings = new ArrayDeque<>();
+
+    Workload(LoadTestSettings settings,
+             List<String> typeNames,
+             List<String> rarityNames,
+             List<String> setNames,
+             List<String> names,
+             List<String> emails) {
+        if (typeNames.isEmpty() || rarityNames.isEmpty() || setNames.isEmpty() || names.isEmpty() || emails.isEmpty()) {
+            throw new IllegalStateException("The dataset has no cards or owners to query");
+        }
+        this.random = new SplittableRandom(settings.randomSeed);
+        this.cards = new ZipfSampler(Math.toIntExact(settings.cards), 1.1);
+        this.owners = new ZipfSampler(Math.toIntExact(settings.owners), 1.1);
+        this.types = new ZipfSampler(typeNames.size(), 1.0);
+        this.rarities = new ZipfSampler(rarityNames.size(), 1.0);
+        this.sets = new ZipfSampler(setNames.size(), 1.0);
+        this.typeNames = typeNames;
+        this.rarityNames = rarityNames;
+        this.setNames = setNames;
+        this.names = names;
+        this.emails = emails;
+        this.routes = settings.mix.keySet().toArray(Route[]::new);
+        this.cumulativeWeights = new int[routes.length];
+        int total = 0;
+        for (int i = 0; i < routes.length; i++) {
+            total += settings.mix.get(routes[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Route nextRoute() {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < routes.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return routes[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    /**
+     * Exponentially distributed gap to the next arrival, giving a Poisson arrival process at {@code rate}.
+     */
+    long nextGapNanos(double rate) {
+        return (long) (-Math.log(1 - random.nextDouble()) / rate * 1_000_000_000L);
+    }
+
+    String card() {
+        return SyntheticDataGenerator.cardId(cards.sample(random) - 1);
+    }
+
+    String owner() {
+        return SyntheticDataGenerator.ownerId(owners.sample(random) - 1);
+    }
+
+    String type() {
+        return typeNames.get(types.sample(random) - 1);
+    }
+
+    String rarity() {
+        return rarityNames.get(rarities.sample(random) - 1);
+    }
+
+    String set() {
+        return setNames.get(sets.sample(random) - 1);
+    }
+
+    /**
+     * The first three to six characters of a known card name, as a user would type into a search box.
+     */
+    String namePrefix() {
+        String name = names.get(random.nextInt(names.size()));
+        int length = Math.min(name.length(), 3 + random.nextInt(4));
+        return name.substring(0, length);
+    }
+
+    String email() {
+        return emails.get(random.nextInt(emails.size()));
+    }
+
+    /**
+     * A card for an owner to add, remembered so a later removal takes back a card that was really added.
+     */
+    Holding acquire() {
+        Holding holding = new Holding(owner(), card());
+        holdings.addLast(holding);
+        if (holdings.size() > MAX_HOLDINGS) {
+            holdings.removeFirst();
+        }
+        return holding;
+    }
+
+    Holding release() {
+        Holding holding = holdings.pollLast();
+        return holding != null ? holding : new Holding(owner(), card());
+    }
+
+    static List<String> keysByCount(Map<String, Long> counts) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -1,5 +1,7 @@
 package com.example;
 
+import com.example.util.DumpCli;
+import com.example.util.SeedCli;
 import io.micronaut.runtime.Micronaut;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +11,13 @@ public class Application {
     private static final Logger LOG = LoggerFactory.getLogger(Application.class);
 
     public static void main(String[] args) {
+        if (DumpCli.handles(args)) {
+            System.exit(DumpCli.run(args));
+        }
+        if (SeedCli.handles(args)) {
+            System.exit(SeedCli.run(args));
+        }
+        
         LOG.info("🚀 Starting Pokemon Card Service with MongoDB and Liquibase...");
         LOG.info("📦 This service demonstrates Liquibase schema management with MongoDB");
         LOG.info("🔍 Index verification will run after startup to prove Liquibase is working");
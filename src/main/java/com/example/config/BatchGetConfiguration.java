@@ -0,0 +1,20 @@
+package com.example.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("app.batch-get")
+public class BatchGetConfiguration {
+
+    private int maxIds = 100;
+
+    /**
+     * Largest number of ids a single multi-get may request.
+     */
+    public int getMaxIds() {
+        return maxIds;
+    }
+
+    public void setMaxIds(int maxIds) {
+        this.maxIds = maxIds;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("app.bulk")
+public class BulkConfiguration {
+
+    private int chunkSize = 1000;
+    private int maxInFlight = 2;
+
+    /**
+     * Number of documents sent in one {@code bulkWrite} command.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Number of chunks that may be awaiting acknowledgement at once.
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+@ConfigurationProperties("app.change-stream")
+public class ChangeStreamConfiguration {
+
+    private boolean enabled = true;
+    private String consumer;
+    private Duration retryInterval = Duration.ofSeconds(30);
+    private Duration tokenSaveInterval = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Key the resume token is stored under; defaults to the host name so each replica resumes its own stream.
+     */
+    @Nullable
+    public String getConsumer() {
+        return consumer;
+    }
+
+    public void setConsumer(@Nullable String consumer) {
+        this.consumer = consumer;
+    }
+
+    /**
+     * Delay before reopening the change stream after it failed or could not be opened.
+     */
+    public Duration getRetryInterval() {
+        return retryInterval;
+    }
+
+    public void setRetryInterval(Duration retryInterval) {
+        this.retryInterval = retryInterval;
+    }
+
+    /**
+     * Minimum time between resume token writes, so busy collections do not cause a token write per change.
+     */
+    public Duration getTokenSaveInterval() {
+        return tokenSaveInterval;
+    }
+
+    public void setTokenSaveInterval(Duration tokenSaveInterval) {
+        this.tokenSaveInterval = tokenSaveInterval;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("app.dump")
+public class DumpConfiguration {
+
+    private String directory = "dumps";
+    private int exportBatchSize = 5000;
+    private int importBatchSize = 1000;
+    private int importBatchBytes = 16 * 1024 * 1024;
+    private int importMaxInFlight = 4;
+    private int bufferSize = 1024 * 1024;
+
+    /**
+     * Directory that file names given to the admin endpoints are resolved against; they cannot escape it.
+     */
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Cursor batch size when exporting, so each round trip returns many documents.
+     */
+    public int getExportBatchSize() {
+        return exportBatchSize;
+    }
+
+    public void setExportBatchSize(int exportBatchSize) {
+        this.exportBatchSize = exportBatchSize;
+    }
+
+    /**
+     * Maximum documents in one {@code insertMany} when importing.
+     */
+    public int getImportBatchSize() {
+        return importBatchSize;
+    }
+
+    public void setImportBatchSize(int importBatchSize) {
+        this.importBatchSize = importBatchSize;
+    }
+
+    /**
+     * Maximum encoded bytes in one {@code insertMany}, which bounds the heap an import holds per batch
+     * however large individual documents are.
+     */
+    public int getImportBatchBytes() {
+        return importBatchBytes;
+    }
+
+    public void setImportBatchBytes(int importBatchBytes) {
+        this.importBatchBytes = importBatchBytes;
+    }
+
+    /**
+     * Import batches that may be awaiting acknowledgement at once.
+     */
+    public int getImportMaxInFlight() {
+        return importMaxInFlight;
+    }
+
+    public void setImportMaxInFlight(int importMaxInFlight) {
+        this.importMaxInFlight = importMaxInFlight;
+    }
+
+    /**
+     * Size of the buffer files are read and written through.
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("app.facets")
+public class FacetConfiguration {
+
+    private Duration refreshAfter = Duration.ofSeconds(10);
+    private Duration expireAfter = Duration.ofMinutes(1);
+
+    /**
+     * Age after which the next request triggers a background recount while still getting the cached counts.
+     */
+    public Duration getRefreshAfter() {
+        return refreshAfter;
+    }
+
+    public void setRefreshAfter(Duration refreshAfter) {
+        this.refreshAfter = refreshAfter;
+    }
+
+    /**
+     * Age after which cached counts are dropped and the next request waits for a recount.
+     */
+    public Duration getExpireAfter() {
+        return expireAfter;
+    }
+
+    public void setExpireAfter(Duration expireAfter) {
+        this.expireAfter = expireAfter;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties("app.metrics")
+public class MetricsConfiguration {
+
+    private List<Double> percentiles = List.of(0.5, 0.99, 0.999);
+    private Duration percentileExpiry = Duration.ofMinutes(1);
+
+    /**
+     * Latency percentiles published for repository operations, Mongo commands and HTTP routes.
+     */
+    public List<Double> getPercentiles() {
+        return percentiles;
+    }
+
+    public void setPercentiles(List<Double> percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    /**
+     * Window the percentiles are computed over; older samples age out.
+     */
+    public Duration getPercentileExpiry() {
+        return percentileExpiry;
+    }
+
+    public void setPercentileExpiry(Duration percentileExpiry) {
+        this.percentileExpiry = percentileExpiry;
+    }
+}
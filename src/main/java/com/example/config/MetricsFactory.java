@@ -0,0 +1,49 @@
+package com.example.config;
+
+import com.example.repository.RepositoryMetrics;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import jakarta.inject.Singleton;
+
+import java.util.Set;
+
+/**
+ * Publishes client-side latency percentiles for the three layers a request passes through: HTTP routes
+ * ({@code http.server.requests}), repository operations and Mongo commands, plus connection checkout from
+ * the Mongo pool. Micrometer records them into lock-free HdrHistogram-backed windows, so the hot path does
+ * not allocate per sample.
+ */
+@Factory
+public class MetricsFactory {
+
+    static final Set<String> LATENCY_METERS = Set.of(
+            "http.server.requests",
+            RepositoryMetrics.METER_NAME,
+            MongoCommandMetrics.METER_NAME,
+            MongoPoolMetrics.PREFIX + ".checkout"
+    );
+
+    @Bean
+    @Singleton
+    MeterFilter latencyPercentiles(MetricsConfiguration metricsConfiguration) {
+        double[] percentiles = metricsConfiguration.getPercentiles().stream()
+                .mapToDouble(Double::doubleValue)
+                .toArray();
+        DistributionStatisticConfig percentileConfig = DistributionStatisticConfig.builder()
+                .percentiles(percentiles)
+                .expiry(metricsConfiguration.getPercentileExpiry())
+                .build();
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!LATENCY_METERS.contains(id.getName())) {
+                    return config;
+                }
+                return percentileConfig.merge(config);
+            }
+        };
+    }
+}
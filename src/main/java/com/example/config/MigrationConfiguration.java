@@ -0,0 +1,67 @@
+package com.example.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("app.migration")
+public class MigrationConfiguration {
+
+    private String changeLog = "classpath:db/changelog/db.changelog-master.json";
+    private int indexConcurrency = 4;
+    private Duration lockWaitTimeout = Duration.ofMinutes(5);
+    private Duration lockPollInterval = Duration.ofSeconds(2);
+    private Duration lockStaleAfter = Duration.ofMinutes(10);
+
+    /**
+     * Classpath location of the JSON changelog.
+     */
+    public String getChangeLog() {
+        return changeLog;
+    }
+
+    public void setChangeLog(String changeLog) {
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * How many consecutive {@code ext:createIndex} changeSets are built at the same time.
+     */
+    public int getIndexConcurrency() {
+        return indexConcurrency;
+    }
+
+    public void setIndexConcurrency(int indexConcurrency) {
+        this.indexConcurrency = indexConcurrency;
+    }
+
+    /**
+     * How long an instance waits for another one holding the changelog lock before giving up.
+     */
+    public Duration getLockWaitTimeout() {
+        return lockWaitTimeout;
+    }
+
+    public void setLockWaitTimeout(Duration lockWaitTimeout) {
+        this.lockWaitTimeout = lockWaitTimeout;
+    }
+
+    public Duration getLockPollInterval() {
+        return lockPollInterval;
+    }
+
+    public void setLockPollInterval(Duration lockPollInterval) {
+        this.lockPollInterval = lockPollInterval;
+    }
+
+    /**
+     * Age after which a lock left behind by a crashed instance may be taken over.
+     */
+    public Duration getLockStaleAfter() {
+        return lockStaleAfter;
+    }
+
+    public void setLockStaleAfter(Duration lockStaleAfter) {
+        this.lockStaleAfter = lockStaleAfter;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.util.List;
+
+@ConfigurationProperties("app.mongo.compression")
+public class MongoCompressionConfiguration {
+
+    private boolean enabled = true;
+    private List<String> compressors = List.of("zstd", "snappy", "zlib");
+    private int zlibLevel = 6;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Compressors offered to the server, in order of preference; the first one the server also supports is
+     * used for the connection.
+     */
+    public List<String> getCompressors() {
+        return compressors;
+    }
+
+    public void setCompressors(List<String> compressors) {
+        this.compressors = compressors;
+    }
+
+    /**
+     * zlib level from 0 (none) to 9 (smallest), or -1 for the zlib default.
+     */
+    public int getZlibLevel() {
+        return zlibLevel;
+    }
+
+    public void setZlibLevel(int zlibLevel) {
+        this.zlibLevel = zlibLevel;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.config;
+
+import com.mongodb.MongoCompressor;
+import io.micronaut.configuration.mongo.core.DefaultMongoConfiguration;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Applies {@code app.mongo.compression} to the client settings. Compression is negotiated per connection,
+ * so listing a compressor the server does not support only means the next one is tried. A
+ * {@code compressors} option in {@code mongodb.uri} takes precedence.
+ */
+@Singleton
+public class MongoCompressionCustomizer implements BeanCreatedEventListener<DefaultMongoConfiguration> {
+
+    private final List<MongoCompressor> compressors;
+
+    @Inject
+    public MongoCompressionCustomizer(MongoCompressionConfiguration configuration) {
+        if (!configuration.isEnabled()) {
+            this.compressors = List.of();
+            return;
+        }
+        this.compressors = configuration.getCompressors().stream()
+                .map(name -> compressor(name, configuration.getZlibLevel()))
+                .toList();
+    }
+
+    @Override
+    public DefaultMongoConfiguration onCreated(BeanCreatedEvent<DefaultMongoConfiguration> event) {
+        DefaultMongoConfiguration configuration = event.getBean();
+        configuration.getClientSettings().compressorList(compressors);
+        return configuration;
+    }
+
+    static MongoCompressor compressor(String name, int zlibLevel) {
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "zstd" -> MongoCompressor.createZstdCompressor();
+            case "snappy" -> MongoCompressor.createSnappyCompressor();
+            case "zlib" -> MongoCompressor.createZlibCompressor().withProperty(MongoCompressor.LEVEL, zlibLevel);
+            default -> throw new IllegalStateException(
+                    "Unknown Mongo compressor '" + name + "'; expected zstd, snappy or zlib");
+        };
+    }
+}
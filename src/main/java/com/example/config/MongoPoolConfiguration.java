@@ -0,0 +1,75 @@
+package com.example.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+@ConfigurationProperties("app.mongo.pool")
+public class MongoPoolConfiguration {
+
+    private int minSize = 0;
+    private int maxSize = 100;
+    private int maxConnecting = 2;
+    private Duration maxIdleTime;
+    private Duration waitQueueTimeout;
+
+    /**
+     * Connections kept open per server even when idle.
+     */
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(int minSize) {
+        this.minSize = minSize;
+    }
+
+    /**
+     * Upper bound on connections per server; further checkouts queue.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Connections that may be establishing at the same time, which limits connection storms.
+     */
+    public int getMaxConnecting() {
+        return maxConnecting;
+    }
+
+    public void setMaxConnecting(int maxConnecting) {
+        this.maxConnecting = maxConnecting;
+    }
+
+    /**
+     * Idle connections above {@code minSize} are closed after this long. Unset keeps the driver default,
+     * which never closes idle connections.
+     */
+    @Nullable
+    public Duration getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    public void setMaxIdleTime(@Nullable Duration maxIdleTime) {
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    /**
+     * How long an operation waits in the queue for a connection before failing with
+     * {@code MongoTimeoutException}. Unset keeps the driver default of two minutes.
+     */
+    @Nullable
+    public Duration getWaitQueueTimeout() {
+        return waitQueueTimeout;
+    }
+
+    public void setWaitQueueTimeout(@Nullable Duration waitQueueTimeout) {
+        this.waitQueueTimeout = waitQueueTimeout;
+    }
+}
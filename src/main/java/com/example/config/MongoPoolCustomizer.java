@@ -0,0 +1,45 @@
+package com.example.config;
+
+import io.micronaut.configuration.mongo.core.DefaultMongoConfiguration;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@code app.mongo.pool} to the client settings and registers {@link MongoPoolMetrics}. Timeouts that
+ * are not configured keep the driver defaults. Pool options given in {@code mongodb.uri} still take
+ * precedence, so keep them out of the URI.
+ */
+@Singleton
+public class MongoPoolCustomizer implements BeanCreatedEventListener<DefaultMongoConfiguration> {
+
+    private final MongoPoolConfiguration pool;
+    private final MongoPoolMetrics poolMetrics;
+
+    @Inject
+    public MongoPoolCustomizer(MongoPoolConfiguration pool, MongoPoolMetrics poolMetrics) {
+        this.pool = pool;
+        this.poolMetrics = poolMetrics;
+    }
+
+    @Override
+    public DefaultMongoConfiguration onCreated(BeanCreatedEvent<DefaultMongoConfiguration> event) {
+        DefaultMongoConfiguration configuration = event.getBean();
+        configuration.getClientSettings().applyToConnectionPoolSettings(settings -> {
+            settings.minSize(pool.getMinSize())
+                    .maxSize(pool.getMaxSize())
+                    .maxConnecting(pool.getMaxConnecting())
+                    .addConnectionPoolListener(poolMetrics);
+            if (pool.getMaxIdleTime() != null) {
+                settings.maxConnectionIdleTime(pool.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS);
+            }
+            if (pool.getWaitQueueTimeout() != null) {
+                settings.maxWaitTime(pool.getWaitQueueTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            }
+        });
+        return configuration;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.config;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.BeanProvider;
+import jakarta.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection pool metrics per server, published under {@code mongodb.pool}:
+ * <ul>
+ *     <li>{@code size}, {@code checked.out} and {@code wait.queue} gauges: open connections, connections in
+ *     use, and operations currently waiting for one;</li>
+ *     <li>{@code checkout} timer: time from requesting a connection to getting one (or failing), tagged by
+ *     outcome;</li>
+ *     <li>{@code connections.created} / {@code connections.closed} counters: churn, with the close reason.</li>
+ * </ul>
+ * A growing wait queue with checkout latency approaching {@code app.mongo.pool.wait-queue-timeout} means the
+ * pool, not the server, is the bottleneck.
+ */
+@Singleton
+public class MongoPoolMetrics implements ConnectionPoolListener {
+
+    static final String PREFIX = "mongodb.pool";
+
+    private final BeanProvider<MeterRegistry> meterRegistry;
+    private final Map<ServerAddress, Pool> pools = new ConcurrentHashMap<>();
+
+    public MongoPoolMetrics(BeanProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        pool(event.getServerId().getAddress());
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        Pool pool = pools.remove(event.getServerId().getAddress());
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        Pool pool = pool(event.getConnectionId().getServerId().getAddress());
+        pool.size.incrementAndGet();
+        pool.created.increment();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        Pool pool = pool(event.getConnectionId().getServerId().getAddress());
+        pool.size.decrementAndGet();
+        pool.closed(event.getReason().name());
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        pool(event.getServerId().getAddress()).waitQueue.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        Pool pool = pool(event.getConnectionId().getServerId().getAddress());
+        pool.waitQueue.decrementAndGet();
+        pool.checkedOut.incrementAndGet();
+        pool.checkoutSucceeded.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        Pool pool = pool(event.getServerId().getAddress());
+        pool.waitQueue.decrementAndGet();
+        pool.checkoutFailed(event.getReason().name())
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        pool(event.getConnectionId().getServerId().getAddress()).checkedOut.decrementAndGet();
+    }
+
+    private Pool pool(ServerAddress address) {
+        Pool pool = pools.get(address);
+        if (pool == null) {
+            pool = pools.computeIfAbsent(address, server -> new Pool(meterRegistry.get(), server));
+        }
+        return pool;
+    }
+
+    private static final class Pool {
+
+        private final MeterRegistry registry;
+        private final Tags tags;
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicInteger checkedOut = new AtomicInteger();
+        private final AtomicInteger waitQueue = new AtomicInteger();
+        private final Counter created;
+        private final Timer checkoutSucceeded;
+        private final List<Meter> meters = new ArrayList<>();
+
+        Pool(MeterRegistry registry, ServerAddress address) {
+            this.registry = registry;
+            this.tags = Tags.of("server", address.toString());
+            meters.add(Gauge.builder(PREFIX + ".size", size, AtomicInteger::get)
+                    .description("Open connections").tags(tags).register(registry));
+            meters.add(Gauge.builder(PREFIX + ".checked.out", checkedOut, AtomicInteger::get)
+                    .description("Connections in use").tags(tags).register(registry));
+            meters.add(Gauge.builder(PREFIX + ".wait.queue", waitQueue, AtomicInteger::get)
+                    .description("Operations waiting for a connection").tags(tags).register(registry));
+            this.created = register(Counter.builder(PREFIX + ".connections.created")
+                    .description("Connections opened").tags(tags).register(registry));
+            this.checkoutSucceeded = checkout("success");
+        }
+
+        void closed(String reason) {
+            register(Counter.builder(PREFIX + ".connections.closed")
+                    .description("Connections closed, by reason")
+                    .tags(tags).tag("reason", reason)
+                    .register(registry)).increment();
+        }
+
+        Timer checkoutFailed(String reason) {
+            return checkout(reason);
+        }
+
+        private Timer checkout(String outcome) {
+            return register(Timer.builder(PREFIX + ".checkout")
+                    .description("Time to check a connection out of the pool")
+                    .tags(tags).tag("outcome", outcome)
+                    .register(registry));
+        }
+
+        private <M extends Meter> M register(M meter) {
+            synchronized (meters) {
+                if (!meters.contains(meter)) {
+                    meters.add(meter);
+                }
+            }
+            return meter;
+        }
+
+        void close() {
+            synchronized (meters) {
+                meters.forEach(registry::remove);
+                meters.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+@ConfigurationProperties("app.paging")
+public class PagingConfiguration {
+
+    private int defaultLimit = 50;
+    private int maxLimit = 500;
+
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(int defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Clamps a client-supplied page size into {@code [1, maxLimit]}.
+     */
+    public int resolveLimit(@Nullable Integer requested) {
+        if (requested == null) {
+            return Math.min(defaultLimit, maxLimit);
+        }
+        return Math.max(1, Math.min(requested, maxLimit));
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Size and shape of the data inserted by {@link com.example.util.DataSeeder}. With {@code cards} and
+ * {@code owners} both zero the seeder inserts the handful of sample documents instead.
+ */
+@ConfigurationProperties("app.seed")
+public class SeedConfiguration {
+
+    private long cards;
+    private long owners;
+    private long randomSeed = 42;
+    private int sets = 200;
+    private double popularitySkew = 1.1;
+    private int maxOwnedCards = 50_000;
+    private double collectionSizeSkew = 1.5;
+    private int batchSize = 1000;
+    private int concurrency = 4;
+    private Duration progressInterval = Duration.ofSeconds(10);
+
+    public boolean isSynthetic() {
+        return cards > 0 || owners > 0;
+    }
+
+    public long getCards() {
+        return cards;
+    }
+
+    public void setCards(long cards) {
+        this.cards = cards;
+    }
+
+    public long getOwners() {
+        return owners;
+    }
+
+    public void setOwners(long owners) {
+        this.owners = owners;
+    }
+
+    /**
+     * Seed for every random choice, so the same settings always produce the same documents.
+     */
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    public int getSets() {
+        return sets;
+    }
+
+    public void setSets(int sets) {
+        this.sets = sets;
+    }
+
+    /**
+     * Zipf exponent for how often sets, types and individual cards are picked; higher is more skewed.
+     */
+    public double getPopularitySkew() {
+        return popularitySkew;
+    }
+
+    public void setPopularitySkew(double popularitySkew) {
+        this.popularitySkew = popularitySkew;
+    }
+
+    public int getMaxOwnedCards() {
+        return maxOwnedCards;
+    }
+
+    public void setMaxOwnedCards(int maxOwnedCards) {
+        this.maxOwnedCards = maxOwnedCards;
+    }
+
+    /**
+     * Zipf exponent for owner collection sizes. Most owners hold a few cards and a handful hold
+     * {@code maxOwnedCards}; at 1.5 the mean is around 170 cards per owner.
+     */
+    public double getCollectionSizeSkew() {
+        return collectionSizeSkew;
+    }
+
+    public void setCollectionSizeSkew(double collectionSizeSkew) {
+        this.collectionSizeSkew = collectionSizeSkew;
+    }
+
+    /**
+     * Documents sent in one {@code insertMany}.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Batches that may be generated and awaiting acknowledgement at once.
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public Duration getProgressInterval() {
+        return progressInterval;
+    }
+
+    public void setProgressInterval(Duration progressInterval) {
+        this.progressInterval = progressInterval;
+    }
+}
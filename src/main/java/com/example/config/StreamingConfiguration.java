@@ -0,0 +1,44 @@
+package com.example.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+@ConfigurationProperties("app.streaming")
+public class StreamingConfiguration {
+
+    private int batchSize = 500;
+    private int maxDocuments = 1_000_000;
+
+    /**
+     * Number of documents the Mongo cursor fetches per {@code getMore}.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Upper bound on documents written by a single NDJSON response.
+     */
+    public int getMaxDocuments() {
+        return maxDocuments;
+    }
+
+    public void setMaxDocuments(int maxDocuments) {
+        this.maxDocuments = maxDocuments;
+    }
+
+    public int resolveLimit(@Nullable Integer requested) {
+        if (requested == null) {
+            return maxDocuments;
+        }
+        return Math.max(1, Math.min(requested, maxDocuments));
+    }
+
+    public int batchSizeFor(int limit) {
+        return Math.max(1, Math.min(limit, batchSize));
+    }
+}
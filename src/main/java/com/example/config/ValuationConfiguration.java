@@ -0,0 +1,61 @@
+package com.example.config;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+@ConfigurationProperties("app.valuation")
+public class ValuationConfiguration {
+
+    private int fanOutBatchSize = 500;
+    private int repairConcurrency = 4;
+    @Nullable
+    private Duration repairInterval;
+    private Duration repairLeaseTtl = Duration.ofMinutes(5);
+
+    /**
+     * Owners updated per {@code updateMany} when a card's price or type changes.
+     */
+    public int getFanOutBatchSize() {
+        return fanOutBatchSize;
+    }
+
+    public void setFanOutBatchSize(int fanOutBatchSize) {
+        this.fanOutBatchSize = fanOutBatchSize;
+    }
+
+    /**
+     * Owners revalued in parallel by the repair job.
+     */
+    public int getRepairConcurrency() {
+        return repairConcurrency;
+    }
+
+    public void setRepairConcurrency(int repairConcurrency) {
+        this.repairConcurrency = repairConcurrency;
+    }
+
+    /**
+     * How often the repair job runs on its own; unset means only on demand.
+     */
+    @Nullable
+    public Duration getRepairInterval() {
+        return repairInterval;
+    }
+
+    public void setRepairInterval(@Nullable Duration repairInterval) {
+        this.repairInterval = repairInterval;
+    }
+
+    /**
+     * How long the repair lease outlives a crashed holder. A running repair renews it every third of this.
+     */
+    public Duration getRepairLeaseTtl() {
+        return repairLeaseTtl;
+    }
+
+    public void setRepairLeaseTtl(Duration repairLeaseTtl) {
+        this.repairLeaseTtl = repairLeaseTtl;
+    }
+}
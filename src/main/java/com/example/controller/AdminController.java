@@ -1,25 +1,56 @@
 package com.example.controller;
 
+import com.example.config.ProfilerConfiguration;
+import com.example.model.ValuationRepairReport;
+import com.example.repository.ChangeStreamInvalidator;
+import com.example.repository.EntityCaches;
+import com.example.repository.QueryProfiler;
 import com.example.service.IndexVerificationService;
+import com.example.service.OwnerValuationService;
+import com.example.service.QueryPlanService;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.PathVariable;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.QueryValue;
 import jakarta.inject.Inject;
 import org.bson.Document;
 import reactor.core.publisher.Mono;
 
 import jakarta.validation.constraints.NotBlank;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @Controller("/api/admin")
 public class AdminController {
 
     private final IndexVerificationService indexVerificationService;
+    private final EntityCaches entityCaches;
+    private final QueryPlanService queryPlanService;
+    private final QueryProfiler queryProfiler;
+    private final ProfilerConfiguration profilerConfiguration;
+    private final ChangeStreamInvalidator changeStreamInvalidator;
+    private final OwnerValuationService ownerValuationService;
 
     @Inject
-    public AdminController(IndexVerificationService indexVerificationService) {
+    public AdminController(IndexVerificationService indexVerificationService,
+                           EntityCaches entityCaches,
+                           QueryPlanService queryPlanService,
+                           QueryProfiler queryProfiler,
+                           ProfilerConfiguration profilerConfiguration,
+                           @Nullable ChangeStreamInvalidator changeStreamInvalidator,
+                           OwnerValuationService ownerValuationService) {
         this.indexVerificationService = indexVerificationService;
+        this.entityCaches = entityCaches;
+        this.queryPlanService = queryPlanService;
+        this.queryProfiler = queryProfiler;
+        this.profilerConfiguration = profilerConfiguration;
+        this.changeStreamInvalidator = changeStreamInvalidator;
+        this.ownerValuationService = ownerValuationService;
     }
 
     @Get("/indexes/{collection}")
@@ -47,4 +78,45 @@ public class AdminController {
             })
             .onErrorReturn(HttpResponse.serverError());
     }
+
+    @Get("/index-usage")
+    public Mono<HttpResponse<Map<String, Object>>> getIndexUsage() {
+        return queryPlanService.indexUsage("pokemon_cards")
+            .zipWith(queryPlanService.indexUsage("card_owners"))
+            .map(tuple -> (HttpResponse<Map<String, Object>>) HttpResponse.<Map<String, Object>>ok(Map.of(
+                "pokemon_cards", tuple.getT1(),
+                "card_owners", tuple.getT2()
+            )))
+            .onErrorReturn(HttpResponse.serverError());
+    }
+
+    @Get("/query-plans")
+    public Mono<HttpResponse<List<Map<String, Object>>>> getQueryPlans() {
+        return queryPlanService.explainQueryShapes()
+            .map(plans -> (HttpResponse<List<Map<String, Object>>>) HttpResponse.ok(plans))
+            .onErrorReturn(HttpResponse.serverError());
+    }
+
+    @Get("/slow-queries")
+    public Mono<HttpResponse<Map<String, Object>>> getSlowQueries(@Nullable @QueryValue Integer top) {
+        int limit = top == null ? profilerConfiguration.getTopN() : Math.max(1, top);
+        return Mono.just(HttpResponse.ok(queryProfiler.report(limit)));
+    }
+
+    @Get("/cache")
+    public Mono<HttpResponse<Map<String, Object>>> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(entityCaches.stats());
+        stats.putAll(changeStreamInvalidator != null
+            ? changeStreamInvalidator.status()
+            : Map.of("invalidation", ChangeStreamInvalidator.Mode.TTL_ONLY.name()));
+        return Mono.just(HttpResponse.ok(stats));
+    }
+
+    @Post("/valuations/repair")
+    public Mono<HttpResponse<ValuationRepairReport>> repairValuations() {
+        return ownerValuationService.repair()
+            .map(report -> (HttpResponse<ValuationRepairReport>) HttpResponse.ok(report))
+            .defaultIfEmpty(HttpResponse.status(HttpStatus.CONFLICT))
+            .onErrorReturn(HttpResponse.serverError());
+    }
 }
@@ -1,8 +1,16 @@
 package com.example.controller;
 
+import com.example.model.BatchGetRequest;
+import com.example.model.BulkResult;
 import com.example.model.CardOwner;
+import com.example.model.OwnerValuation;
+import com.example.model.Portfolio;
+import com.example.repository.PageCursor;
 import com.example.service.CardOwnerService;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.*;
 import io.micronaut.validation.Validated;
 import jakarta.inject.Inject;
@@ -17,10 +25,19 @@ import jakarta.validation.constraints.NotBlank;
 public class CardOwnerController {
     
     private final CardOwnerService cardOwnerService;
+    private final Pagination pagination;
+    private final MultiGet multiGet;
+    private final ConditionalGet conditionalGet;
     
     @Inject
-    public CardOwnerController(CardOwnerService cardOwnerService) {
+    public CardOwnerController(CardOwnerService cardOwnerService,
+                               Pagination pagination,
+                               MultiGet multiGet,
+                               ConditionalGet conditionalGet) {
         this.cardOwnerService = cardOwnerService;
+        this.pagination = pagination;
+        this.multiGet = multiGet;
+        this.conditionalGet = conditionalGet;
     }
     
     @Post
@@ -29,15 +46,35 @@ public class CardOwnerController {
                 .map(o -> (HttpResponse<CardOwner>) HttpResponse.created(o));
     }
     
-    @Get
-    public Flux<CardOwner> getAllOwners() {
-        return cardOwnerService.findAll();
+    @Post("/bulk")
+    public Mono<HttpResponse<BulkResult>> bulkUpsertOwners(@Body Flux<CardOwner> owners) {
+        return cardOwnerService.bulkUpsertOwners(owners)
+                .map(result -> (HttpResponse<BulkResult>) HttpResponse.ok(result));
+    }
+    
+    @Get(produces = {MediaType.APPLICATION_JSON, Pagination.APPLICATION_NDJSON})
+    public Mono<HttpResponse<?>> getAllOwners(HttpRequest<?> request,
+                                              @Nullable @QueryValue Integer limit,
+                                              @Nullable @QueryValue String after,
+                                              @Nullable @QueryValue String fields,
+                                              @Nullable @QueryValue String ids) {
+        if (ids != null) {
+            return multiGet.fetch(MultiGet.split(ids), cardOwnerService::findByIds);
+        }
+        return pagination.page(request, after, limit, fields, CardOwner.class,
+                cardOwnerService::findAll,
+                CardOwnerController::cursorOf);
+    }
+    
+    @Post("/batch-get")
+    public Mono<HttpResponse<?>> batchGetOwners(@Body BatchGetRequest request) {
+        return multiGet.fetch(request.getIds(), cardOwnerService::findByIds);
     }
     
     @Get("/{id}")
-    public Mono<HttpResponse<CardOwner>> getOwner(@PathVariable @NotBlank String id) {
-        return cardOwnerService.findById(id)
-                .map(o -> (HttpResponse<CardOwner>) HttpResponse.ok(o))
+    public Mono<HttpResponse<CardOwner>> getOwner(HttpRequest<?> request, @PathVariable @NotBlank String id) {
+        return conditionalGet.respond(request, id, cardOwnerService::findUpdatedAt,
+                        () -> cardOwnerService.findById(id), CardOwner::getUpdatedAt)
                 .onErrorReturn(HttpResponse.notFound());
     }
     
@@ -63,14 +100,40 @@ public class CardOwnerController {
                 .switchIfEmpty(Mono.just(HttpResponse.notFound()));
     }
     
-    @Get("/search/lastname/{lastName}")
-    public Flux<CardOwner> getOwnersByLastName(@PathVariable @NotBlank String lastName) {
-        return cardOwnerService.findByLastName(lastName);
+    @Get(uri = "/search/lastname/{lastName}", produces = {MediaType.APPLICATION_JSON, Pagination.APPLICATION_NDJSON})
+    public Mono<HttpResponse<?>> getOwnersByLastName(HttpRequest<?> request,
+                                                     @PathVariable @NotBlank String lastName,
+                                                     @Nullable @QueryValue Integer limit,
+                                                     @Nullable @QueryValue String after,
+                                                     @Nullable @QueryValue String fields) {
+        return pagination.page(request, after, limit, fields, CardOwner.class,
+                (cursor, size, projection) -> cardOwnerService.findByLastName(lastName, cursor, size, projection),
+                CardOwnerController::cursorOf);
     }
     
-    @Get("/search/card/{cardId}")
-    public Flux<CardOwner> getOwnersByCardId(@PathVariable @NotBlank String cardId) {
-        return cardOwnerService.findOwnersByCardId(cardId);
+    @Get(uri = "/search/card/{cardId}", produces = {MediaType.APPLICATION_JSON, Pagination.APPLICATION_NDJSON})
+    public Mono<HttpResponse<?>> getOwnersByCardId(HttpRequest<?> request,
+                                                   @PathVariable @NotBlank String cardId,
+                                                   @Nullable @QueryValue Integer limit,
+                                                   @Nullable @QueryValue String after,
+                                                   @Nullable @QueryValue String fields) {
+        return pagination.page(request, after, limit, fields, CardOwner.class,
+                (cursor, size, projection) -> cardOwnerService.findOwnersByCardId(cardId, cursor, size, projection),
+                CardOwnerController::cursorOf);
+    }
+    
+    @Get("/{id}/portfolio")
+    public Mono<HttpResponse<Portfolio>> getPortfolio(@PathVariable @NotBlank String id) {
+        return cardOwnerService.getPortfolio(id)
+                .map(p -> (HttpResponse<Portfolio>) HttpResponse.ok(p))
+                .onErrorReturn(HttpResponse.notFound());
+    }
+    
+    @Get("/{id}/valuation")
+    public Mono<HttpResponse<OwnerValuation>> getValuation(@PathVariable @NotBlank String id) {
+        return cardOwnerService.getValuation(id)
+                .map(v -> (HttpResponse<OwnerValuation>) HttpResponse.ok(v))
+                .onErrorReturn(HttpResponse.notFound());
     }
     
     @Post("/{ownerId}/cards/{cardId}")
@@ -93,4 +156,8 @@ public class CardOwnerController {
     public Mono<Long> getOwnerCount() {
         return cardOwnerService.countOwners();
     }
+    
+    private static PageCursor cursorOf(CardOwner owner) {
+        return PageCursor.of(owner.getCreatedAt(), owner.getId());
+    }
 }
@@ -0,0 +1,110 @@
+package com.example.controller;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MutableHttpResponse;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for single documents.
+ * <p>
+ * Responses carry a strong {@code ETag} derived from the document id and {@code updatedAt}, plus
+ * {@code Last-Modified}. When a request sends {@code If-None-Match} (or, failing that, {@code If-Modified-Since}),
+ * only {@code updatedAt} is looked up and an unchanged document is answered with {@code 304} without loading
+ * or serializing the body. {@code Cache-Control: no-cache} makes clients revalidate instead of guessing
+ * freshness from {@code Last-Modified}.
+ */
+@Singleton
+public class ConditionalGet {
+
+    private static final String NO_CACHE = "no-cache";
+
+    public <T> Mono<HttpResponse<T>> respond(HttpRequest<?> request,
+                                             String id,
+                                             Function<String, Mono<LocalDateTime>> updatedAtLookup,
+                                             Supplier<Mono<T>> loader,
+                                             Function<T, LocalDateTime> updatedAtOf) {
+        String ifNoneMatch = request.getHeaders().get(HttpHeaders.IF_NONE_MATCH);
+        String ifModifiedSince = request.getHeaders().get(HttpHeaders.IF_MODIFIED_SINCE);
+        Mono<HttpResponse<T>> full = Mono.defer(loader)
+                .map(entity -> withValidators(HttpResponse.ok(entity), id, updatedAtOf.apply(entity)));
+        if (ifNoneMatch == null && ifModifiedSince == null) {
+            return full;
+        }
+        return updatedAtLookup.apply(id)
+                .filter(updatedAt -> isNotModified(ifNoneMatch, ifModifiedSince, id, updatedAt))
+                .map(updatedAt -> withValidators(HttpResponse.<T>notModified(), id, updatedAt))
+                .switchIfEmpty(full);
+    }
+
+    /**
+     * Strong validator: changes whenever {@code updatedAt} does. Truncated to milliseconds, the precision
+     * MongoDB stores dates with, so a freshly written entity and its stored copy share a tag.
+     */
+    static String etag(String id, LocalDateTime updatedAt) {
+        long millis = updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return '"' + id + '-' + Long.toString(millis, 36) + '"';
+    }
+
+    private static boolean isNotModified(@Nullable String ifNoneMatch,
+                                         @Nullable String ifModifiedSince,
+                                         String id,
+                                         LocalDateTime updatedAt) {
+        if (ifNoneMatch != null) {
+            return matches(ifNoneMatch, etag(id, updatedAt));
+        }
+        try {
+            ZonedDateTime since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return !lastModified(updatedAt).isAfter(since);
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * {@code If-None-Match} uses weak comparison, so {@code W/"x"} matches {@code "x"}.
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ZonedDateTime lastModified(LocalDateTime updatedAt) {
+        return updatedAt.atZone(ZoneId.systemDefault())
+                .withZoneSameInstant(ZoneOffset.UTC)
+                .truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private static <T> MutableHttpResponse<T> withValidators(MutableHttpResponse<T> response,
+                                                             String id,
+                                                             @Nullable LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return response;
+        }
+        return response
+                .header(HttpHeaders.ETAG, etag(id, updatedAt))
+                .header(HttpHeaders.LAST_MODIFIED, DateTimeFormatter.RFC_1123_DATE_TIME.format(lastModified(updatedAt)))
+                .header(HttpHeaders.CACHE_CONTROL, NO_CACHE);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.controller;
+
+import com.example.model.DumpResult;
+import com.example.service.DumpService;
+import com.example.util.DumpFormat;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.PathVariable;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.QueryValue;
+import jakarta.inject.Inject;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Exports and imports whole collections as dump files in {@code app.dump.directory}. The file defaults to
+ * {@code <collection>.<format>}, and the format to the file's extension or NDJSON.
+ */
+@Controller("/api/admin/dumps")
+public class DumpController {
+
+    private final DumpService dumpService;
+
+    @Inject
+    public DumpController(DumpService dumpService) {
+        this.dumpService = dumpService;
+    }
+
+    @Post("/export/{collection}")
+    public Mono<HttpResponse<DumpResult>> export(@PathVariable String collection,
+                                                 @Nullable @QueryValue String file,
+                                                 @Nullable @QueryValue String format) {
+        return Mono.defer(() -> {
+            Path path = dumpService.resolve(fileName(collection, file, format));
+            return dumpService.export(collection, path, DumpFormat.of(format, path));
+        })
+            .map(result -> (HttpResponse<DumpResult>) HttpResponse.ok(result))
+            .onErrorReturn(IllegalArgumentException.class, HttpResponse.badRequest())
+            .onErrorReturn(HttpResponse.serverError());
+    }
+
+    @Post("/import/{collection}")
+    public Mono<HttpResponse<DumpResult>> importDump(@PathVariable String collection,
+                                                     @Nullable @QueryValue String file,
+                                                     @Nullable @QueryValue String format,
+                                                     @Nullable @QueryValue Boolean replace) {
+        return Mono.defer(() -> {
+            Path path = dumpService.resolve(fileName(collection, file, format));
+            return dumpService.importFile(collection, path, DumpFormat.of(format, path), Boolean.TRUE.equals(replace));
+        })
+            .map(result -> (HttpResponse<DumpResult>) HttpResponse.ok(result))
+            .onErrorReturn(IllegalArgumentException.class, HttpResponse.badRequest())
+            .onErrorReturn(NoSuchFileException.class, HttpResponse.notFound())
+            .onErrorReturn(HttpResponse.serverError());
+    }
+
+    private static String fileName(String collection, @Nullable String file, @Nullable String format) {
+        if (file != null && !file.isBlank()) {
+            return file;
+        }
+        DumpFormat dumpFormat = format == null ? DumpFormat.NDJSON : DumpFormat.of(format, Path.of(collection));
+        return collection + "." + dumpFormat.getExtension();
+    }
+}
@@ -1,16 +1,27 @@
 package com.example.controller;
 
+import com.example.service.StartupPipeline;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
+import jakarta.inject.Inject;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Controller("/health")
 public class HealthController {
 
+    private final StartupPipeline startupPipeline;
+
+    @Inject
+    public HealthController(StartupPipeline startupPipeline) {
+        this.startupPipeline = startupPipeline;
+    }
+
     @Get
     public Mono<HttpResponse<Map<String, Object>>> health() {
         return Mono.just(HttpResponse.ok(Map.of(
@@ -21,11 +32,22 @@ public class HealthController {
         )));
     }
 
+    /**
+     * {@code READY} only once every startup phase has completed; {@code 503} while starting or after a failed phase.
+     */
     @Get("/readiness")
-    public Mono<HttpResponse<Map<String, String>>> readiness() {
-        return Mono.just(HttpResponse.ok(Map.of(
-                "status", "READY"
-        )));
+    public Mono<HttpResponse<Map<String, Object>>> readiness() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", startupPipeline.getStatus().name());
+        body.put("phases", startupPipeline.getPhaseMillis());
+        if (startupPipeline.isReady()) {
+            body.put("bootToReadyMillis", startupPipeline.getBootToReadyMillis());
+            return Mono.just(HttpResponse.ok(body));
+        }
+        if (startupPipeline.getFailure() != null) {
+            body.put("error", startupPipeline.getFailure());
+        }
+        return Mono.just(HttpResponse.<Map<String, Object>>status(HttpStatus.SERVICE_UNAVAILABLE).body(body));
     }
 
     @Get("/liveness")
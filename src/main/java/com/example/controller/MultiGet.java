@@ -0,0 +1,52 @@
+package com.example.controller;
+
+import com.example.config.BatchGetConfiguration;
+import com.example.model.BatchGetResult;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpResponse;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Shared handling for multi-get routes: ids are trimmed and de-duplicated in request order, and
+ * requests over {@code app.batch-get.max-ids} are rejected before touching the database.
+ */
+@Singleton
+public class MultiGet {
+
+    private final BatchGetConfiguration batchGetConfiguration;
+
+    @Inject
+    public MultiGet(BatchGetConfiguration batchGetConfiguration) {
+        this.batchGetConfiguration = batchGetConfiguration;
+    }
+
+    public <T> Mono<HttpResponse<?>> fetch(@Nullable List<String> ids,
+                                           Function<List<String>, Mono<BatchGetResult<T>>> lookup) {
+        Set<String> requested = new LinkedHashSet<>();
+        if (ids != null) {
+            for (String id : ids) {
+                if (id != null && !id.isBlank()) {
+                    requested.add(id.trim());
+                }
+            }
+        }
+        if (requested.isEmpty() || requested.size() > batchGetConfiguration.getMaxIds()) {
+            return Mono.just(HttpResponse.badRequest());
+        }
+        return lookup.apply(new ArrayList<>(requested))
+                .map(result -> (HttpResponse<?>) HttpResponse.ok(result));
+    }
+
+    public static List<String> split(String ids) {
+        return Arrays.asList(ids.split(","));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.controller;
+
+import com.example.config.PagingConfiguration;
+import com.example.config.StreamingConfiguration;
+import com.example.repository.FieldProjection;
+import com.example.repository.PageCursor;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.json.JsonMapper;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Shared keyset paging for list and search routes.
+ * <p>
+ * JSON responses are bounded by the configured page limit; when a page is full the cursor of its last
+ * element is returned in {@link #NEXT_CURSOR_HEADER}. Clients sending {@code Accept: application/x-ndjson}
+ * instead get one document per line, written as the Mongo cursor emits it, so neither side buffers the result.
+ * An optional {@code fields} list narrows every document to the requested properties.
+ */
+@Singleton
+public class Pagination {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private static final MediaType NDJSON_TYPE = new MediaType(APPLICATION_NDJSON);
+    private static final byte NEWLINE = '\n';
+
+    private final PagingConfiguration pagingConfiguration;
+    private final StreamingConfiguration streamingConfiguration;
+    private final JsonMapper jsonMapper;
+
+    @Inject
+    public Pagination(PagingConfiguration pagingConfiguration,
+                      StreamingConfiguration streamingConfiguration,
+                      JsonMapper jsonMapper) {
+        this.pagingConfiguration = pagingConfiguration;
+        this.streamingConfiguration = streamingConfiguration;
+        this.jsonMapper = jsonMapper;
+    }
+
+    public <T> Mono<HttpResponse<?>> page(HttpRequest<?> request,
+                                          @Nullable String after,
+                                          @Nullable Integer limit,
+                                          @Nullable String fields,
+                                          Class<T> type,
+                                          PageQuery<T> query,
+                                          Function<T, PageCursor> cursorOf) {
+        boolean ndjson = acceptsNdjson(request);
+        int size = ndjson ? streamingConfiguration.resolveLimit(limit) : pagingConfiguration.resolveLimit(limit);
+        Flux<T> results;
+        FieldProjection projection;
+        try {
+            PageCursor cursor = PageCursor.decode(after);
+            projection = FieldProjection.parse(fields, type);
+            results = query.find(cursor, size, projection);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(HttpResponse.badRequest());
+        }
+        if (ndjson) {
+            return Mono.just(stream(results.map(projection::select)));
+        }
+        return results
+                .collectList()
+                .map(items -> (HttpResponse<?>) toResponse(items, size, cursorOf, projection))
+                .onErrorReturn(IllegalArgumentException.class, HttpResponse.badRequest());
+    }
+
+    private HttpResponse<?> stream(Flux<?> documents) {
+        return HttpResponse.ok(documents.map(this::toLine)).contentType(NDJSON_TYPE);
+    }
+
+    private byte[] toLine(Object document) {
+        try {
+            byte[] json = jsonMapper.writeValueAsBytes(document);
+            byte[] line = new byte[json.length + 1];
+            System.arraycopy(json, 0, line, 0, json.length);
+            line[json.length] = NEWLINE;
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean acceptsNdjson(HttpRequest<?> request) {
+        return request.accept().stream()
+                .anyMatch(mediaType -> APPLICATION_NDJSON.equals(mediaType.getName()));
+    }
+
+    private <T> HttpResponse<List<Object>> toResponse(List<T> items,
+                                                      int size,
+                                                      Function<T, PageCursor> cursorOf,
+                                                      FieldProjection projection) {
+        MutableHttpResponse<List<Object>> response = HttpResponse.ok(items.stream().map(projection::select).toList());
+        if (items.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, cursorOf.apply(items.get(items.size() - 1)).encode());
+        }
+        return response;
+    }
+
+    /**
+     * Finder behind a paged route. Implementations resolve the cursor when called and throw
+     * {@link IllegalArgumentException} if it does not fit the route's sort, so a bad cursor is answered with
+     * 400 before an NDJSON response has sent its status and headers.
+     */
+    @FunctionalInterface
+    public interface PageQuery<T> {
+        Flux<T> find(@Nullable PageCursor after, int limit, FieldProjection projection);
+    }
+}
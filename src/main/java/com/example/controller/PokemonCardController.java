@@ -1,8 +1,16 @@
 package com.example.controller;
 
+import com.example.model.BatchGetRequest;
+import com.example.model.BulkResult;
+import com.example.model.CardFacets;
 import com.example.model.PokemonCard;
+import com.example.repository.PageCursor;
+import com.example.repository.PokemonCardRepository;
 import com.example.service.PokemonCardService;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.*;
 import io.micronaut.validation.Validated;
 import jakarta.inject.Inject;
@@ -12,15 +20,26 @@ import reactor.core.publisher.Mono;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 
+import java.math.BigDecimal;
+
 @Controller("/api/cards")
 @Validated
 public class PokemonCardController {
     
     private final PokemonCardService pokemonCardService;
+    private final Pagination pagination;
+    private final MultiGet multiGet;
+    private final ConditionalGet conditionalGet;
     
     @Inject
-    public PokemonCardController(PokemonCardService pokemonCardService) {
+    public PokemonCardController(PokemonCardService pokemonCardService,
+                                 Pagination pagination,
+                                 MultiGet multiGet,
+                                 ConditionalGet conditionalGet) {
         this.pokemonCardService = pokemonCardService;
+        this.pagination = pagination;
+        this.multiGet = multiGet;
+        this.conditionalGet = conditionalGet;
     }
     
     @Post
@@ -29,15 +48,35 @@ public class PokemonCardController {
                 .map(c -> (HttpResponse<PokemonCard>) HttpResponse.created(c));
     }
     
-    @Get
-    public Flux<PokemonCard> getAllCards() {
-        return pokemonCardService.findAll();
+    @Post("/bulk")
+    public Mono<HttpResponse<BulkResult>> bulkUpsertCards(@Body Flux<PokemonCard> cards) {
+        return pokemonCardService.bulkUpsertCards(cards)
+                .map(result -> (HttpResponse<BulkResult>) HttpResponse.ok(result));
+    }
+    
+    @Get(produces = {MediaType.APPLICATION_JSON, Pagination.APPLICATION_NDJSON})
+    public Mono<HttpResponse<?>> getAllCards(HttpRequest<?> request,
+                                             @Nullable @QueryValue Integer limit,
+                                             @Nullable @QueryValue String after,
+                                             @Nullable @QueryValue String fields,
+                                             @Nullable @QueryValue String ids) {
+        if (ids != null) {
+            return multiGet.fetch(MultiGet.split(ids), pokemonCardService::findByIds);
+        }
+        return pagination.page(request, after, limit, fields, PokemonCard.class,
+                pokemonCardService::findAll,
+                PokemonCardController::cursorOf);
+    }
+    
+    @Post("/batch-get")
+    public Mono<HttpResponse<?>> batchGetCards(@Body BatchGetRequest request) {
+        return multiGet.fetch(request.getIds(), pokemonCardService::findByIds);
     }
     
     @Get("/{id}")
-    public Mono<HttpResponse<PokemonCard>> getCard(@PathVariable @NotBlank String id) {
-        return pokemonCardService.findById(id)
-                .map(card -> (HttpResponse<PokemonCard>) HttpResponse.ok(card))
+    public Mono<HttpResponse<PokemonCard>> getCard(HttpRequest<?> request, @PathVariable @NotBlank String id) {
+        return conditionalGet.respond(request, id, pokemonCardService::findUpdatedAt,
+                        () -> pokemonCardService.findById(id), PokemonCard::getUpdatedAt)
                 .onErrorReturn(HttpResponse.notFound());
     }
     
@@ -56,28 +95,82 @@ public class PokemonCardController {
                 .onErrorReturn(HttpResponse.notFound());
     }
     
-    @Get("/search/type/{type}")
-    public Flux<PokemonCard> getCardsByType(@PathVariable @NotBlank String type) {
-        return pokemonCardService.findByType(type);
+    @Get(uri = "/search/type/{type}", produces = {MediaType.APPLICATION_JSON, Pagination.APPLICATION_NDJSON})
+    public Mono<HttpResponse<?>> getCardsByType(HttpRequest<?> request,
+                                                @PathVariable @NotBlank String type,
+                                                @Nullable @QueryValue Integer limit,
+                                                @Nullable @QueryValue String after,
+                                                @Nullable @QueryValue String fields) {
+        return pagination.page(request, after, limit, fields, PokemonCard.class,
+                (cursor, size, projection) -> pokemonCardService.findByType(type, cursor, size, projection),
+                PokemonCardController::cursorOf);
     }
     
-    @Get("/search/rarity/{rarity}")
-    public Flux<PokemonCard> getCardsByRarity(@PathVariable @NotBlank String rarity) {
-        return pokemonCardService.findByRarity(rarity);
+    @Get(uri = "/search/rarity/{rarity}", produces = {MediaType.APPLICATION_JSON, Pagination.APPLICATION_NDJSON})
+    public Mono<HttpResponse<?>> getCardsByRarity(HttpRequest<?> request,
+                                                  @PathVariable @NotBlank String rarity,
+                                                  @Nullable @QueryValue Integer limit,
+                                                  @Nullable @QueryValue String after,
+                                                  @Nullable @QueryValue String fields) {
+        return pagination.page(request, after, limit, fields, PokemonCard.class,
+                (cursor, size, projection) -> pokemonCardService.findByRarity(rarity, cursor, size, projection),
+                PokemonCardController::cursorOf);
     }
     
-    @Get("/search/set/{set}")
-    public Flux<PokemonCard> getCardsBySet(@PathVariable @NotBlank String set) {
-        return pokemonCardService.findBySet(set);
+    @Get(uri = "/search/set/{set}", produces = {MediaType.APPLICATION_JSON, Pagination.APPLICATION_NDJSON})
+    public Mono<HttpResponse<?>> getCardsBySet(HttpRequest<?> request,
+                                               @PathVariable @NotBlank String set,
+                                               @Nullable @QueryValue Integer limit,
+                                               @Nullable @QueryValue String after,
+                                               @Nullable @QueryValue String fields) {
+        return pagination.page(request, after, limit, fields, PokemonCard.class,
+                (cursor, size, projection) -> pokemonCardService.findBySet(set, cursor, size, projection),
+                PokemonCardController::cursorOf);
     }
     
-    @Get("/search/name")
-    public Flux<PokemonCard> searchCardsByName(@QueryValue @NotBlank String name) {
-        return pokemonCardService.searchByName(name);
+    @Get(uri = "/search/name", produces = {MediaType.APPLICATION_JSON, Pagination.APPLICATION_NDJSON})
+    public Mono<HttpResponse<?>> searchCardsByName(HttpRequest<?> request,
+                                                   @QueryValue @NotBlank String name,
+                                                   @Nullable @QueryValue Integer limit,
+                                                   @Nullable @QueryValue String after,
+                                                   @Nullable @QueryValue String fields) {
+        return pagination.page(request, after, limit, fields, PokemonCard.class,
+                (cursor, size, projection) -> pokemonCardService.searchByName(name, cursor, size, projection),
+                PokemonCardRepository::nameSearchCursor);
+    }
+    
+    @Get(uri = "/search/price", produces = {MediaType.APPLICATION_JSON, Pagination.APPLICATION_NDJSON})
+    public Mono<HttpResponse<?>> searchCardsByPrice(HttpRequest<?> request,
+                                                    @Nullable @QueryValue BigDecimal min,
+                                                    @Nullable @QueryValue BigDecimal max,
+                                                    @Nullable @QueryValue String sort,
+                                                    @Nullable @QueryValue Integer limit,
+                                                    @Nullable @QueryValue String after,
+                                                    @Nullable @QueryValue String fields) {
+        boolean ascending = sort == null || "asc".equalsIgnoreCase(sort);
+        if (!ascending && !"desc".equalsIgnoreCase(sort)) {
+            return Mono.just(HttpResponse.badRequest());
+        }
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            return Mono.just(HttpResponse.badRequest());
+        }
+        return pagination.page(request, after, limit, fields, PokemonCard.class,
+                (cursor, size, projection) ->
+                        pokemonCardService.findByPriceRange(min, max, ascending, cursor, size, projection),
+                card -> PageCursor.of(card.getMarketPrice(), card.getId()));
     }
     
     @Get("/count")
     public Mono<Long> getCardCount() {
         return pokemonCardService.countCards();
     }
+    
+    @Get("/facets")
+    public Mono<CardFacets> getFacets() {
+        return pokemonCardService.getFacets();
+    }
+    
+    private static PageCursor cursorOf(PokemonCard card) {
+        return PageCursor.of(card.getCreatedAt(), card.getId());
+    }
 }
@@ -0,0 +1,80 @@
+package com.example.migration;
+
+import org.bson.Document;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parsed {@code databaseChangeLog} JSON, in the Liquibase MongoDB extension format.
+ */
+public final class ChangeLog {
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    private final String location;
+    private final List<ChangeSet> changeSets;
+
+    private ChangeLog(String location, List<ChangeSet> changeSets) {
+        this.location = location;
+        this.changeSets = Collections.unmodifiableList(changeSets);
+    }
+
+    public static ChangeLog load(String location) {
+        String resource = location.startsWith(CLASSPATH_PREFIX)
+                ? location.substring(CLASSPATH_PREFIX.length())
+                : location;
+        try (InputStream in = ChangeLog.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Changelog not found on classpath: " + resource);
+            }
+            return parse(location, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read changelog " + resource, e);
+        }
+    }
+
+    static ChangeLog parse(String location, String json) {
+        List<Document> entries = Document.parse(json).getList("databaseChangeLog", Document.class);
+        if (entries == null) {
+            throw new IllegalStateException("Changelog " + location + " has no databaseChangeLog array");
+        }
+        List<ChangeSet> changeSets = new ArrayList<>(entries.size());
+        Set<String> keys = new HashSet<>();
+        for (Document entry : entries) {
+            Document changeSet = entry.get("changeSet", Document.class);
+            if (changeSet == null) {
+                throw new IllegalStateException("Changelog " + location + " contains an entry without a changeSet");
+            }
+            ChangeSet parsed = new ChangeSet(
+                    changeSet.getString("id"),
+                    changeSet.getString("author"),
+                    changeSets.size() + 1,
+                    changeSet.getList("changes", Document.class, List.of())
+            );
+            if (parsed.getId() == null || parsed.getAuthor() == null) {
+                throw new IllegalStateException("ChangeSet #" + parsed.getOrder() + " needs an id and an author");
+            }
+            if (!keys.add(parsed.getKey())) {
+                throw new IllegalStateException("Duplicate changeSet " + parsed.getKey() + " in " + location);
+            }
+            changeSets.add(parsed);
+        }
+        return new ChangeLog(location, changeSets);
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public List<ChangeSet> getChangeSets() {
+        return changeSets;
+    }
+}
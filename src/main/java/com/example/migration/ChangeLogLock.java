@@ -0,0 +1,101 @@
+package com.example.migration;
+
+import com.example.config.MigrationConfiguration;
+import com.mongodb.MongoException;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.Document;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+import static com.mongodb.client.model.Filters.*;
+import static com.mongodb.client.model.Updates.*;
+
+/**
+ * Single lock document in {@code DATABASECHANGELOGLOCK} so only one instance applies changeSets at a time.
+ * Acquiring is one conditional upsert: it succeeds when the lock is free or stale, and fails with a
+ * duplicate key error while another instance holds it. While work runs under the lock its timestamp is
+ * refreshed, so a long index build is never mistaken for a crashed holder.
+ */
+final class ChangeLogLock {
+
+    private static final int LOCK_ID = 1;
+    private static final int DUPLICATE_KEY = 11000;
+    private static final Duration MIN_HEARTBEAT = Duration.ofMillis(100);
+
+    private final MongoCollection<Document> locks;
+    private final MigrationConfiguration configuration;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    ChangeLogLock(MongoCollection<Document> locks, MigrationConfiguration configuration) {
+        this.locks = locks;
+        this.configuration = configuration;
+    }
+
+    Mono<Boolean> acquire() {
+        long attempts = Math.max(1, configuration.getLockWaitTimeout().toMillis()
+                / Math.max(1, configuration.getLockPollInterval().toMillis()));
+        return Mono.defer(this::tryAcquire)
+                .retryWhen(Retry.fixedDelay(attempts, configuration.getLockPollInterval())
+                        .filter(LockHeldException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> new IllegalStateException(
+                                "Changelog lock still held after " + configuration.getLockWaitTimeout())));
+    }
+
+    /**
+     * Runs {@code work} while refreshing {@code lockGranted} every third of the stale period. Fails the work
+     * if the lock is found to belong to someone else, since another instance may then be migrating too.
+     */
+    <T> Mono<T> whileHeld(Mono<T> work) {
+        Duration interval = heartbeatInterval();
+        Mono<T> heartbeat = Flux.interval(interval, interval)
+                .concatMap(tick -> refresh())
+                .then(Mono.empty());
+        return Mono.firstWithSignal(work, heartbeat);
+    }
+
+    private Duration heartbeatInterval() {
+        Duration interval = configuration.getLockStaleAfter().dividedBy(3);
+        return interval.compareTo(MIN_HEARTBEAT) < 0 ? MIN_HEARTBEAT : interval;
+    }
+
+    private Mono<Void> refresh() {
+        return Mono.from(locks.updateOne(
+                        and(eq("_id", LOCK_ID), eq("locked", true), eq("lockedBy", owner)),
+                        set("lockGranted", new Date())))
+                .flatMap(result -> result.getMatchedCount() == 1
+                        ? Mono.<Void>empty()
+                        : Mono.error(new IllegalStateException("Changelog lock was taken over by another instance")));
+    }
+
+    Mono<Void> release() {
+        return Mono.from(locks.updateOne(
+                        and(eq("_id", LOCK_ID), eq("lockedBy", owner)),
+                        combine(set("locked", false), unset("lockedBy"), unset("lockGranted"))))
+                .then();
+    }
+
+    private Mono<Boolean> tryAcquire() {
+        Date now = new Date();
+        Date staleBefore = new Date(now.getTime() - configuration.getLockStaleAfter().toMillis());
+        return Mono.from(locks.findOneAndUpdate(
+                        and(eq("_id", LOCK_ID), or(eq("locked", false), lt("lockGranted", staleBefore))),
+                        combine(set("locked", true), set("lockGranted", now), set("lockedBy", owner)),
+                        new FindOneAndUpdateOptions().upsert(true)))
+                .thenReturn(true)
+                .onErrorMap(e -> e instanceof MongoException mongo && mongo.getCode() == DUPLICATE_KEY,
+                        e -> new LockHeldException());
+    }
+
+    private static final class LockHeldException extends RuntimeException {
+        LockHeldException() {
+            super("Changelog lock is held by another instance", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.migration;
+
+import com.example.config.MigrationConfiguration;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the JSON changelog to MongoDB, recording each applied changeSet and its checksum in
+ * {@code DATABASECHANGELOG}.
+ * <p>
+ * The applied changeSets are read first without taking the lock, so a database that is already up to date
+ * costs a single query. Otherwise the lock is taken, the pending list is re-read, and changeSets run in
+ * changelog order, except that consecutive index-only changeSets are built concurrently.
+ */
+@Singleton
+public class ChangeLogRunner {
+
+    public static final String CHANGELOG_COLLECTION = "DATABASECHANGELOG";
+    public static final String LOCK_COLLECTION = "DATABASECHANGELOGLOCK";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeLogRunner.class);
+    private static final int NAMESPACE_EXISTS = 48;
+    private static final int INDEX_NOT_FOUND = 27;
+
+    private final MongoDatabase database;
+    private final MongoCollection<Document> appliedChangeSets;
+    private final MigrationConfiguration configuration;
+    private final ChangeLogLock lock;
+
+    @Inject
+    public ChangeLogRunner(MongoClient mongoClient, MigrationConfiguration configuration) {
+        this.database = mongoClient.getDatabase("pokemon_db");
+        this.appliedChangeSets = database.getCollection(CHANGELOG_COLLECTION);
+        this.configuration = configuration;
+        this.lock = new ChangeLogLock(database.getCollection(LOCK_COLLECTION), configuration);
+    }
+
+    /**
+     * Applies every pending changeSet; emits how many were applied. Fails if an applied changeSet has
+     * since been edited.
+     */
+    public Mono<Integer> update() {
+        return Mono.fromCallable(() -> ChangeLog.load(configuration.getChangeLog()))
+                .flatMap(changeLog -> pending(changeLog).flatMap(pending -> {
+                    if (pending.isEmpty()) {
+                        LOG.info("Changelog {} is up to date", changeLog.getLocation());
+                        return Mono.just(0);
+                    }
+                    return Mono.usingWhen(lock.acquire(),
+                            locked -> lock.whileHeld(pending(changeLog).flatMap(this::applyAll)),
+                            locked -> lock.release());
+                }));
+    }
+
+    private Mono<List<ChangeSet>> pending(ChangeLog changeLog) {
+        return Flux.from(appliedChangeSets.find())
+                .collectMap(applied -> applied.getString("_id"), applied -> applied.getString("md5sum"))
+                .map(applied -> pending(changeLog, applied));
+    }
+
+    private static List<ChangeSet> pending(ChangeLog changeLog, Map<String, String> applied) {
+        List<ChangeSet> pending = new ArrayList<>();
+        for (ChangeSet changeSet : changeLog.getChangeSets()) {
+            String checksum = applied.get(changeSet.getKey());
+            if (checksum == null) {
+                pending.add(changeSet);
+            } else if (!checksum.equals(changeSet.getChecksum())) {
+                throw new IllegalStateException("ChangeSet " + changeSet.getKey()
+                        + " was modified after it was applied; add a new changeSet instead");
+            }
+        }
+        return pending;
+    }
+
+    private Mono<Integer> applyAll(List<ChangeSet> pending) {
+        return Flux.fromIterable(batches(pending))
+                .concatMap(batch -> batch.get(0).isIndexOnly()
+                        ? Flux.fromIterable(batch).flatMap(this::apply, configuration.getIndexConcurrency())
+                        : Flux.fromIterable(batch).concatMap(this::apply))
+                .count()
+                .map(Long::intValue);
+    }
+
+    /**
+     * Splits pending changeSets into runs of consecutive index-only changeSets and single other changeSets.
+     */
+    static List<List<ChangeSet>> batches(List<ChangeSet> pending) {
+        List<List<ChangeSet>> batches = new ArrayList<>();
+        List<ChangeSet> indexes = new ArrayList<>();
+        for (ChangeSet changeSet : pending) {
+            if (changeSet.isIndexOnly()) {
+                indexes.add(changeSet);
+                continue;
+            }
+            if (!indexes.isEmpty()) {
+                batches.add(indexes);
+                indexes = new ArrayList<>();
+            }
+            batches.add(List.of(changeSet));
+        }
+        if (!indexes.isEmpty()) {
+            batches.add(indexes);
+        }
+        return batches;
+    }
+
+    private Mono<ChangeSet> apply(ChangeSet changeSet) {
+        long start = System.nanoTime();
+        return Flux.fromIterable(changeSet.getChanges())
+                .concatMap(this::apply)
+                .then(Mono.from(appliedChangeSets.insertOne(new Document("_id", changeSet.getKey())
+                        .append("id", changeSet.getId())
+                        .append("author", changeSet.getAuthor())
+                        .append("filename", configuration.getChangeLog())
+                        .append("md5sum", changeSet.getChecksum())
+                        .append("orderExecuted", changeSet.getOrder())
+                        .append("dateExecuted", new Date())
+                        .append("execType", "EXECUTED"))))
+                .doOnSuccess(result -> LOG.info("✓ Applied changeSet {} in {} ms", changeSet.getKey(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)))
+                .thenReturn(changeSet);
+    }
+
+    private Mono<Void> apply(Document change) {
+        String type = change.keySet().iterator().next();
+        Document spec = change.get(type, Document.class);
+        return switch (type) {
+            case ChangeSet.CREATE_COLLECTION -> Mono.from(database.createCollection(spec.getString("collectionName")))
+                    .onErrorResume(MongoCommandException.class, e -> e.getErrorCode() == NAMESPACE_EXISTS
+                            ? Mono.empty()
+                            : Mono.error(e));
+            case ChangeSet.CREATE_INDEX -> Mono.from(database.getCollection(spec.getString("collectionName"))
+                    .createIndex(spec.get("keys", Document.class), indexOptions(spec.get("options", Document.class))))
+                    .then();
+            case ChangeSet.DROP_INDEX -> Mono.from(database.getCollection(spec.getString("collectionName"))
+                    .dropIndex(spec.get("keys", Document.class)))
+                    .onErrorResume(MongoCommandException.class, e -> e.getErrorCode() == INDEX_NOT_FOUND
+                            ? Mono.empty()
+                            : Mono.error(e))
+                    .then();
+            case ChangeSet.RUN_COMMAND -> Mono.from(database.runCommand(spec.get("command", Document.class))).then();
+            case ChangeSet.CUSTOM_CHANGE -> Mono.defer(() -> customChange(spec.getString("class")).execute(database));
+            default -> Mono.error(new IllegalStateException("Unsupported change type: " + type));
+        };
+    }
+
+    private static CustomChange customChange(String className) {
+        try {
+            return Class.forName(className)
+                    .asSubclass(CustomChange.class)
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Cannot instantiate custom change " + className, e);
+        }
+    }
+
+    private static IndexOptions indexOptions(Document options) {
+        IndexOptions indexOptions = new IndexOptions();
+        if (options == null) {
+            return indexOptions;
+        }
+        for (Map.Entry<String, Object> option : options.entrySet()) {
+            switch (option.getKey()) {
+                case "unique" -> indexOptions.unique((Boolean) option.getValue());
+                case "sparse" -> indexOptions.sparse((Boolean) option.getValue());
+                case "name" -> indexOptions.name((String) option.getValue());
+                case "expireAfterSeconds" -> indexOptions.expireAfter(
+                        ((Number) option.getValue()).longValue(), TimeUnit.SECONDS);
+                case "partialFilterExpression" -> indexOptions.partialFilterExpression((Document) option.getValue());
+                default -> throw new IllegalStateException("Unsupported index option: " + option.getKey());
+            }
+        }
+        return indexOptions;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.migration;
+
+import org.bson.Document;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * One changeSet from the changelog. Identified by {@code id::author}; the checksum covers its changes so
+ * an edit to an already-applied changeSet is detected instead of silently ignored.
+ */
+public final class ChangeSet {
+
+    static final String CREATE_COLLECTION = "ext:createCollection";
+    static final String CREATE_INDEX = "ext:createIndex";
+    static final String DROP_INDEX = "ext:dropIndex";
+    static final String RUN_COMMAND = "ext:runCommand";
+    static final String CUSTOM_CHANGE = "customChange";
+
+    private final String id;
+    private final String author;
+    private final int order;
+    private final List<Document> changes;
+    private final String checksum;
+
+    ChangeSet(String id, String author, int order, List<Document> changes) {
+        this.id = id;
+        this.author = author;
+        this.order = order;
+        this.changes = changes;
+        this.checksum = md5(new Document("changes", changes).toJson());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public String getKey() {
+        return id + "::" + author;
+    }
+
+    /**
+     * Position in the changelog, starting at 1.
+     */
+    public int getOrder() {
+        return order;
+    }
+
+    public List<Document> getChanges() {
+        return changes;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * True when every change only builds an index; such changeSets do not depend on each other.
+     */
+    public boolean isIndexOnly() {
+        return changes.stream().allMatch(change -> change.containsKey(CREATE_INDEX));
+    }
+
+    private static String md5(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
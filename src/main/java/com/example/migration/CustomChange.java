@@ -0,0 +1,14 @@
+package com.example.migration;
+
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import reactor.core.publisher.Mono;
+
+/**
+ * A changelog change implemented in Java, referenced from a {@code customChange} entry by class name, for
+ * data migrations that cannot be expressed as a server-side command. Implementations need a public no-arg
+ * constructor and must be safe to run again on data they have already migrated.
+ */
+public interface CustomChange {
+
+    Mono<Void> execute(MongoDatabase database);
+}
@@ -0,0 +1,52 @@
+package com.example.migration;
+
+import com.example.util.TextNormalizer;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.mongodb.client.model.Filters.*;
+import static com.mongodb.client.model.Updates.set;
+
+/**
+ * Recomputes {@code normalizedName} with {@link TextNormalizer}, the same folding new writes use. The
+ * earlier server-side backfill only lower-cased names, so legacy cards with accents or surrounding
+ * whitespace never matched a prefix search. Only cards whose stored value differs are rewritten.
+ */
+public class NormalizeCardNames implements CustomChange {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NormalizeCardNames.class);
+    private static final int BATCH_SIZE = 1000;
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+
+    @Override
+    public Mono<Void> execute(MongoDatabase database) {
+        MongoCollection<Document> cards = database.getCollection("pokemon_cards");
+        return Flux.from(cards.find(type("name", "string"))
+                        .projection(Projections.include("name", "normalizedName"))
+                        .batchSize(BATCH_SIZE))
+                .filter(card -> !Objects.equals(normalized(card), card.get("normalizedName")))
+                .map(card -> (WriteModel<Document>) new UpdateOneModel<Document>(
+                        eq("_id", card.get("_id")), set("normalizedName", normalized(card))))
+                .buffer(BATCH_SIZE)
+                .concatMap(updates -> Mono.from(cards.bulkWrite(updates, UNORDERED)).thenReturn(updates.size()))
+                .reduce(0, Integer::sum)
+                .doOnNext(updated -> LOG.info("Normalized the name of {} card(s)", updated))
+                .then();
+    }
+
+    private static String normalized(Document card) {
+        return TextNormalizer.normalize(card.getString("name"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.migration;
+
+import com.mongodb.client.model.Projections;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.mongodb.client.model.Filters.*;
+
+/**
+ * Reports the cards the Decimal128 price conversion could not convert. Such prices are left as they were
+ * and never match a price range query, so they are logged with sample ids for manual cleanup.
+ */
+public class ReportUnconvertedPrices implements CustomChange {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReportUnconvertedPrices.class);
+    private static final Bson UNCONVERTED = and(exists("marketPrice"), not(type("marketPrice", "decimal")),
+            not(type("marketPrice", "null")));
+    private static final int SAMPLE_SIZE = 10;
+
+    @Override
+    public Mono<Void> execute(MongoDatabase database) {
+        MongoCollection<Document> cards = database.getCollection("pokemon_cards");
+        return Mono.from(cards.countDocuments(UNCONVERTED))
+                .filter(count -> count > 0)
+                .flatMap(count -> Flux.from(cards.find(UNCONVERTED)
+                                .projection(Projections.include("marketPrice"))
+                                .limit(SAMPLE_SIZE))
+                        .map(Document::toJson)
+                        .collectList()
+                        .doOnNext(samples -> LOG.warn("{} card(s) have a marketPrice that is not a number and is "
+                                + "excluded from price search, e.g. {}", count, samples)))
+                .then();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.model;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+@Introspected
+@Serdeable
+public class BatchGetRequest {
+
+    private List<String> ids;
+
+    public BatchGetRequest() {}
+
+    public BatchGetRequest(List<String> ids) {
+        this.ids = ids;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.model;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Documents found by a multi-get, in the order the ids were requested, plus the ids that matched nothing.
+ */
+@Introspected
+@Serdeable
+public class BatchGetResult<T> {
+
+    private List<T> items;
+    private List<String> missing;
+
+    public BatchGetResult() {}
+
+    public BatchGetResult(List<T> items, List<String> missing) {
+        this.items = items;
+        this.missing = missing;
+    }
+
+    /**
+     * Orders {@code found} by the requested ids; ids without a document are reported as missing.
+     */
+    public static <T> BatchGetResult<T> inRequestOrder(List<String> ids, Map<String, T> found) {
+        List<T> items = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            T item = found.get(id);
+            if (item == null) {
+                missing.add(id);
+            } else {
+                items.add(item);
+            }
+        }
+        return new BatchGetResult<>(items, missing);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public List<String> getMissing() {
+        return missing;
+    }
+
+    public void setMissing(List<String> missing) {
+        this.missing = missing;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchGetResult{" +
+                "items=" + items +
+                ", missing=" + missing +
+                '}';
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.model;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+@Introspected
+@Serdeable
+public class BulkResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPSERTED = "UPSERTED";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String FAILED = "FAILED";
+    public static final String INVALID = "INVALID";
+
+    private int succeeded;
+    private int failed;
+    private List<Item> items;
+
+    public BulkResult() {}
+
+    public BulkResult(List<Item> items) {
+        this.items = items;
+        for (Item item : items) {
+            if (item.isSuccess()) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+        }
+    }
+
+    // Getters and Setters
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkResult{" +
+                "succeeded=" + succeeded +
+                ", failed=" + failed +
+                '}';
+    }
+
+    @Introspected
+    @Serdeable
+    public static class Item {
+        private long index;
+        private String id;
+        private String status;
+        private String error;
+
+        public Item() {}
+
+        public Item(long index, String id, String status, String error) {
+            this.index = index;
+            this.id = id;
+            this.status = status;
+            this.error = error;
+        }
+
+        public boolean isSuccess() {
+            return CREATED.equals(status) || UPSERTED.equals(status);
+        }
+
+        // Getters and Setters
+        public long getIndex() {
+            return index;
+        }
+
+        public void setIndex(long index) {
+            this.index = index;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+
+        @Override
+        public String toString() {
+            return "Item{" +
+                    "index=" + index +
+                    ", id='" + id + '\'' +
+                    ", status='" + status + '\'' +
+                    ", error='" + error + '\'' +
+                    '}';
+        }
+    }
+}
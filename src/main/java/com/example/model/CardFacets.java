@@ -0,0 +1,78 @@
+package com.example.model;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Card counts per {@code type}, {@code rarity} and {@code set}, each ordered by descending count.
+ */
+@Introspected
+@Serdeable
+public class CardFacets {
+
+    private long total;
+    private Map<String, Long> types;
+    private Map<String, Long> rarities;
+    private Map<String, Long> sets;
+    private Instant computedAt;
+
+    public CardFacets() {}
+
+    public CardFacets(long total,
+                      Map<String, Long> types,
+                      Map<String, Long> rarities,
+                      Map<String, Long> sets,
+                      Instant computedAt) {
+        this.total = total;
+        this.types = types;
+        this.rarities = rarities;
+        this.sets = sets;
+        this.computedAt = computedAt;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getTypes() {
+        return types;
+    }
+
+    public void setTypes(Map<String, Long> types) {
+        this.types = types;
+    }
+
+    public Map<String, Long> getRarities() {
+        return rarities;
+    }
+
+    public void setRarities(Map<String, Long> rarities) {
+        this.rarities = rarities;
+    }
+
+    public Map<String, Long> getSets() {
+        return sets;
+    }
+
+    public void setSets(Map<String, Long> sets) {
+        this.sets = sets;
+    }
+
+    /**
+     * When the counts were computed; cached responses can be up to {@code app.facets.expire-after} old.
+     */
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(Instant computedAt) {
+        this.computedAt = computedAt;
+    }
+}
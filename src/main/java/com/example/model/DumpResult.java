@@ -0,0 +1,95 @@
+package com.example.model;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+/**
+ * Outcome of exporting a collection to a dump file or importing one. {@code duplicates} counts imported
+ * documents skipped because their {@code _id} already existed.
+ */
+@Introspected
+@Serdeable
+public class DumpResult {
+
+    private String collection;
+    private String file;
+    private String format;
+    private long documents;
+    private long duplicates;
+    private long bytes;
+    private long durationMillis;
+
+    public DumpResult() {}
+
+    public DumpResult(String collection,
+                      String file,
+                      String format,
+                      long documents,
+                      long duplicates,
+                      long bytes,
+                      long durationMillis) {
+        this.collection = collection;
+        this.file = file;
+        this.format = format;
+        this.documents = documents;
+        this.duplicates = duplicates;
+        this.bytes = bytes;
+        this.durationMillis = durationMillis;
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public void setCollection(String collection) {
+        this.collection = collection;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public long getDocuments() {
+        return documents;
+    }
+
+    public void setDocuments(long documents) {
+        this.documents = documents;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(long duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+}
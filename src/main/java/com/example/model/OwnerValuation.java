@@ -0,0 +1,127 @@
+package com.example.model;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stored valuation of an owner's cards, kept current by incremental updates instead of being recomputed
+ * from {@link Portfolio} on every read.
+ */
+@Introspected
+@Serdeable
+public class OwnerValuation {
+
+    private String ownerId;
+    private int valuedCards;
+    private BigDecimal totalValue;
+    private Map<String, Portfolio.Bucket> byType;
+    private LocalDateTime updatedAt;
+    private long version;
+
+    public OwnerValuation() {}
+
+    public OwnerValuation(String ownerId,
+                          int valuedCards,
+                          BigDecimal totalValue,
+                          Map<String, Portfolio.Bucket> byType,
+                          LocalDateTime updatedAt) {
+        this.ownerId = ownerId;
+        this.valuedCards = valuedCards;
+        this.totalValue = totalValue;
+        this.byType = byType;
+        this.updatedAt = updatedAt;
+    }
+
+    public static OwnerValuation of(Portfolio portfolio) {
+        return new OwnerValuation(
+                portfolio.getOwnerId(),
+                portfolio.getValuedCards(),
+                portfolio.getTotalValue(),
+                new LinkedHashMap<>(portfolio.getByType()),
+                LocalDateTime.now());
+    }
+
+    /**
+     * Whether both valuations hold the same totals, comparing amounts by value rather than scale and ignoring
+     * types with no cards left.
+     */
+    public boolean sameTotalsAs(OwnerValuation other) {
+        return valuedCards == other.valuedCards
+                && totalValue.compareTo(other.totalValue) == 0
+                && sameBuckets(byType, other.byType)
+                && sameBuckets(other.byType, byType);
+    }
+
+    private static boolean sameBuckets(Map<String, Portfolio.Bucket> left, Map<String, Portfolio.Bucket> right) {
+        for (Map.Entry<String, Portfolio.Bucket> entry : left.entrySet()) {
+            Portfolio.Bucket bucket = entry.getValue();
+            if (bucket.getCards() == 0 && bucket.getValue().signum() == 0) {
+                continue;
+            }
+            Portfolio.Bucket match = right.get(entry.getKey());
+            if (match == null
+                    || match.getCards() != bucket.getCards()
+                    || match.getValue().compareTo(bucket.getValue()) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public int getValuedCards() {
+        return valuedCards;
+    }
+
+    public void setValuedCards(int valuedCards) {
+        this.valuedCards = valuedCards;
+    }
+
+    public BigDecimal getTotalValue() {
+        return totalValue;
+    }
+
+    public void setTotalValue(BigDecimal totalValue) {
+        this.totalValue = totalValue;
+    }
+
+    public Map<String, Portfolio.Bucket> getByType() {
+        return byType;
+    }
+
+    public void setByType(Map<String, Portfolio.Bucket> byType) {
+        this.byType = byType;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Bumped by every delta and overwrite, so a recomputed valuation is only written over the version it
+     * was compared against.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
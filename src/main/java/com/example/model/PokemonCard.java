@@ -1,5 +1,6 @@
 package com.example.model;
 
+import com.example.util.TextNormalizer;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.micronaut.core.annotation.Introspected;
 import io.micronaut.serde.annotation.Serdeable;
@@ -16,6 +17,7 @@ public class PokemonCard {
     private String id;
     
     private String name;
+    private String normalizedName;
     private String type;
     private Integer hp;
     private String rarity;
@@ -24,6 +26,8 @@ public class PokemonCard {
     private List<String> abilities;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Relevance of a name search word match; not a bean property, so it is neither stored nor serialized
+    private transient Double textScore;
     
     public PokemonCard() {
         this.createdAt = LocalDateTime.now();
@@ -33,7 +37,7 @@ public class PokemonCard {
     public PokemonCard(String name, String type, Integer hp, String rarity, String set, 
                       BigDecimal marketPrice, List<String> abilities) {
         this();
-        this.name = name;
+        setName(name);
         this.type = type;
         this.hp = hp;
         this.rarity = rarity;
@@ -57,6 +61,18 @@ public class PokemonCard {
     
     public void setName(String name) {
         this.name = name;
+        this.normalizedName = TextNormalizer.normalize(name);
+    }
+    
+    /**
+     * Lower-cased, accent-free copy of {@link #getName()} backing the prefix search index.
+     */
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+    
+    public void setNormalizedName(String normalizedName) {
+        this.normalizedName = normalizedName;
     }
     
     public String getType() {
@@ -123,6 +139,18 @@ public class PokemonCard {
         this.updatedAt = updatedAt;
     }
     
+    /**
+     * Text score of a card returned as a whole-word name match, null for any other read.
+     */
+    public Double textScore() {
+        return textScore;
+    }
+    
+    public PokemonCard withTextScore(Double textScore) {
+        this.textScore = textScore;
+        return this;
+    }
+    
     @Override
     public String toString() {
         return "PokemonCard{" +
@@ -0,0 +1,126 @@
+package com.example.model;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Market value of an owner's cards, in total and broken down by card type and rarity. Breakdowns are
+ * ordered by descending value; cards without a type or rarity are grouped under {@value #UNKNOWN}.
+ */
+@Introspected
+@Serdeable
+public class Portfolio {
+
+    public static final String UNKNOWN = "Unknown";
+
+    private String ownerId;
+    private int ownedCards;
+    private int valuedCards;
+    private BigDecimal totalValue;
+    private Map<String, Bucket> byType;
+    private Map<String, Bucket> byRarity;
+
+    public Portfolio() {}
+
+    public Portfolio(String ownerId,
+                     int ownedCards,
+                     int valuedCards,
+                     BigDecimal totalValue,
+                     Map<String, Bucket> byType,
+                     Map<String, Bucket> byRarity) {
+        this.ownerId = ownerId;
+        this.ownedCards = ownedCards;
+        this.valuedCards = valuedCards;
+        this.totalValue = totalValue;
+        this.byType = byType;
+        this.byRarity = byRarity;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    /**
+     * Number of ids in {@code ownedCardIds}.
+     */
+    public int getOwnedCards() {
+        return ownedCards;
+    }
+
+    public void setOwnedCards(int ownedCards) {
+        this.ownedCards = ownedCards;
+    }
+
+    /**
+     * Owned cards that still exist in the catalog; ids of deleted cards are not valued.
+     */
+    public int getValuedCards() {
+        return valuedCards;
+    }
+
+    public void setValuedCards(int valuedCards) {
+        this.valuedCards = valuedCards;
+    }
+
+    public BigDecimal getTotalValue() {
+        return totalValue;
+    }
+
+    public void setTotalValue(BigDecimal totalValue) {
+        this.totalValue = totalValue;
+    }
+
+    public Map<String, Bucket> getByType() {
+        return byType;
+    }
+
+    public void setByType(Map<String, Bucket> byType) {
+        this.byType = byType;
+    }
+
+    public Map<String, Bucket> getByRarity() {
+        return byRarity;
+    }
+
+    public void setByRarity(Map<String, Bucket> byRarity) {
+        this.byRarity = byRarity;
+    }
+
+    @Introspected
+    @Serdeable
+    public static class Bucket {
+
+        private int cards;
+        private BigDecimal value;
+
+        public Bucket() {}
+
+        public Bucket(int cards, BigDecimal value) {
+            this.cards = cards;
+            this.value = value;
+        }
+
+        public int getCards() {
+            return cards;
+        }
+
+        public void setCards(int cards) {
+            this.cards = cards;
+        }
+
+        public BigDecimal getValue() {
+            return value;
+        }
+
+        public void setValue(BigDecimal value) {
+            this.value = value;
+        }
+    }
+}
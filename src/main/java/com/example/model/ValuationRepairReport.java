@@ -0,0 +1,93 @@
+package com.example.model;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Outcome of recomputing every owner valuation. {@code drifted} counts stored valuations that disagreed with
+ * the recomputation; {@code missing} counts owners that had none. Both were overwritten.
+ */
+@Introspected
+@Serdeable
+public class ValuationRepairReport {
+
+    private long owners;
+    private long drifted;
+    private long missing;
+    private BigDecimal maxValueDrift;
+    private List<String> driftedOwnerIds;
+    private long durationMillis;
+
+    public ValuationRepairReport() {}
+
+    public ValuationRepairReport(long owners,
+                                 long drifted,
+                                 long missing,
+                                 BigDecimal maxValueDrift,
+                                 List<String> driftedOwnerIds,
+                                 long durationMillis) {
+        this.owners = owners;
+        this.drifted = drifted;
+        this.missing = missing;
+        this.maxValueDrift = maxValueDrift;
+        this.driftedOwnerIds = driftedOwnerIds;
+        this.durationMillis = durationMillis;
+    }
+
+    public long getOwners() {
+        return owners;
+    }
+
+    public void setOwners(long owners) {
+        this.owners = owners;
+    }
+
+    public long getDrifted() {
+        return drifted;
+    }
+
+    public void setDrifted(long drifted) {
+        this.drifted = drifted;
+    }
+
+    public long getMissing() {
+        return missing;
+    }
+
+    public void setMissing(long missing) {
+        this.missing = missing;
+    }
+
+    /**
+     * Largest absolute difference between a stored and a recomputed total value.
+     */
+    public BigDecimal getMaxValueDrift() {
+        return maxValueDrift;
+    }
+
+    public void setMaxValueDrift(BigDecimal maxValueDrift) {
+        this.maxValueDrift = maxValueDrift;
+    }
+
+    /**
+     * Up to the first 100 owners whose stored valuation had drifted.
+     */
+    public List<String> getDriftedOwnerIds() {
+        return driftedOwnerIds;
+    }
+
+    public void setDriftedOwnerIds(List<String> driftedOwnerIds) {
+        this.driftedOwnerIds = driftedOwnerIds;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.repository;
+
+import com.example.model.BulkResult;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.codecs.Codec;
+import org.bson.codecs.EncoderContext;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * Unordered {@code bulkWrite} of one chunk, reported per item. Documents without an id are given a new
+ * {@link ObjectId} hex string and inserted, so the report can name them; documents with an id are upserted by {@code _id}, keeping the stored {@code createdAt} when the document
+ * already exists. An unordered write keeps going past failures, so a duplicate key on one item only fails
+ * that item.
+ */
+final class BulkWrites {
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final String CREATED_AT = "createdAt";
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+    private static final UpdateOptions UPSERT = new UpdateOptions().upsert(true);
+    private static final EncoderContext ENCODE = EncoderContext.builder().build();
+    private static final InsertManyOptions UNORDERED_INSERT = new InsertManyOptions().ordered(false);
+
+    private BulkWrites() {}
+
+    /**
+     * Unordered {@code insertMany} of documents that carry their own ids, for loading data into an empty
+     * collection. Emits the number inserted and fails on any write error.
+     */
+    static <T> Mono<Integer> insert(MongoCollection<T> collection, List<T> documents) {
+        return Mono.from(collection.insertMany(documents, UNORDERED_INSERT))
+                .map(result -> result.getInsertedIds().size());
+    }
+
+    /**
+     * Writes {@code documents}, reporting each under the matching entry of {@code indexes}, its position in
+     * the bulk request.
+     */
+    static <T> Flux<BulkResult.Item> upsert(MongoCollection<T> collection,
+                                            List<T> documents,
+                                            List<Long> indexes,
+                                            Function<T, String> idOf,
+                                            BiConsumer<T, String> assignId) {
+        if (documents.isEmpty()) {
+            return Flux.empty();
+        }
+        Codec<T> codec = collection.getCodecRegistry().get(collection.getDocumentClass());
+        List<WriteModel<T>> models = new ArrayList<>(documents.size());
+        boolean[] inserts = new boolean[documents.size()];
+        for (int i = 0; i < documents.size(); i++) {
+            T document = documents.get(i);
+            String id = idOf.apply(document);
+            inserts[i] = id == null;
+            if (inserts[i]) {
+                assignId.accept(document, new ObjectId().toHexString());
+            }
+            models.add(inserts[i]
+                    ? new InsertOneModel<>(document)
+                    : new UpdateOneModel<>(eq("_id", id), replacementKeepingCreatedAt(codec, document), UPSERT));
+        }
+
+        return Mono.from(collection.bulkWrite(models, UNORDERED))
+                .map(result -> report(documents, inserts, indexes, idOf, Map.of()))
+                .onErrorResume(MongoBulkWriteException.class, e -> {
+                    Map<Integer, BulkWriteError> errors = new HashMap<>();
+                    for (BulkWriteError error : e.getWriteErrors()) {
+                        errors.put(error.getIndex(), error);
+                    }
+                    return Mono.just(report(documents, inserts, indexes, idOf, errors));
+                })
+                .flatMapIterable(items -> items);
+    }
+
+    /**
+     * Pipeline update replacing the whole document like {@code replaceOne}, except that an existing
+     * {@code createdAt} is kept; the document's own {@code createdAt} only applies when the upsert inserts.
+     * Values are wrapped in {@code $literal} so strings starting with {@code $} are not read as field paths.
+     */
+    private static <T> List<Bson> replacementKeepingCreatedAt(Codec<T> codec, T document) {
+        BsonDocument replacement = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(replacement), document, ENCODE);
+        BsonValue createdAt = replacement.remove(CREATED_AT);
+        BsonDocument keepCreatedAt = new BsonDocument(CREATED_AT, new BsonDocument("$ifNull", new BsonArray(List.of(
+                new BsonString("$" + CREATED_AT),
+                literal(createdAt == null ? BsonNull.VALUE : createdAt)))));
+        BsonDocument merged = new BsonDocument("$mergeObjects",
+                new BsonArray(List.of(literal(replacement), keepCreatedAt)));
+        return List.of(new BsonDocument("$replaceWith", merged));
+    }
+
+    private static BsonDocument literal(BsonValue value) {
+        return new BsonDocument("$literal", value);
+    }
+
+    private static <T> List<BulkResult.Item> report(List<T> documents,
+                                                    boolean[] inserts,
+                                                    List<Long> indexes,
+                                                    Function<T, String> idOf,
+                                                    Map<Integer, BulkWriteError> errors) {
+        List<BulkResult.Item> items = new ArrayList<>(documents.size());
+        for (int i = 0; i < documents.size(); i++) {
+            String id = idOf.apply(documents.get(i));
+            long index = indexes.get(i);
+            BulkWriteError error = errors.get(i);
+            if (error == null) {
+                String status = inserts[i] ? BulkResult.CREATED : BulkResult.UPSERTED;
+                items.add(new BulkResult.Item(index, id, status, null));
+            } else {
+                String status = error.getCode() == DUPLICATE_KEY ? BulkResult.DUPLICATE : BulkResult.FAILED;
+                items.add(new BulkResult.Item(index, inserts[i] ? null : id, status, error.getMessage()));
+            }
+        }
+        return items;
+    }
+}
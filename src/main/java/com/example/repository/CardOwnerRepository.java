@@ -1,62 +1,308 @@
 package com.example.repository;
 
+import com.example.config.StreamingConfiguration;
+import com.example.model.BulkResult;
 import com.example.model.CardOwner;
+import com.example.model.Portfolio;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BsonField;
+import com.mongodb.client.model.Facet;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UnwindOptions;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import com.mongodb.reactivestreams.client.MongoDatabase;
+import io.micronaut.core.annotation.Nullable;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 import static com.mongodb.client.model.Filters.*;
+import static com.mongodb.client.model.Updates.*;
 
 @Singleton
 public class CardOwnerRepository {
     
+    private static final Bson NEWEST_FIRST = Sorts.descending("createdAt", "_id");
+    private static final FindOneAndUpdateOptions RETURN_UPDATED =
+            new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER);
+    private static final Bson UPDATED_AT_ONLY = Projections.include("updatedAt");
+    private static final Bson ID_ONLY = Projections.include("_id");
+    private static final Decimal128 DECIMAL_ZERO = new Decimal128(BigDecimal.ZERO);
+    private static final Bson VALUED = Aggregates.match(eq("found", 1));
+    private static final Bson BY_VALUE = Aggregates.sort(Sorts.descending("value"));
+    private static final List<BsonField> CARD_VALUE = List.of(
+            Accumulators.sum("cards", 1),
+            Accumulators.sum("value", "$price"));
+    static final String COLLECTION = "card_owners";
+    
     private final MongoCollection<CardOwner> collection;
+    private final MongoCollection<Document> documents;
+    private final StreamingConfiguration streamingConfiguration;
+    private final RepositoryMetrics.Timers timers;
+    private final EntityCache<CardOwner> cache;
     
     @Inject
-    public CardOwnerRepository(MongoClient mongoClient) {
+    public CardOwnerRepository(MongoClient mongoClient,
+                               StreamingConfiguration streamingConfiguration,
+                               EntityCaches entityCaches,
+                               RepositoryMetrics repositoryMetrics) {
+        this.streamingConfiguration = streamingConfiguration;
+        this.cache = entityCaches.owners();
+        this.timers = repositoryMetrics.forRepository(COLLECTION);
         MongoDatabase database = mongoClient.getDatabase("pokemon_db");
-        this.collection = database.getCollection("card_owners", CardOwner.class);
+        this.collection = database.getCollection(COLLECTION, CardOwner.class);
+        this.documents = database.getCollection(COLLECTION);
     }
     
     public Mono<CardOwner> save(CardOwner owner) {
         if (owner.getId() == null) {
-            return Mono.from(collection.insertOne(owner))
-                    .then(Mono.just(owner));
+            return timers.time("save", Mono.from(collection.insertOne(owner))
+                    .then(Mono.just(owner)));
         } else {
-            return Mono.from(collection.replaceOne(eq("_id", owner.getId()), owner))
-                    .then(Mono.just(owner));
+            String id = owner.getId();
+            return timers.time("save", Mono.from(collection.replaceOne(eq("_id", id), owner))
+                    .doFinally(signal -> cache.invalidate(id))
+                    .then(Mono.just(owner)));
         }
     }
     
+    public Mono<Integer> insertAll(List<CardOwner> owners) {
+        return timers.time("insertAll", BulkWrites.insert(collection, owners));
+    }
+    
+    public Flux<BulkResult.Item> bulkUpsert(List<CardOwner> owners, List<Long> indexes) {
+        Flux<BulkResult.Item> written = BulkWrites.upsert(collection, owners, indexes, CardOwner::getId, CardOwner::setId);
+        return timers.time("bulkUpsert", written
+                .doFinally(signal -> owners.stream()
+                        .map(CardOwner::getId)
+                        .filter(Objects::nonNull)
+                        .forEach(cache::invalidate)));
+    }
+    
     public Mono<CardOwner> findById(String id) {
-        return Mono.from(collection.find(eq("_id", id)).first());
+        return timers.time("findById",
+                cache.getOrLoad(id, key -> Mono.from(collection.find(eq("_id", key)).first())));
     }
     
-    public Flux<CardOwner> findAll() {
-        return Flux.from(collection.find());
+    /**
+     * Last modification time of a document, taken from the entity cache when present and otherwise read
+     * with an {@code updatedAt}-only projection, so conditional GETs skip decoding the full document.
+     * Empty if the document does not exist or has never recorded {@code updatedAt}.
+     */
+    public Mono<LocalDateTime> findUpdatedAt(String id) {
+        return timers.time("findUpdatedAt", Mono.defer(() -> {
+            CardOwner cached = cache.peek(id);
+            if (cached != null) {
+                return Mono.justOrEmpty(cached.getUpdatedAt());
+            }
+            return Mono.from(documents.find(eq("_id", id)).projection(UPDATED_AT_ONLY).first())
+                    .mapNotNull(document -> document.getDate("updatedAt"))
+                    .map(date -> LocalDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC));
+        }));
+    }
+    
+    /**
+     * Looks up several documents with one {@code $in} query, serving cached ones without a round trip.
+     */
+    public Flux<CardOwner> findAllById(Collection<String> ids) {
+        return timers.time("findAllById",
+                cache.getAllOrLoad(ids, CardOwner::getId, misses -> Flux.from(collection.find(in("_id", misses)))));
+    }
+    
+    public Flux<CardOwner> findAll(@Nullable PageCursor after, int limit, FieldProjection projection) {
+        return timers.time("findAll", findPage(empty(), after, limit, projection));
     }
     
     public Mono<CardOwner> findByEmail(String email) {
-        return Mono.from(collection.find(eq("email", email)).first());
+        return timers.time("findByEmail", Mono.from(collection.find(emailFilter(email)).first()));
     }
     
-    public Flux<CardOwner> findByLastName(String lastName) {
-        return Flux.from(collection.find(eq("lastName", lastName)));
+    public Flux<CardOwner> findByLastName(String lastName,
+                                          @Nullable PageCursor after,
+                                          int limit,
+                                          FieldProjection projection) {
+        return timers.time("findByLastName", findPage(lastNameFilter(lastName), after, limit, projection));
     }
     
-    public Flux<CardOwner> findByOwnedCardId(String cardId) {
-        return Flux.from(collection.find(in("ownedCardIds", cardId)));
+    public Flux<CardOwner> findByOwnedCardId(String cardId,
+                                             @Nullable PageCursor after,
+                                             int limit,
+                                             FieldProjection projection) {
+        return timers.time("findByOwnedCardId",
+                findPage(ownedCardFilter(cardId), after, limit, projection));
+    }
+    
+    /**
+     * The queries behind each finder, filled with values from {@code sample}, for query plan analysis.
+     */
+    public static List<QueryShape> queryShapes(Document sample, int limit) {
+        List<String> ownedCardIds = sample.getList("ownedCardIds", String.class, List.of());
+        String cardId = ownedCardIds.isEmpty() ? "sample-card-id" : ownedCardIds.get(0);
+        String email = sample.get("email", "ash.ketchum@pokemon.com");
+        String lastName = sample.get("lastName", "Ketchum");
+        return List.of(
+                new QueryShape("findByEmail", COLLECTION, emailFilter(email), null, 1),
+                new QueryShape("findByLastName", COLLECTION, lastNameFilter(lastName), NEWEST_FIRST, limit),
+                new QueryShape("findByOwnedCardId", COLLECTION, ownedCardFilter(cardId), NEWEST_FIRST, limit)
+        );
+    }
+    
+    static Bson emailFilter(String email) {
+        return eq("email", email);
+    }
+    
+    static Bson lastNameFilter(String lastName) {
+        return eq("lastName", lastName);
+    }
+    
+    static Bson ownedCardFilter(String cardId) {
+        return in("ownedCardIds", cardId);
+    }
+    
+    /**
+     * Ids of every owner holding the card, read through the {@code ownedCardIds} index.
+     */
+    public Flux<String> findIdsByOwnedCardId(String cardId) {
+        return timers.time("findIdsByOwnedCardId", Flux.from(documents.find(ownedCardFilter(cardId))
+                        .projection(ID_ONLY)
+                        .batchSize(streamingConfiguration.getBatchSize()))
+                .map(document -> document.getString("_id")));
+    }
+    
+    public Flux<String> findAllIds() {
+        return timers.time("findAllIds", Flux.from(documents.find()
+                        .projection(ID_ONLY)
+                        .batchSize(streamingConfiguration.getBatchSize()))
+                .map(document -> document.getString("_id")));
+    }
+    
+    /**
+     * Adds a card to the owner's collection in a single server-side update, so concurrent adds
+     * cannot overwrite each other. Empty if the owner does not exist or already owns the card, which
+     * lets callers tell whether the collection actually changed.
+     */
+    public Mono<CardOwner> addOwnedCard(String ownerId, String cardId) {
+        return timers.time("addOwnedCard",
+                updateOwnedCards(ownerId, ne("ownedCardIds", cardId), addToSet("ownedCardIds", cardId)));
+    }
+    
+    /**
+     * Removes a card from the owner's collection. Empty if the owner does not exist or does not own the card.
+     */
+    public Mono<CardOwner> removeOwnedCard(String ownerId, String cardId) {
+        return timers.time("removeOwnedCard",
+                updateOwnedCards(ownerId, eq("ownedCardIds", cardId), pull("ownedCardIds", cardId)));
+    }
+    
+    private Mono<CardOwner> updateOwnedCards(String ownerId, Bson precondition, Bson change) {
+        Bson update = combine(change, set("updatedAt", LocalDateTime.now()));
+        return Mono.from(collection.findOneAndUpdate(and(eq("_id", ownerId), precondition), update, RETURN_UPDATED))
+                .doFinally(signal -> cache.invalidate(ownerId));
+    }
+    
+    /**
+     * Values an owner's cards in one aggregation. {@code ownedCardIds} is unwound before the
+     * {@code $lookup}, so each id costs one {@code _id} index probe and no stage holds all of an owner's
+     * cards in a single document. Prices are summed as Decimal128. Legacy numeric or string prices are
+     * converted, and unparseable ones count as zero. Empty if the owner does not exist.
+     */
+    public Mono<Portfolio> portfolio(String ownerId) {
+        List<Bson> pipeline = List.of(
+                Aggregates.match(eq("_id", ownerId)),
+                Aggregates.project(new Document("ownedCardIds", 1)
+                        .append("owned", new Document("$size", ifNull("$ownedCardIds", List.of())))),
+                Aggregates.unwind("$ownedCardIds", new UnwindOptions().preserveNullAndEmptyArrays(true)),
+                Aggregates.lookup(PokemonCardRepository.COLLECTION, "ownedCardIds", "_id", "card"),
+                Aggregates.unwind("$card", new UnwindOptions().preserveNullAndEmptyArrays(true)),
+                Aggregates.project(new Document("owned", 1)
+                        .append("found", new Document("$cond", List.of(ifNull("$card", false), 1, 0)))
+                        .append("type", ifNull("$card.type", Portfolio.UNKNOWN))
+                        .append("rarity", ifNull("$card.rarity", Portfolio.UNKNOWN))
+                        .append("price", new Document("$convert", new Document("input", "$card.marketPrice")
+                                .append("to", "decimal")
+                                .append("onError", DECIMAL_ZERO)
+                                .append("onNull", DECIMAL_ZERO)))),
+                Aggregates.facet(
+                        new Facet("owner", Aggregates.limit(1)),
+                        new Facet("total", VALUED, Aggregates.group(null, CARD_VALUE)),
+                        new Facet("byType", VALUED, Aggregates.group("$type", CARD_VALUE), BY_VALUE),
+                        new Facet("byRarity", VALUED, Aggregates.group("$rarity", CARD_VALUE), BY_VALUE))
+        );
+        return timers.time("portfolio", Mono.from(documents.aggregate(pipeline).allowDiskUse(true).first())
+                .filter(result -> !result.getList("owner", Document.class).isEmpty())
+                .map(result -> {
+                    List<Document> total = result.getList("total", Document.class);
+                    return new Portfolio(
+                            ownerId,
+                            result.getList("owner", Document.class).get(0).getInteger("owned"),
+                            total.isEmpty() ? 0 : cardsOf(total.get(0)),
+                            total.isEmpty() ? BigDecimal.ZERO : valueOf(total.get(0)),
+                            bucketsOf(result.getList("byType", Document.class)),
+                            bucketsOf(result.getList("byRarity", Document.class)));
+                }));
+    }
+    
+    private static Document ifNull(String field, Object fallback) {
+        return new Document("$ifNull", List.of(field, fallback));
+    }
+    
+    private static Map<String, Portfolio.Bucket> bucketsOf(List<Document> groups) {
+        Map<String, Portfolio.Bucket> buckets = new LinkedHashMap<>();
+        for (Document group : groups) {
+            buckets.put(String.valueOf(group.get("_id")), new Portfolio.Bucket(cardsOf(group), valueOf(group)));
+        }
+        return buckets;
+    }
+    
+    private static int cardsOf(Document group) {
+        return group.get("cards", Number.class).intValue();
+    }
+    
+    private static BigDecimal valueOf(Document group) {
+        return group.get("value", Decimal128.class).bigDecimalValue();
     }
     
     public Mono<Void> deleteById(String id) {
-        return Mono.from(collection.deleteOne(eq("_id", id))).then();
+        return timers.time("deleteById", Mono.from(collection.deleteOne(eq("_id", id)))
+                .doFinally(signal -> cache.invalidate(id))
+                .then());
     }
     
     public Mono<Long> count() {
-        return Mono.from(collection.estimatedDocumentCount());
+        return timers.time("count", Mono.from(collection.estimatedDocumentCount()));
+    }
+    
+    /**
+     * The cursor is resolved when this is called rather than on subscription, so a cursor that does not
+     * hold a timestamp fails with {@link IllegalArgumentException} before any response is committed.
+     */
+    private Flux<CardOwner> findPage(Bson filter, @Nullable PageCursor after, int limit, FieldProjection projection) {
+        Bson query = after == null
+                ? filter
+                : and(filter, after.descendingAfter("createdAt", after.createdAt()));
+        return Flux.from(collection.find(query)
+                        .projection(projection.toBson())
+                        .sort(NEWEST_FIRST)
+                        .limit(limit)
+                        .batchSize(streamingConfiguration.batchSizeFor(limit)))
+                .map(projection::apply);
     }
 }
@@ -0,0 +1,248 @@
+package com.example.repository;
+
+import com.example.config.ChangeStreamConfiguration;
+import com.mongodb.MongoException;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.reactivestreams.client.ChangeStreamPublisher;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.mongodb.client.model.Filters.*;
+
+/**
+ * Keeps the {@link EntityCaches} coherent across replicas: a change stream on {@code pokemon_cards} and
+ * {@code card_owners} evicts every document another node updates, replaces or deletes.
+ * <p>
+ * The last processed resume token is stored in {@value #TOKEN_COLLECTION}, so a restarted stream picks up
+ * where it stopped. When the token has aged out of the oplog, or the stream starts without one, both caches
+ * are cleared first. A standalone server cannot serve change streams at all: that is detected once on
+ * startup, the caches stay on their write TTL and nothing is retried or cleared. Other failures also fall
+ * back to the TTL while the stream is retried every {@code app.change-stream.retry-interval}.
+ */
+@Singleton
+@Requires(property = "app.change-stream.enabled", value = "true", defaultValue = "true")
+public class ChangeStreamInvalidator implements ApplicationEventListener<StartupEvent> {
+
+    public static final String TOKEN_COLLECTION = "cache_resume_tokens";
+
+    public enum Mode { STARTING, CHANGE_STREAM, TTL_ONLY }
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeStreamInvalidator.class);
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final int INVALID_RESUME_TOKEN = 260;
+    private static final int CHANGE_STREAM_UNSUPPORTED = 40573;
+    private static final List<Bson> PIPELINE = List.of(
+            Aggregates.match(and(
+                    in("ns.coll", "pokemon_cards", "card_owners"),
+                    in("operationType", "update", "replace", "delete", "drop", "rename", "invalidate"))),
+            Aggregates.project(Projections.include("operationType", "ns", "documentKey"))
+    );
+
+    private final MongoDatabase database;
+    private final MongoCollection<BsonDocument> tokens;
+    private final EntityCaches entityCaches;
+    private final ChangeStreamConfiguration configuration;
+    private final String consumer;
+    private final AtomicReference<BsonDocument> resumeToken = new AtomicReference<>();
+
+    private volatile Mode mode = Mode.STARTING;
+    private volatile long lastTokenSave;
+    private volatile Disposable subscription;
+
+    @Inject
+    public ChangeStreamInvalidator(MongoClient mongoClient,
+                                   EntityCaches entityCaches,
+                                   ChangeStreamConfiguration configuration) {
+        this.database = mongoClient.getDatabase("pokemon_db");
+        this.tokens = database.getCollection(TOKEN_COLLECTION, BsonDocument.class);
+        this.entityCaches = entityCaches;
+        this.configuration = configuration;
+        this.consumer = configuration.getConsumer() != null ? configuration.getConsumer() : hostName();
+    }
+
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        Flux<ChangeStreamDocument<Document>> changes = Flux.defer(this::watch)
+                .retryWhen(retryAfterFailure())
+                .repeatWhen(completions -> completions.delayElements(configuration.getRetryInterval()))
+                .onErrorResume(ChangeStreamInvalidator::isUnsupported,
+                        error -> this.<ChangeStreamDocument<Document>>ttlOnly(error.getMessage()));
+        subscription = loadToken()
+                .then(supportsChangeStreams())
+                .retryWhen(retryAfterFailure())
+                .flatMapMany(supported -> supported
+                        ? changes
+                        : this.<ChangeStreamDocument<Document>>ttlOnly("not a replica set or sharded cluster"))
+                .subscribe(
+                        this::apply,
+                        error -> LOG.error("Cache invalidation stream stopped", error)
+                );
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+        saveToken(true);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("invalidation", mode.name());
+        status.put("consumer", consumer);
+        status.put("hasResumeToken", resumeToken.get() != null);
+        return status;
+    }
+
+    private Retry retryAfterFailure() {
+        return Retry.fixedDelay(Long.MAX_VALUE, configuration.getRetryInterval())
+                .filter(error -> !isUnsupported(error))
+                .doBeforeRetry(signal -> onStreamError(signal.failure()));
+    }
+
+    /**
+     * Whether the server can serve change streams at all: a replica set member reports {@code setName} and
+     * a {@code mongos} reports {@code isdbgrid}.
+     */
+    private Mono<Boolean> supportsChangeStreams() {
+        return Mono.from(database.runCommand(new Document("hello", 1)))
+                .map(hello -> hello.containsKey("setName") || "isdbgrid".equals(hello.getString("msg")));
+    }
+
+    private static boolean isUnsupported(Throwable error) {
+        return error instanceof MongoException mongo && mongo.getCode() == CHANGE_STREAM_UNSUPPORTED;
+    }
+
+    /**
+     * Settles on TTL-only invalidation for good, without retrying or clearing the caches.
+     */
+    private <T> Flux<T> ttlOnly(String reason) {
+        return Flux.defer(() -> {
+            mode = Mode.TTL_ONLY;
+            LOG.warn("Change streams are not available ({}); cached documents expire by TTL only", reason);
+            return Flux.empty();
+        });
+    }
+
+    private Mono<Void> loadToken() {
+        return Mono.from(tokens.find(eq("_id", consumer)).first())
+                .doOnNext(saved -> resumeToken.set(saved.getDocument("token", null)))
+                .then();
+    }
+
+    private Flux<ChangeStreamDocument<Document>> watch() {
+        BsonDocument token = resumeToken.get();
+        ChangeStreamPublisher<Document> publisher = database.watch(PIPELINE);
+        if (token != null) {
+            publisher = publisher.startAfter(token);
+        } else {
+            // Nothing to resume from: changes made while nobody was listening are unknown
+            entityCaches.invalidateAll();
+        }
+        return Flux.from(publisher)
+                .doOnSubscribe(s -> {
+                    mode = Mode.CHANGE_STREAM;
+                    LOG.info("Listening for changes to cached collections ({})",
+                            token == null ? "from now" : "resuming");
+                });
+    }
+
+    private void apply(ChangeStreamDocument<Document> change) {
+        OperationType operation = change.getOperationType();
+        String collection = change.getNamespace() == null ? null : change.getNamespace().getCollectionName();
+        EntityCache<?> cache = collection == null ? null : entityCaches.forCollection(collection);
+        switch (operation) {
+            case UPDATE, REPLACE, DELETE -> {
+                BsonValue id = change.getDocumentKey() == null ? null : change.getDocumentKey().get("_id");
+                if (cache != null && id != null) {
+                    cache.invalidate(id.isObjectId() ? id.asObjectId().getValue().toHexString() : idString(id));
+                }
+            }
+            default -> {
+                if (cache != null) {
+                    cache.invalidateAll();
+                } else {
+                    entityCaches.invalidateAll();
+                }
+            }
+        }
+        resumeToken.set(change.getResumeToken());
+        saveToken(false);
+    }
+
+    private void onStreamError(Throwable error) {
+        mode = Mode.TTL_ONLY;
+        if (error instanceof MongoException mongo
+                && (mongo.getCode() == CHANGE_STREAM_HISTORY_LOST || mongo.getCode() == INVALID_RESUME_TOKEN)) {
+            LOG.warn("Resume token is no longer usable; restarting the change stream from now");
+            resumeToken.set(null);
+        }
+        LOG.warn("Change stream unavailable ({}); caches fall back to TTL expiry, retrying in {}",
+                error.getMessage(), configuration.getRetryInterval());
+    }
+
+    private void saveToken(boolean force) {
+        BsonDocument token = resumeToken.get();
+        long now = System.currentTimeMillis();
+        if (token == null || (!force && now - lastTokenSave < configuration.getTokenSaveInterval().toMillis())) {
+            return;
+        }
+        lastTokenSave = now;
+        BsonDocument saved = new BsonDocument("_id", new BsonString(consumer))
+                .append("token", token)
+                .append("savedAt", new BsonDateTime(now));
+        Mono.from(tokens.replaceOne(eq("_id", consumer), saved, new ReplaceOptions().upsert(true)))
+                .subscribe(
+                        result -> { },
+                        error -> LOG.warn("Could not save change stream resume token", error)
+                );
+    }
+
+    private static String idString(BsonValue id) {
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+}
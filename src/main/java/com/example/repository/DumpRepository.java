@@ -0,0 +1,117 @@
+package com.example.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Whole-collection reads and writes for dump files. Documents stay as {@link RawBsonDocument}, so they are
+ * copied byte for byte without being decoded into POJOs or re-encoded.
+ */
+@Singleton
+public class DumpRepository {
+
+    public static final Set<String> COLLECTIONS = Set.of(PokemonCardRepository.COLLECTION, CardOwnerRepository.COLLECTION);
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final Pattern DUPLICATE_INDEX = Pattern.compile("index: (\\S+) dup key");
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+
+    private final MongoDatabase database;
+    private final Map<String, RepositoryMetrics.Timers> timers;
+
+    @Inject
+    public DumpRepository(MongoClient mongoClient, RepositoryMetrics repositoryMetrics) {
+        this.database = mongoClient.getDatabase("pokemon_db");
+        this.timers = Map.of(
+                PokemonCardRepository.COLLECTION, repositoryMetrics.forRepository(PokemonCardRepository.COLLECTION),
+                CardOwnerRepository.COLLECTION, repositoryMetrics.forRepository(CardOwnerRepository.COLLECTION));
+    }
+
+    /**
+     * Every document in natural order, fetched {@code batchSize} at a time.
+     */
+    public Flux<RawBsonDocument> findAll(String collection, int batchSize) {
+        return timers(collection).time("dumpAll", Flux.from(collection(collection).find().batchSize(batchSize)));
+    }
+
+    /**
+     * Unordered {@code insertMany}. Documents whose {@code _id} already exists are counted as duplicates
+     * and skipped. A document colliding with another unique index, such as an owner's email, fails the
+     * batch with an {@link IllegalArgumentException} naming the index; any other write error fails it as is.
+     */
+    public Mono<Inserted> insertAll(String collection, List<RawBsonDocument> documents) {
+        return timers(collection).time("restoreAll", Mono.from(collection(collection).insertMany(documents, UNORDERED))
+                .map(result -> new Inserted(documents.size(), 0))
+                .onErrorResume(MongoBulkWriteException.class, e -> {
+                    List<BulkWriteError> errors = e.getWriteErrors();
+                    if (errors.isEmpty() || errors.stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                        return Mono.error(e);
+                    }
+                    for (BulkWriteError error : errors) {
+                        String index = duplicateIndex(error);
+                        if (!"_id_".equals(index)) {
+                            return Mono.error(new IllegalArgumentException("Document " + error.getIndex()
+                                    + " of the batch violates unique index " + index + " of " + collection
+                                    + ": " + error.getMessage(), e));
+                        }
+                    }
+                    return Mono.just(new Inserted(documents.size() - errors.size(), errors.size()));
+                }));
+    }
+
+    /**
+     * Name of the unique index a duplicate key error hit, from {@code keyPattern} when the server reports it
+     * and otherwise from the error message.
+     */
+    static String duplicateIndex(BulkWriteError error) {
+        BsonDocument keyPattern = error.getDetails().getDocument("keyPattern", null);
+        if (keyPattern != null) {
+            return keyPattern.keySet().equals(Set.of("_id")) ? "_id_" : keyPattern.toJson();
+        }
+        Matcher index = DUPLICATE_INDEX.matcher(error.getMessage());
+        return index.find() ? index.group(1) : "unknown";
+    }
+
+    public Mono<Long> deleteAll(String collection) {
+        return timers(collection).time("deleteAll", Mono.from(collection(collection).deleteMany(new Document()))
+                .map(result -> result.getDeletedCount()));
+    }
+
+    private MongoCollection<RawBsonDocument> collection(String name) {
+        return database.getCollection(name, RawBsonDocument.class);
+    }
+
+    private RepositoryMetrics.Timers timers(String collection) {
+        RepositoryMetrics.Timers collectionTimers = timers.get(collection);
+        if (collectionTimers == null) {
+            throw new IllegalArgumentException("Collection cannot be dumped: " + collection);
+        }
+        return collectionTimers;
+    }
+
+    public record Inserted(long documents, long duplicates) {
+
+        public static final Inserted NONE = new Inserted(0, 0);
+
+        public Inserted plus(Inserted other) {
+            return new Inserted(documents + other.documents, duplicates + other.duplicates);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micronaut.core.annotation.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-limited read-through cache keyed by {@code _id}. Caffeine evicts with W-TinyLFU,
+ * which keeps the small hot set of card/owner detail lookups resident.
+ * <p>
+ * Every invalidation bumps a generation counter; a load that started before an invalidation
+ * does not populate the cache, so a slow read can never resurrect a document that was just written.
+ */
+public class EntityCache<T> {
+
+    private final String name;
+    private final boolean enabled;
+    private final Cache<String, T> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public EntityCache(String name, boolean enabled, long maximumSize, Duration expireAfterWrite) {
+        this.name = name;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public Mono<T> getOrLoad(String id, Function<String, Mono<T>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return Mono.defer(() -> {
+            T cached = cache.getIfPresent(id);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long loadGeneration = generation.get();
+            return loader.apply(id).doOnNext(value -> {
+                if (generation.get() == loadGeneration) {
+                    cache.put(id, value);
+                }
+            });
+        });
+    }
+
+    /**
+     * Returns every cached value among {@code ids} and loads the rest with a single call to
+     * {@code loader}. Emission order is unspecified; missing ids are simply absent.
+     */
+    public Flux<T> getAllOrLoad(Collection<String> ids,
+                                Function<T, String> idOf,
+                                Function<List<String>, Flux<T>> loader) {
+        if (!enabled) {
+            return loader.apply(new ArrayList<>(ids));
+        }
+        return Flux.defer(() -> {
+            Map<String, T> cached = cache.getAllPresent(ids);
+            List<String> misses = new ArrayList<>(ids.size() - cached.size());
+            for (String id : ids) {
+                if (!cached.containsKey(id)) {
+                    misses.add(id);
+                }
+            }
+            if (misses.isEmpty()) {
+                return Flux.fromIterable(cached.values());
+            }
+            long loadGeneration = generation.get();
+            Flux<T> loaded = loader.apply(misses).doOnNext(value -> {
+                if (generation.get() == loadGeneration) {
+                    cache.put(idOf.apply(value), value);
+                }
+            });
+            return Flux.concat(Flux.fromIterable(cached.values()), loaded);
+        });
+    }
+
+    /**
+     * Returns the cached value without loading it or counting a miss against the hit rate.
+     */
+    @Nullable
+    public T peek(String id) {
+        return enabled ? cache.policy().getIfPresentQuietly(id) : null;
+    }
+
+    public void put(String id, T value) {
+        if (enabled) {
+            generation.incrementAndGet();
+            cache.put(id, value);
+        }
+    }
+
+    public void invalidate(String id) {
+        generation.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("evictions", stats.evictionCount());
+        result.put("hitRate", stats.hitRate());
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.repository;
+
+import com.example.config.EntityCacheConfiguration;
+import com.example.model.CardOwner;
+import com.example.model.PokemonCard;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.util.Map;
+
+@Singleton
+public class EntityCaches {
+
+    private final EntityCache<PokemonCard> cards;
+    private final EntityCache<CardOwner> owners;
+
+    @Inject
+    public EntityCaches(EntityCacheConfiguration configuration) {
+        this.cards = create("pokemon_cards", configuration);
+        this.owners = create("card_owners", configuration);
+    }
+
+    private static <T> EntityCache<T> create(String name, EntityCacheConfiguration configuration) {
+        return new EntityCache<>(
+                name,
+                configuration.isEnabled(),
+                configuration.getMaximumSize(),
+                configuration.getExpireAfterWrite()
+        );
+    }
+
+    public EntityCache<PokemonCard> cards() {
+        return cards;
+    }
+
+    public EntityCache<CardOwner> owners() {
+        return owners;
+    }
+
+    /**
+     * The cache holding documents of {@code collection}, or {@code null} if that collection is not cached.
+     */
+    @Nullable
+    public EntityCache<?> forCollection(String collection) {
+        if (cards.getName().equals(collection)) {
+            return cards;
+        }
+        if (owners.getName().equals(collection)) {
+            return owners;
+        }
+        return null;
+    }
+
+    public void invalidateAll() {
+        cards.invalidateAll();
+        owners.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of(
+                cards.getName(), cards.stats(),
+                owners.getName(), owners.stats()
+        );
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.repository;
+
+import com.mongodb.client.model.Projections;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanProperty;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A client-selected subset of top-level fields, validated against the model's bean introspection.
+ * The paging keys ({@code _id} and {@code createdAt}) are always fetched so cursors keep working.
+ * {@link #select(Object)} turns a partial document into the map a response should carry, so the models keep
+ * their default handling of null properties everywhere else.
+ */
+public final class FieldProjection {
+
+    public static final FieldProjection ALL = new FieldProjection(Collections.emptySet(), Collections.emptySet());
+
+    private static final String ID_PROPERTY = "id";
+    private static final Set<String> PAGING_KEYS = Set.of(ID_PROPERTY, "createdAt");
+
+    private final Set<String> properties;
+    private final Set<String> returned;
+    private final Bson projection;
+
+    private FieldProjection(Set<String> properties, Set<String> returned) {
+        this.properties = properties;
+        this.returned = returned;
+        this.projection = properties.isEmpty() ? null : toProjection(properties);
+    }
+
+    /**
+     * Parses a comma separated field list such as {@code _id,name,set,marketPrice}.
+     *
+     * @throws IllegalArgumentException if a field is not a property of {@code type}
+     */
+    public static FieldProjection parse(@Nullable String fields, Class<?> type) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        BeanIntrospection<?> introspection = BeanIntrospection.getIntrospection(type);
+        Set<String> selected = new LinkedHashSet<>();
+        for (String raw : fields.split(",")) {
+            String field = raw.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            String property = "_id".equals(field) ? ID_PROPERTY : field;
+            if (introspection.getProperty(property).isEmpty()) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+            selected.add(property);
+        }
+        if (selected.isEmpty()) {
+            return ALL;
+        }
+        Set<String> returned = new LinkedHashSet<>(List.of(ID_PROPERTY, "createdAt"));
+        returned.addAll(selected);
+        return new FieldProjection(selected, returned);
+    }
+
+    /**
+     * Returns a projection that additionally keeps {@code property}, for queries whose cursor is
+     * built from a field other than the default paging keys.
+     */
+    public FieldProjection keeping(String property) {
+        if (isAll() || properties.contains(property)) {
+            return this;
+        }
+        Set<String> extended = new LinkedHashSet<>(properties);
+        extended.add(property);
+        return new FieldProjection(extended, returned);
+    }
+
+    public boolean isAll() {
+        return projection == null;
+    }
+
+    @Nullable
+    public Bson toBson() {
+        return projection;
+    }
+
+    /**
+     * Clears properties that were not selected. Needed because the models initialise their
+     * timestamps in the constructor, which would otherwise leak into partial documents.
+     */
+    public <T> T apply(T document) {
+        if (isAll() || document == null) {
+            return document;
+        }
+        @SuppressWarnings("unchecked")
+        BeanIntrospection<T> introspection = (BeanIntrospection<T>) BeanIntrospection.getIntrospection(document.getClass());
+        for (BeanProperty<T, Object> property : introspection.getBeanProperties()) {
+            String name = property.getName();
+            if (!properties.contains(name) && !PAGING_KEYS.contains(name) && !property.isReadOnly()) {
+                property.set(document, null);
+            }
+        }
+        return document;
+    }
+
+    /**
+     * The document itself when every field was requested, otherwise a map holding only the requested
+     * properties and the paging keys under their JSON names, nulls included. Properties fetched only for
+     * the cursor (see {@link #keeping(String)}) are left out.
+     */
+    public Object select(Object document) {
+        if (isAll()) {
+            return document;
+        }
+        @SuppressWarnings("unchecked")
+        BeanIntrospection<Object> introspection =
+                (BeanIntrospection<Object>) BeanIntrospection.getIntrospection(document.getClass());
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (String property : returned) {
+            introspection.getProperty(property).ifPresent(bean ->
+                    selected.put(ID_PROPERTY.equals(property) ? "_id" : property, bean.get(document)));
+        }
+        return selected;
+    }
+
+    private static Bson toProjection(Set<String> properties) {
+        List<String> fields = new ArrayList<>();
+        fields.add("createdAt");
+        for (String property : properties) {
+            if (!ID_PROPERTY.equals(property) && !"createdAt".equals(property)) {
+                fields.add(property);
+            }
+        }
+        return Projections.include(fields);
+    }
+}
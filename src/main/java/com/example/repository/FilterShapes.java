@@ -0,0 +1,61 @@
+package com.example.repository;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders a filter with its values removed, e.g. {@code {type: ?, $or: [{createdAt: {$lt: ?}}, ...]}},
+ * so every execution of the same query maps to the same shape.
+ */
+final class FilterShapes {
+
+    private static final String PLACEHOLDER = "?";
+    private static final Set<String> LOGICAL_OPERATORS = Set.of("$and", "$or", "$nor");
+
+    private FilterShapes() {}
+
+    static String shapeOf(BsonValue filter) {
+        StringBuilder shape = new StringBuilder();
+        append(shape, null, filter);
+        return shape.toString();
+    }
+
+    private static void append(StringBuilder shape, String key, BsonValue value) {
+        if (value.isDocument()) {
+            appendDocument(shape, value.asDocument());
+        } else if (value.isArray() && key != null && LOGICAL_OPERATORS.contains(key)) {
+            appendArray(shape, value.asArray());
+        } else {
+            shape.append(PLACEHOLDER);
+        }
+    }
+
+    private static void appendDocument(StringBuilder shape, BsonDocument document) {
+        shape.append('{');
+        boolean first = true;
+        for (Map.Entry<String, BsonValue> entry : document.entrySet()) {
+            if (!first) {
+                shape.append(", ");
+            }
+            first = false;
+            shape.append(entry.getKey()).append(": ");
+            append(shape, entry.getKey(), entry.getValue());
+        }
+        shape.append('}');
+    }
+
+    private static void appendArray(StringBuilder shape, BsonArray array) {
+        shape.append('[');
+        for (int i = 0; i < array.size(); i++) {
+            if (i > 0) {
+                shape.append(", ");
+            }
+            append(shape, null, array.get(i));
+        }
+        shape.append(']');
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.repository;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.bson.Document;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+import static com.mongodb.client.model.Filters.*;
+import static com.mongodb.client.model.Updates.*;
+
+/**
+ * Named leases in the {@code leases} collection, one document per lease, for jobs that must run on one
+ * instance at a time. Taking a lease is one conditional upsert, as for the changelog lock: it succeeds when
+ * the lease is free or expired, and fails with a duplicate key error while someone else holds it. The expiry
+ * is pushed forward while the work runs, so only a crashed holder's lease runs out.
+ */
+@Singleton
+public class LeaseRepository {
+
+    private static final String COLLECTION = "leases";
+    private static final int DUPLICATE_KEY = 11000;
+    private static final Duration MIN_HEARTBEAT = Duration.ofMillis(100);
+
+    private final MongoCollection<Document> collection;
+    private final String instance = ManagementFactory.getRuntimeMXBean().getName();
+
+    @Inject
+    public LeaseRepository(MongoClient mongoClient) {
+        this.collection = mongoClient.getDatabase("pokemon_db").getCollection(COLLECTION);
+    }
+
+    /**
+     * Runs {@code work} while holding the named lease and releases it afterwards. Empty without running the
+     * work if the lease is held elsewhere. Fails the work if the lease is lost, since another holder may then
+     * be running it too.
+     */
+    public <T> Mono<T> runExclusively(String name, Duration ttl, Mono<T> work) {
+        String holder = instance + "/" + UUID.randomUUID();
+        return acquire(name, holder, ttl)
+                .filter(Boolean::booleanValue)
+                .flatMap(acquired -> Mono.usingWhen(
+                        Mono.just(holder),
+                        held -> Mono.firstWithSignal(work, renewWhileRunning(name, holder, ttl)),
+                        held -> release(name, holder)));
+    }
+
+    private Mono<Boolean> acquire(String name, String holder, Duration ttl) {
+        return Mono.defer(() -> {
+            Date now = new Date();
+            return Mono.from(collection.findOneAndUpdate(
+                            and(eq("_id", name), lt("expiresAt", now)),
+                            combine(set("holder", holder), set("expiresAt", expiry(now, ttl))),
+                            new FindOneAndUpdateOptions().upsert(true)))
+                    .thenReturn(true)
+                    .onErrorResume(e -> e instanceof MongoException mongo && mongo.getCode() == DUPLICATE_KEY,
+                            e -> Mono.just(false));
+        });
+    }
+
+    private <T> Mono<T> renewWhileRunning(String name, String holder, Duration ttl) {
+        Duration interval = ttl.dividedBy(3);
+        Duration heartbeat = interval.compareTo(MIN_HEARTBEAT) < 0 ? MIN_HEARTBEAT : interval;
+        return Flux.interval(heartbeat, heartbeat)
+                .concatMap(tick -> Mono.from(collection.updateOne(
+                        and(eq("_id", name), eq("holder", holder)),
+                        set("expiresAt", expiry(new Date(), ttl)))))
+                .concatMap(result -> result.getMatchedCount() == 1
+                        ? Mono.<T>empty()
+                        : Mono.<T>error(new IllegalStateException("Lease " + name + " was taken over")))
+                .then(Mono.empty());
+    }
+
+    private Mono<Void> release(String name, String holder) {
+        return Mono.from(collection.deleteOne(and(eq("_id", name), eq("holder", holder)))).then();
+    }
+
+    private static Date expiry(Date now, Duration ttl) {
+        return new Date(now.getTime() + ttl.toMillis());
+    }
+}
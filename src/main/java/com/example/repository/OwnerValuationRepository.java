@@ -0,0 +1,155 @@
+package com.example.repository;
+
+import com.example.model.OwnerValuation;
+import com.example.model.Portfolio;
+import com.mongodb.MongoException;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.mongodb.client.model.Filters.*;
+
+/**
+ * Materialized owner valuations, one document per owner keyed by the owner's id:
+ * <pre>
+ * { _id, valuedCards, totalValue: Decimal128, byType: { &lt;type&gt;: { cards, value } }, updatedAt, version }
+ * </pre>
+ * Type names become field names, so {@code .} and {@code $} are swapped for their full-width forms on write
+ * and restored on read. Types whose count has dropped to zero are left in place by {@code $inc} and skipped
+ * when the document is read.
+ */
+@Singleton
+public class OwnerValuationRepository {
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final String COLLECTION = "owner_valuations";
+
+    private final MongoCollection<Document> collection;
+    private final RepositoryMetrics.Timers timers;
+
+    @Inject
+    public OwnerValuationRepository(MongoClient mongoClient, RepositoryMetrics repositoryMetrics) {
+        this.collection = mongoClient.getDatabase("pokemon_db").getCollection(COLLECTION);
+        this.timers = repositoryMetrics.forRepository(COLLECTION);
+    }
+
+    public Mono<OwnerValuation> findById(String ownerId) {
+        return timers.time("findById", Mono.from(collection.find(eq("_id", ownerId)).first())
+                .map(OwnerValuationRepository::toValuation));
+    }
+
+    /**
+     * Overwrites a valuation only if it is still at {@code expectedVersion}, so a valuation recomputed from
+     * the portfolio never erases a delta applied after the stored one was read. A null version expects no
+     * stored valuation yet. On success the valuation carries its new version; false if the stored valuation
+     * changed in the meantime and nothing was written.
+     */
+    public Mono<Boolean> replace(OwnerValuation valuation, @Nullable Long expectedVersion) {
+        if (expectedVersion == null) {
+            valuation.setVersion(0);
+            return timers.time("replace", Mono.from(collection.insertOne(toDocument(valuation)))
+                    .thenReturn(true)
+                    .onErrorResume(e -> e instanceof MongoException mongo && mongo.getCode() == DUPLICATE_KEY,
+                            e -> Mono.just(false)));
+        }
+        valuation.setVersion(expectedVersion + 1);
+        return timers.time("replace", Mono.from(collection.replaceOne(
+                        and(eq("_id", valuation.getOwnerId()), atVersion(expectedVersion)), toDocument(valuation)))
+                .map(result -> result.getMatchedCount() > 0));
+    }
+
+    private static Bson atVersion(long version) {
+        // Valuations stored before versioning have no field, which counts as version 0
+        return version == 0 ? or(eq("version", 0), exists("version", false)) : eq("version", version);
+    }
+
+    /**
+     * Applies a delta to one owner's valuation. False if the owner has no stored valuation yet, in which
+     * case nothing was written and the caller should build one from scratch.
+     */
+    public Mono<Boolean> apply(String ownerId, ValuationDelta delta) {
+        return timers.time("apply", Mono.from(collection.updateOne(eq("_id", ownerId), delta.toUpdate()))
+                .map(result -> result.getMatchedCount() > 0));
+    }
+
+    /**
+     * Applies the same delta to a batch of owners with one {@code updateMany}. Owners without a stored
+     * valuation are skipped and get theirs built on first read. Returns the number of valuations updated.
+     */
+    public Mono<Long> applyAll(Collection<String> ownerIds, ValuationDelta delta) {
+        return timers.time("applyAll", Mono.from(collection.updateMany(in("_id", ownerIds), delta.toUpdate()))
+                .map(result -> result.getModifiedCount()));
+    }
+
+    public Mono<Void> deleteById(String ownerId) {
+        return timers.time("deleteById", Mono.from(collection.deleteOne(eq("_id", ownerId))).then());
+    }
+
+    /**
+     * Drops stored valuations so they are rebuilt on next read, for writes that bypass incremental updates.
+     */
+    public Mono<Void> deleteAllById(Collection<String> ownerIds) {
+        return timers.time("deleteAllById", Mono.from(collection.deleteMany(in("_id", ownerIds))).then());
+    }
+
+    public Mono<Void> deleteAll() {
+        return timers.time("deleteAll", Mono.from(collection.deleteMany(new Document())).then());
+    }
+
+    static String encodeKey(String type) {
+        return type.replace('.', '\uFF0E').replace('$', '\uFF04');
+    }
+
+    static String decodeKey(String field) {
+        return field.replace('\uFF0E', '.').replace('\uFF04', '$');
+    }
+
+    private static Document toDocument(OwnerValuation valuation) {
+        Document byType = new Document();
+        valuation.getByType().forEach((type, bucket) -> byType.append(encodeKey(type),
+                new Document("cards", bucket.getCards()).append("value", new Decimal128(bucket.getValue()))));
+        return new Document("_id", valuation.getOwnerId())
+                .append("valuedCards", valuation.getValuedCards())
+                .append("totalValue", new Decimal128(valuation.getTotalValue()))
+                .append("byType", byType)
+                .append("updatedAt", valuation.getUpdatedAt())
+                .append("version", valuation.getVersion());
+    }
+
+    private static OwnerValuation toValuation(Document document) {
+        Map<String, Portfolio.Bucket> byType = new LinkedHashMap<>();
+        document.get("byType", new Document()).forEach((field, value) -> {
+            Document bucket = (Document) value;
+            int cards = bucket.get("cards", Number.class).intValue();
+            if (cards != 0) {
+                byType.put(decodeKey(field), new Portfolio.Bucket(cards, decimal(bucket.get("value"))));
+            }
+        });
+        OwnerValuation valuation = new OwnerValuation(
+                document.getString("_id"),
+                document.get("valuedCards", Number.class).intValue(),
+                decimal(document.get("totalValue")),
+                byType,
+                LocalDateTime.ofInstant(document.getDate("updatedAt").toInstant(), ZoneOffset.UTC));
+        Number version = document.get("version", Number.class);
+        valuation.setVersion(version == null ? 0 : version.longValue());
+        return valuation;
+    }
+
+    private static BigDecimal decimal(Object value) {
+        return value instanceof Decimal128 decimal ? decimal.bigDecimalValue() : BigDecimal.ZERO;
+    }
+}
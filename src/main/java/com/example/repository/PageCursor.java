@@ -0,0 +1,105 @@
+package com.example.repository;
+
+import io.micronaut.core.annotation.Nullable;
+import org.bson.conversions.Bson;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static com.mongodb.client.model.Filters.*;
+
+/**
+ * Opaque keyset position: the sort value of the last returned document plus its {@code _id}
+ * as a tie-breaker. Clients only ever see the encoded token.
+ */
+public final class PageCursor {
+
+    private static final char SEPARATOR = '\n';
+
+    private final String sortValue;
+    private final String id;
+
+    private PageCursor(String sortValue, String id) {
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+
+    public static PageCursor of(Object sortValue, String id) {
+        if (sortValue == null || id == null) {
+            throw new IllegalArgumentException("Cursor requires a sort value and an id");
+        }
+        return new PageCursor(sortValue.toString(), id);
+    }
+
+    @Nullable
+    public static PageCursor decode(@Nullable String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+        int split = raw.indexOf(SEPARATOR);
+        if (split <= 0 || split == raw.length() - 1) {
+            throw new IllegalArgumentException("Malformed cursor: " + token);
+        }
+        return new PageCursor(raw.substring(0, split), raw.substring(split + 1));
+    }
+
+    public String encode() {
+        String raw = sortValue + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getSortValue() {
+        return sortValue;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public LocalDateTime createdAt() {
+        try {
+            return LocalDateTime.parse(sortValue);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor does not hold a timestamp: " + sortValue, e);
+        }
+    }
+
+    public BigDecimal decimal() {
+        try {
+            return new BigDecimal(sortValue);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor does not hold a number: " + sortValue, e);
+        }
+    }
+
+    /**
+     * Filter selecting documents strictly after this cursor for an ascending
+     * {@code (field, _id)} sort.
+     */
+    public Bson ascendingAfter(String field, Object value) {
+        return or(
+                gt(field, value),
+                and(eq(field, value), gt("_id", id))
+        );
+    }
+
+    /**
+     * Filter selecting documents strictly after this cursor for a descending
+     * {@code (field, _id)} sort.
+     */
+    public Bson descendingAfter(String field, Object value) {
+        return or(
+                lt(field, value),
+                and(eq(field, value), lt("_id", id))
+        );
+    }
+}
@@ -1,69 +1,459 @@
 package com.example.repository;
 
+import com.example.config.StreamingConfiguration;
+import com.example.model.BulkResult;
+import com.example.model.CardFacets;
 import com.example.model.PokemonCard;
+import com.example.util.TextNormalizer;
+import com.mongodb.MongoException;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Facet;
+import com.mongodb.client.model.Field;
+import com.mongodb.client.model.FindOneAndReplaceOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Sorts;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import com.mongodb.reactivestreams.client.MongoDatabase;
-import io.micronaut.context.annotation.Bean;
+import io.micronaut.core.annotation.Nullable;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import org.bson.BsonDocument;
 import org.bson.Document;
-import org.reactivestreams.Publisher;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
 import static com.mongodb.client.model.Filters.*;
 
 @Singleton
 public class PokemonCardRepository {
     
+    private static final Logger LOG = LoggerFactory.getLogger(PokemonCardRepository.class);
+    
+    private static final Bson NEWEST_FIRST = Sorts.descending("createdAt", "_id");
+    private static final Bson BY_NORMALIZED_NAME = Sorts.ascending("normalizedName", "_id");
+    private static final Bson CHEAPEST_FIRST = Sorts.ascending("marketPrice", "_id");
+    private static final Bson PRICIEST_FIRST = Sorts.descending("marketPrice", "_id");
+    private static final Bson BY_TEXT_SCORE = Sorts.orderBy(Sorts.metaTextScore("score"), Sorts.ascending("_id"));
+    private static final String PREFIX_END = "\uffff";
+    private static final String TEXT_SCORE = "textScore";
+    private static final String SCORE_CURSOR_MARKER = "\u0000";
+    private static final Bson BY_TEXT_SCORE_FIELD = Sorts.orderBy(Sorts.descending(TEXT_SCORE), Sorts.ascending("_id"));
+    private static final Pattern TEXT_OPERATORS = Pattern.compile("[^\\p{L}\\p{N}\\s]+");
+    private static final int INDEX_NOT_FOUND = 27;
+    private static final Bson UPDATED_AT_ONLY = Projections.include("updatedAt");
+    private static final Bson VALUED_FIELDS = Projections.include("marketPrice", "type");
+    private static final FindOneAndReplaceOptions RETURN_REPLACED =
+            new FindOneAndReplaceOptions().returnDocument(ReturnDocument.BEFORE);
+    static final String COLLECTION = "pokemon_cards";
+    
     private final MongoCollection<PokemonCard> collection;
+    private final Codec<PokemonCard> cardCodec;
+    private final MongoCollection<Document> documents;
+    private final StreamingConfiguration streamingConfiguration;
+    private final RepositoryMetrics.Timers timers;
+    private final EntityCache<PokemonCard> cache;
     
     @Inject
-    public PokemonCardRepository(MongoClient mongoClient) {
+    public PokemonCardRepository(MongoClient mongoClient,
+                                 StreamingConfiguration streamingConfiguration,
+                                 EntityCaches entityCaches,
+                                 RepositoryMetrics repositoryMetrics) {
+        this.streamingConfiguration = streamingConfiguration;
+        this.cache = entityCaches.cards();
+        this.timers = repositoryMetrics.forRepository(COLLECTION);
         MongoDatabase database = mongoClient.getDatabase("pokemon_db");
-        this.collection = database.getCollection("pokemon_cards", PokemonCard.class);
+        this.collection = database.getCollection(COLLECTION, PokemonCard.class);
+        this.cardCodec = collection.getCodecRegistry().get(PokemonCard.class);
+        this.documents = database.getCollection(COLLECTION);
     }
     
     public Mono<PokemonCard> save(PokemonCard card) {
         if (card.getId() == null) {
-            return Mono.from(collection.insertOne(card))
-                    .then(Mono.just(card));
+            return timers.time("save", Mono.from(collection.insertOne(card))
+                    .then(Mono.just(card)));
         } else {
-            return Mono.from(collection.replaceOne(eq("_id", card.getId()), card))
-                    .then(Mono.just(card));
+            String id = card.getId();
+            return timers.time("save", Mono.from(collection.replaceOne(eq("_id", id), card))
+                    .doFinally(signal -> cache.invalidate(id))
+                    .then(Mono.just(card)));
         }
     }
     
+    /**
+     * Replaces an existing card and returns the document it replaced. The previous version is read by the
+     * write itself, so it is exactly what this write superseded even when the cache is stale or another
+     * update runs concurrently. Empty if the card does not exist.
+     */
+    public Mono<PokemonCard> replace(PokemonCard card) {
+        String id = card.getId();
+        return timers.time("replace", Mono.from(collection.findOneAndReplace(eq("_id", id), card, RETURN_REPLACED))
+                .doFinally(signal -> cache.invalidate(id)));
+    }
+    
+    public Mono<Integer> insertAll(List<PokemonCard> cards) {
+        return timers.time("insertAll", BulkWrites.insert(collection, cards));
+    }
+    
+    public Flux<BulkResult.Item> bulkUpsert(List<PokemonCard> cards, List<Long> indexes) {
+        Flux<BulkResult.Item> written = BulkWrites.upsert(collection, cards, indexes, PokemonCard::getId, PokemonCard::setId);
+        return timers.time("bulkUpsert", written
+                .doFinally(signal -> cards.stream()
+                        .map(PokemonCard::getId)
+                        .filter(Objects::nonNull)
+                        .forEach(cache::invalidate)));
+    }
+    
     public Mono<PokemonCard> findById(String id) {
-        return Mono.from(collection.find(eq("_id", id)).first());
+        return timers.time("findById",
+                cache.getOrLoad(id, key -> Mono.from(collection.find(eq("_id", key)).first())));
+    }
+    
+    /**
+     * Reads a card from the database, bypassing the entity cache, for writes that derive values from it.
+     */
+    public Mono<PokemonCard> findCurrentById(String id) {
+        return timers.time("findCurrentById", Mono.from(collection.find(eq("_id", id)).first()));
+    }
+    
+    /**
+     * Reads the price and type of several cards from the database, bypassing the entity cache, so a bulk
+     * write can tell which owner valuations it moves.
+     */
+    public Flux<PokemonCard> findValuedFieldsById(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return timers.time("findValuedFieldsById",
+                Flux.from(collection.find(in("_id", ids)).projection(VALUED_FIELDS)));
+    }
+    
+    /**
+     * Last modification time of a document, taken from the entity cache when present and otherwise read
+     * with an {@code updatedAt}-only projection, so conditional GETs skip decoding the full document.
+     * Empty if the document does not exist or has never recorded {@code updatedAt}.
+     */
+    public Mono<LocalDateTime> findUpdatedAt(String id) {
+        return timers.time("findUpdatedAt", Mono.defer(() -> {
+            PokemonCard cached = cache.peek(id);
+            if (cached != null) {
+                return Mono.justOrEmpty(cached.getUpdatedAt());
+            }
+            return Mono.from(documents.find(eq("_id", id)).projection(UPDATED_AT_ONLY).first())
+                    .mapNotNull(document -> document.getDate("updatedAt"))
+                    .map(date -> LocalDateTime.ofInstant(date.toInstant(), ZoneOffset.UTC));
+        }));
+    }
+    
+    /**
+     * Looks up several documents with one {@code $in} query, serving cached ones without a round trip.
+     */
+    public Flux<PokemonCard> findAllById(Collection<String> ids) {
+        return timers.time("findAllById",
+                cache.getAllOrLoad(ids, PokemonCard::getId, misses -> Flux.from(collection.find(in("_id", misses)))));
+    }
+    
+    public Flux<PokemonCard> findAll(@Nullable PageCursor after, int limit, FieldProjection projection) {
+        return timers.time("findAll", findPage(empty(), after, limit, projection));
+    }
+    
+    public Flux<PokemonCard> findByType(String type,
+                                        @Nullable PageCursor after,
+                                        int limit,
+                                        FieldProjection projection) {
+        return timers.time("findByType", findPage(typeFilter(type), after, limit, projection));
+    }
+    
+    public Flux<PokemonCard> findByRarity(String rarity,
+                                          @Nullable PageCursor after,
+                                          int limit,
+                                          FieldProjection projection) {
+        return timers.time("findByRarity", findPage(rarityFilter(rarity), after, limit, projection));
+    }
+    
+    public Flux<PokemonCard> findBySet(String set,
+                                       @Nullable PageCursor after,
+                                       int limit,
+                                       FieldProjection projection) {
+        return timers.time("findBySet", findPage(setFilter(set), after, limit, projection));
+    }
+    
+    /**
+     * Cards priced within {@code [min, max]} (either bound optional), ordered by price with {@code _id} as
+     * tie-breaker. Bounds are compared as Decimal128, so both the range and the sort are served by the
+     * {@code (marketPrice, _id)} index; cards without a price are never returned.
+     */
+    public Flux<PokemonCard> findByPriceRange(@Nullable BigDecimal min,
+                                              @Nullable BigDecimal max,
+                                              boolean ascending,
+                                              @Nullable PageCursor after,
+                                              int limit,
+                                              FieldProjection projection) {
+        FieldProjection fields = projection.keeping("marketPrice");
+        Bson range = priceFilter(min, max);
+        Bson query = range;
+        if (after != null) {
+            Decimal128 price = new Decimal128(after.decimal());
+            query = and(range, ascending
+                    ? after.ascendingAfter("marketPrice", price)
+                    : after.descendingAfter("marketPrice", price));
+        }
+        return timers.time("findByPriceRange", Flux.from(collection.find(query)
+                        .projection(fields.toBson())
+                        .sort(ascending ? CHEAPEST_FIRST : PRICIEST_FIRST)
+                        .limit(limit)
+                        .batchSize(streamingConfiguration.batchSizeFor(limit)))
+                .map(fields::apply));
+    }
+    
+    /**
+     * Ranked name search. Names starting with the query come first, in name order, and are served by a
+     * range scan on the {@code normalizedName} index; once they run out, pages continue with whole-word
+     * matches from the text index, ranked by score with {@code _id} as tie-breaker. The query is never
+     * interpreted as a regular expression, and unlike a regex it does not match text inside a word
+     * ("chu" does not find "Pikachu").
+     * <p>
+     * The cursor is built by {@link #nameSearchCursor(PokemonCard)}: the last card's {@code (normalizedName, _id)}
+     * while prefix matches are paged, and its {@code (textScore, _id)} once word matches are.
+     */
+    public Flux<PokemonCard> findByName(String name,
+                                        @Nullable PageCursor after,
+                                        int limit,
+                                        FieldProjection projection) {
+        return timers.time("findByName", searchByName(name, after, limit, projection));
     }
     
-    public Flux<PokemonCard> findAll() {
-        return Flux.from(collection.find());
+    private Flux<PokemonCard> searchByName(String name,
+                                           @Nullable PageCursor after,
+                                           int limit,
+                                           FieldProjection projection) {
+        String prefix = TextNormalizer.normalize(name);
+        FieldProjection fields = projection.keeping("normalizedName");
+        if (after != null && after.getSortValue().startsWith(SCORE_CURSOR_MARKER)) {
+            // The cursor came from a word match, so every prefix match has already been returned
+            double score = scoreOf(after);
+            return findByNameWords(name, prefix, after, score, limit, fields).map(fields::apply);
+        }
+        if (after != null && !after.getSortValue().startsWith(prefix)) {
+            throw new IllegalArgumentException("Cursor does not belong to this search: " + after.getSortValue());
+        }
+        Flux<PokemonCard> prefixMatches = findByNamePrefix(prefix, after, limit, fields);
+        return Flux.defer(() -> {
+            AtomicInteger emitted = new AtomicInteger();
+            Flux<PokemonCard> wordMatches = Flux.defer(() -> emitted.get() < limit
+                    ? findByNameWords(name, prefix, null, 0, limit - emitted.get(), fields)
+                    : Flux.empty());
+            return Flux.concat(prefixMatches.doOnNext(card -> emitted.incrementAndGet()), wordMatches);
+        }).map(fields::apply);
+    }
+    
+    /**
+     * Cursor continuing a name search after {@code card}: word matches carry their text score, so the next
+     * page is found by comparing scores instead of by the card's position among all matches.
+     */
+    public static PageCursor nameSearchCursor(PokemonCard card) {
+        return card.textScore() == null
+                ? PageCursor.of(card.getNormalizedName(), card.getId())
+                : PageCursor.of(SCORE_CURSOR_MARKER + card.textScore(), card.getId());
+    }
+    
+    private static double scoreOf(PageCursor cursor) {
+        try {
+            return Double.parseDouble(cursor.getSortValue().substring(SCORE_CURSOR_MARKER.length()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor does not hold a text score: " + cursor.getSortValue(), e);
+        }
+    }
+    
+    /**
+     * The queries behind each finder, filled with values from {@code sample}, for query plan analysis.
+     */
+    public static List<QueryShape> queryShapes(Document sample, int limit) {
+        String name = sample.get("name", "Pikachu");
+        String prefix = TextNormalizer.normalize(name);
+        String type = sample.get("type", "Electric");
+        String rarity = sample.get("rarity", "Common");
+        String set = sample.get("set", "Base Set");
+        Object price = sample.get("marketPrice");
+        BigDecimal maxPrice = price instanceof Decimal128 decimal ? decimal.bigDecimalValue() : new BigDecimal("100");
+        String terms = TEXT_OPERATORS.matcher(name).replaceAll(" ").trim();
+        return List.of(
+                new QueryShape("findByType", COLLECTION, typeFilter(type), NEWEST_FIRST, limit),
+                new QueryShape("findByRarity", COLLECTION, rarityFilter(rarity), NEWEST_FIRST, limit),
+                new QueryShape("findBySet", COLLECTION, setFilter(set), NEWEST_FIRST, limit),
+                new QueryShape("findByPriceRange", COLLECTION, priceFilter(BigDecimal.ZERO, maxPrice), CHEAPEST_FIRST, limit),
+                new QueryShape("findByName", COLLECTION, namePrefixFilter(prefix), BY_NORMALIZED_NAME, limit),
+                new QueryShape("findByName (words)", COLLECTION, nameWordsFilter(terms, prefix), BY_TEXT_SCORE, limit)
+        );
+    }
+    
+    static Bson typeFilter(String type) {
+        return eq("type", type);
+    }
+    
+    static Bson rarityFilter(String rarity) {
+        return eq("rarity", rarity);
     }
     
-    public Flux<PokemonCard> findByType(String type) {
-        return Flux.from(collection.find(eq("type", type)));
+    static Bson setFilter(String set) {
+        return eq("set", set);
     }
     
-    public Flux<PokemonCard> findByRarity(String rarity) {
-        return Flux.from(collection.find(eq("rarity", rarity)));
+    static Bson priceFilter(@Nullable BigDecimal min, @Nullable BigDecimal max) {
+        Bson lower = gte("marketPrice", min == null ? Decimal128.NEGATIVE_INFINITY : new Decimal128(min));
+        return max == null ? lower : and(lower, lte("marketPrice", new Decimal128(max)));
     }
     
-    public Flux<PokemonCard> findBySet(String set) {
-        return Flux.from(collection.find(eq("set", set)));
+    static Bson namePrefixFilter(String prefix) {
+        return and(gte("normalizedName", prefix), lt("normalizedName", prefix + PREFIX_END));
     }
     
-    public Flux<PokemonCard> findByName(String name) {
-        return Flux.from(collection.find(regex("name", ".*" + name + ".*", "i")));
+    private static Bson nameWordsFilter(String terms, String prefix) {
+        Bson outsidePrefix = or(lt("normalizedName", prefix), gte("normalizedName", prefix + PREFIX_END));
+        return and(text(terms), outsidePrefix);
     }
     
-    public Mono<Void> deleteById(String id) {
-        return Mono.from(collection.deleteOne(eq("_id", id))).then();
+    private Flux<PokemonCard> findByNamePrefix(String prefix,
+                                               @Nullable PageCursor after,
+                                               int limit,
+                                               FieldProjection fields) {
+        Bson range = namePrefixFilter(prefix);
+        Bson query = after == null ? range : and(range, after.ascendingAfter("normalizedName", after.getSortValue()));
+        return Flux.from(collection.find(query)
+                .projection(fields.toBson())
+                .sort(BY_NORMALIZED_NAME)
+                .limit(limit)
+                .batchSize(streamingConfiguration.batchSizeFor(limit)));
+    }
+    
+    /**
+     * Whole-word matches outside the prefix range, after the word match {@code after} when given. The text
+     * score is added as a field so the page after {@code (score, _id)} is selected by a filter, the same way
+     * as for the other keyset cursors, and paging keeps going even if the cursor's card has stopped matching.
+     */
+    private Flux<PokemonCard> findByNameWords(String name,
+                                              String prefix,
+                                              @Nullable PageCursor after,
+                                              double afterScore,
+                                              int limit,
+                                              FieldProjection fields) {
+        String terms = TEXT_OPERATORS.matcher(name).replaceAll(" ").trim();
+        if (terms.isEmpty()) {
+            return Flux.empty();
+        }
+        List<Bson> pipeline = new ArrayList<>();
+        pipeline.add(Aggregates.match(nameWordsFilter(terms, prefix)));
+        pipeline.add(Aggregates.addFields(new Field<>(TEXT_SCORE, new Document("$meta", "textScore"))));
+        if (after != null) {
+            pipeline.add(Aggregates.match(or(
+                    lt(TEXT_SCORE, afterScore),
+                    and(eq(TEXT_SCORE, afterScore), gt("_id", after.getId())))));
+        }
+        pipeline.add(Aggregates.sort(BY_TEXT_SCORE_FIELD));
+        pipeline.add(Aggregates.limit(limit));
+        if (!fields.isAll()) {
+            pipeline.add(Aggregates.project(Projections.fields(fields.toBson(), Projections.include(TEXT_SCORE))));
+        }
+        return Flux.from(collection.aggregate(pipeline, BsonDocument.class)
+                        .batchSize(streamingConfiguration.batchSizeFor(limit)))
+                .map(this::toScoredCard)
+                .onErrorResume(MongoException.class, e -> {
+                    if (e.getCode() != INDEX_NOT_FOUND) {
+                        return Flux.error(e);
+                    }
+                    LOG.warn("Text index on pokemon_cards.name is missing; returning prefix matches only");
+                    return Flux.empty();
+                });
+    }
+    
+    private PokemonCard toScoredCard(BsonDocument document) {
+        PokemonCard card = cardCodec.decode(document.asBsonReader(), DecoderContext.builder().build());
+        return card.withTextScore(document.getNumber(TEXT_SCORE).doubleValue());
+    }
+    
+    /**
+     * Deletes a card and returns it as it was at the moment of deletion. Empty if it did not exist.
+     */
+    public Mono<PokemonCard> deleteById(String id) {
+        return timers.time("deleteById", Mono.from(collection.findOneAndDelete(eq("_id", id)))
+                .doFinally(signal -> cache.invalidate(id)));
     }
     
     public Mono<Long> count() {
-        return Mono.from(collection.estimatedDocumentCount());
+        return timers.time("count", Mono.from(collection.estimatedDocumentCount()));
+    }
+    
+    /**
+     * Counts per type, rarity and set plus the exact total, computed in one pass with {@code $facet}.
+     * Cards missing a field are left out of that field's counts.
+     */
+    public Mono<CardFacets> facetCounts() {
+        List<Bson> pipeline = List.of(Aggregates.facet(
+                new Facet("total", Aggregates.count("count")),
+                new Facet("types", Aggregates.sortByCount("$type")),
+                new Facet("rarities", Aggregates.sortByCount("$rarity")),
+                new Facet("sets", Aggregates.sortByCount("$set"))
+        ));
+        return timers.time("facetCounts", Mono.from(documents.aggregate(pipeline).first())
+                .map(result -> {
+                    List<Document> total = result.getList("total", Document.class);
+                    return new CardFacets(
+                            total.isEmpty() ? 0 : countOf(total.get(0)),
+                            countsOf(result.getList("types", Document.class)),
+                            countsOf(result.getList("rarities", Document.class)),
+                            countsOf(result.getList("sets", Document.class)),
+                            Instant.now());
+                }));
+    }
+    
+    private static Map<String, Long> countsOf(List<Document> buckets) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Document bucket : buckets) {
+            Object value = bucket.get("_id");
+            if (value != null) {
+                counts.put(value.toString(), countOf(bucket));
+            }
+        }
+        return counts;
+    }
+    
+    private static long countOf(Document bucket) {
+        return bucket.get("count", Number.class).longValue();
+    }
+    
+    /**
+     * The cursor is resolved when this is called rather than on subscription, so a cursor that does not
+     * hold a timestamp fails with {@link IllegalArgumentException} before any response is committed.
+     */
+    private Flux<PokemonCard> findPage(Bson filter, @Nullable PageCursor after, int limit, FieldProjection projection) {
+        Bson query = after == null
+                ? filter
+                : and(filter, after.descendingAfter("createdAt", after.createdAt()));
+        return Flux.from(collection.find(query)
+                        .projection(projection.toBson())
+                        .sort(NEWEST_FIRST)
+                        .limit(limit)
+                        .batchSize(streamingConfiguration.batchSizeFor(limit)))
+                .map(projection::apply);
     }
 }
@@ -0,0 +1,267 @@
+package com.example.repository;
+
+import com.example.config.ProfilerConfiguration;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micronaut.configuration.mongo.core.DefaultMongoConfiguration;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonValue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-process stand-in for the server profiler. Every data command the repositories' collections send is
+ * reduced to a normalized shape (command, collection, filter keys and operators with values removed, sort)
+ * and recorded with its duration and returned document count in a fixed-size ring buffer. {@code getMore}
+ * batches are attributed to the query that opened the cursor.
+ * <p>
+ * It hooks in as a driver {@link CommandListener} rather than by wrapping each collection, so it sees exactly
+ * what goes over the wire, including operations issued through {@link BulkWrites}.
+ */
+@Singleton
+public class QueryProfiler implements CommandListener, BeanCreatedEventListener<DefaultMongoConfiguration> {
+
+    private static final Set<String> PROFILED_COMMANDS = Set.of(
+            "find", "getMore", "aggregate", "count", "distinct",
+            "insert", "update", "delete", "findAndModify"
+    );
+    private static final Set<String> SYSTEM_DATABASES = Set.of("admin", "config", "local");
+    private static final BsonInt32 NO_DOCUMENTS = new BsonInt32(0);
+
+    private final ProfilerConfiguration configuration;
+    private final AtomicReferenceArray<Entry> entries;
+    private final AtomicLong recorded = new AtomicLong();
+    private final Map<Integer, Pending> inFlight = new ConcurrentHashMap<>();
+    private final Cache<Long, Shape> openCursors = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+
+    @Inject
+    public QueryProfiler(ProfilerConfiguration configuration) {
+        this.configuration = configuration;
+        this.entries = new AtomicReferenceArray<>(Math.max(1, configuration.getCapacity()));
+    }
+
+    @Override
+    public DefaultMongoConfiguration onCreated(BeanCreatedEvent<DefaultMongoConfiguration> event) {
+        DefaultMongoConfiguration mongoConfiguration = event.getBean();
+        if (configuration.isEnabled()) {
+            mongoConfiguration.getClientSettings().addCommandListener(this);
+        }
+        return mongoConfiguration;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!PROFILED_COMMANDS.contains(event.getCommandName())
+                || SYSTEM_DATABASES.contains(event.getDatabaseName())) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        if ("getMore".equals(event.getCommandName())) {
+            long cursorId = command.getInt64("getMore").getValue();
+            Shape shape = openCursors.getIfPresent(cursorId);
+            if (shape != null) {
+                inFlight.put(event.getRequestId(), new Pending(shape, cursorId));
+            }
+        } else {
+            inFlight.put(event.getRequestId(), new Pending(shapeOf(event.getCommandName(), command), 0));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Pending pending = inFlight.remove(event.getRequestId());
+        if (pending == null) {
+            return;
+        }
+        Shape shape = pending.shape();
+        BsonDocument response = event.getResponse();
+        long returned;
+        BsonDocument cursor = response.getDocument("cursor", null);
+        if (cursor != null) {
+            BsonArray batch = cursor.containsKey("firstBatch")
+                    ? cursor.getArray("firstBatch")
+                    : cursor.getArray("nextBatch", new BsonArray());
+            returned = batch.size();
+            long cursorId = cursor.getInt64("id").getValue();
+            if (cursorId != 0) {
+                openCursors.put(cursorId, shape);
+            } else if (pending.cursorId() != 0) {
+                openCursors.invalidate(pending.cursorId());
+            }
+        } else if (response.containsKey("value")) {
+            returned = response.get("value").isNull() ? 0 : 1;
+        } else {
+            returned = response.getNumber("n", NO_DOCUMENTS).longValue();
+        }
+        record(shape, event.getElapsedTime(TimeUnit.NANOSECONDS), returned);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        Pending pending = inFlight.remove(event.getRequestId());
+        if (pending != null) {
+            record(pending.shape(), event.getElapsedTime(TimeUnit.NANOSECONDS), 0);
+        }
+    }
+
+    void record(Shape shape, long elapsedNanos, long returned) {
+        long sequence = recorded.getAndIncrement();
+        entries.set((int) (sequence % entries.length()),
+                new Entry(shape, elapsedNanos, returned, System.currentTimeMillis()));
+    }
+
+    /**
+     * Shapes ranked by total time spent across the operations currently in the buffer.
+     */
+    public List<Map<String, Object>> topShapes(int limit) {
+        Map<Shape, long[]> totals = new HashMap<>();
+        for (Entry entry : snapshot()) {
+            long[] total = totals.computeIfAbsent(entry.shape, shape -> new long[4]);
+            total[0]++;
+            total[1] += entry.elapsedNanos;
+            total[2] = Math.max(total[2], entry.elapsedNanos);
+            total[3] += entry.returned;
+        }
+        return totals.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Shape, long[]> e) -> e.getValue()[1]).reversed())
+                .limit(limit)
+                .map(e -> {
+                    long[] total = e.getValue();
+                    Map<String, Object> summary = e.getKey().describe();
+                    summary.put("count", total[0]);
+                    summary.put("totalMillis", millis(total[1]));
+                    summary.put("avgMillis", millis(total[1] / total[0]));
+                    summary.put("maxMillis", millis(total[2]));
+                    summary.put("returned", total[3]);
+                    return summary;
+                })
+                .toList();
+    }
+
+    /**
+     * Operations at or above the slow threshold, most recent first.
+     */
+    public List<Map<String, Object>> slowQueries(int limit) {
+        long threshold = configuration.getSlowThreshold().toNanos();
+        return snapshot().stream()
+                .filter(entry -> entry.elapsedNanos >= threshold)
+                .sorted(Comparator.comparingLong((Entry entry) -> entry.timestamp).reversed())
+                .limit(limit)
+                .map(Entry::describe)
+                .toList();
+    }
+
+    public Map<String, Object> report(int limit) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", configuration.isEnabled());
+        report.put("slowThresholdMillis", configuration.getSlowThreshold().toMillis());
+        report.put("capacity", entries.length());
+        report.put("recorded", recorded.get());
+        report.put("topShapes", topShapes(limit));
+        report.put("slowQueries", slowQueries(limit));
+        return report;
+    }
+
+    private List<Entry> snapshot() {
+        int size = (int) Math.min(recorded.get(), entries.length());
+        List<Entry> snapshot = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Entry entry = entries.get(i);
+            if (entry != null) {
+                snapshot.add(entry);
+            }
+        }
+        return snapshot;
+    }
+
+    static Shape shapeOf(String commandName, BsonDocument command) {
+        String collection = command.get(commandName).isString() ? command.getString(commandName).getValue() : "";
+        String filter = switch (commandName) {
+            case "find", "count", "distinct" -> FilterShapes.shapeOf(command.getDocument(
+                    "find".equals(commandName) ? "filter" : "query", new BsonDocument()));
+            case "findAndModify" -> FilterShapes.shapeOf(command.getDocument("query", new BsonDocument()));
+            case "update", "delete" -> statementFilters(command.getArray(commandName + "s", new BsonArray()));
+            case "aggregate" -> pipelineShape(command.getArray("pipeline", new BsonArray()));
+            default -> "";
+        };
+        BsonDocument sort = command.getDocument("sort", null);
+        return new Shape(commandName, collection, filter, sort == null ? null : sort.toJson());
+    }
+
+    private static String statementFilters(BsonArray statements) {
+        // Every statement of a bulk update/delete usually has the same shape; report the distinct ones
+        return statements.stream()
+                .map(statement -> FilterShapes.shapeOf(statement.asDocument().getDocument("q", new BsonDocument())))
+                .distinct()
+                .reduce((a, b) -> a + " | " + b)
+                .orElse("{}");
+    }
+
+    private static String pipelineShape(BsonArray pipeline) {
+        List<String> stages = new ArrayList<>();
+        for (BsonValue stage : pipeline) {
+            String name = stage.asDocument().getFirstKey();
+            stages.add("$match".equals(name)
+                    ? "$match " + FilterShapes.shapeOf(stage.asDocument().get(name))
+                    : name);
+        }
+        return String.join(" -> ", stages);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    record Shape(String command, String collection, String filter, String sort) {
+
+        Map<String, Object> describe() {
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("command", command);
+            description.put("collection", collection);
+            description.put("filter", filter);
+            if (sort != null) {
+                description.put("sort", sort);
+            }
+            return description;
+        }
+    }
+
+    private record Pending(Shape shape, long cursorId) {
+    }
+
+    private record Entry(Shape shape, long elapsedNanos, long returned, long timestamp) {
+
+        Map<String, Object> describe() {
+            Map<String, Object> description = shape.describe();
+            description.put("millis", millis(elapsedNanos));
+            description.put("returned", returned);
+            description.put("at", Instant.ofEpochMilli(timestamp).toString());
+            return description;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.repository;
+
+import org.bson.conversions.Bson;
+
+/**
+ * A query exactly as a repository method issues it (filter, sort and limit), with sample values filled in,
+ * so its plan can be explained without going through the method itself.
+ */
+public final class QueryShape {
+
+    private final String name;
+    private final String collection;
+    private final Bson filter;
+    private final Bson sort;
+    private final int limit;
+
+    QueryShape(String name, String collection, Bson filter, Bson sort, int limit) {
+        this.name = name;
+        this.collection = collection;
+        this.filter = filter;
+        this.sort = sort;
+        this.limit = limit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public Bson getFilter() {
+        return filter;
+    }
+
+    public Bson getSort() {
+        return sort;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
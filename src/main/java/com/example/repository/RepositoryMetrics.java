@@ -0,0 +1,106 @@
+package com.example.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers for repository operations, published as {@value #METER_NAME} tagged with the repository,
+ * operation and outcome ({@code success}, {@code error} or {@code cancelled}). Each timer's count gives
+ * throughput and error rate; percentiles come from the meter filter in
+ * {@link com.example.config.MetricsFactory}.
+ * <p>
+ * Timers are registered on first use and then looked up by operation name, so recording a call only
+ * reads {@link System#nanoTime()} and updates the timer's histogram.
+ */
+@Singleton
+public class RepositoryMetrics {
+
+    public static final String METER_NAME = "repository.operations";
+
+    private final MeterRegistry registry;
+
+    @Inject
+    public RepositoryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Timers forRepository(String repository) {
+        return new Timers(registry, repository);
+    }
+
+    public static final class Timers {
+
+        private final MeterRegistry registry;
+        private final String repository;
+        private final Map<String, Outcomes> operations = new ConcurrentHashMap<>();
+
+        private Timers(MeterRegistry registry, String repository) {
+            this.registry = registry;
+            this.repository = repository;
+        }
+
+        public <T> Mono<T> time(String operation, Mono<T> source) {
+            Outcomes outcomes = outcomes(operation);
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                return source.doFinally(signal -> outcomes.record(signal, start));
+            });
+        }
+
+        public <T> Flux<T> time(String operation, Flux<T> source) {
+            Outcomes outcomes = outcomes(operation);
+            return Flux.defer(() -> {
+                long start = System.nanoTime();
+                return source.doFinally(signal -> outcomes.record(signal, start));
+            });
+        }
+
+        private Outcomes outcomes(String operation) {
+            Outcomes outcomes = operations.get(operation);
+            if (outcomes == null) {
+                outcomes = operations.computeIfAbsent(operation, name -> new Outcomes(registry, repository, name));
+            }
+            return outcomes;
+        }
+    }
+
+    private static final class Outcomes {
+
+        private final Timer success;
+        private final Timer error;
+        private final Timer cancelled;
+
+        Outcomes(MeterRegistry registry, String repository, String operation) {
+            this.success = timer(registry, repository, operation, "success");
+            this.error = timer(registry, repository, operation, "error");
+            this.cancelled = timer(registry, repository, operation, "cancelled");
+        }
+
+        void record(SignalType signal, long start) {
+            long elapsed = System.nanoTime() - start;
+            switch (signal) {
+                case ON_ERROR -> error.record(elapsed, TimeUnit.NANOSECONDS);
+                case CANCEL -> cancelled.record(elapsed, TimeUnit.NANOSECONDS);
+                default -> success.record(elapsed, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private static Timer timer(MeterRegistry registry, String repository, String operation, String outcome) {
+            return Timer.builder(METER_NAME)
+                    .description("Latency of repository operations, including the entity cache")
+                    .tag("repository", repository)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.repository;
+
+import com.example.model.Portfolio;
+import com.example.model.PokemonCard;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Change to an owner valuation caused by cards entering or leaving it, or by a card's price or type changing.
+ * Applied as a single {@code $inc}, so concurrent changes to the same owner compose on the server, and bumps the
+ * valuation's {@code version} so an overwrite computed before the delta is refused. Cards count
+ * the same way {@link CardOwnerRepository#portfolio(String)} counts them: a missing price is worth zero and a
+ * missing type is {@link Portfolio#UNKNOWN}.
+ */
+public final class ValuationDelta {
+
+    private int cards;
+    private BigDecimal value = BigDecimal.ZERO;
+    private final Map<String, Portfolio.Bucket> byType = new LinkedHashMap<>();
+
+    public ValuationDelta add(PokemonCard card) {
+        return change(card, 1);
+    }
+
+    public ValuationDelta remove(PokemonCard card) {
+        return change(card, -1);
+    }
+
+    private ValuationDelta change(PokemonCard card, int direction) {
+        BigDecimal price = priceOf(card);
+        BigDecimal signed = direction < 0 ? price.negate() : price;
+        cards += direction;
+        value = value.add(signed);
+        byType.merge(typeOf(card), new Portfolio.Bucket(direction, signed),
+                (left, right) -> new Portfolio.Bucket(
+                        left.getCards() + right.getCards(),
+                        left.getValue().add(right.getValue())));
+        return this;
+    }
+
+    /**
+     * Whether applying the delta would leave every total unchanged, as when a card is edited without touching
+     * its price or type.
+     */
+    public boolean isEmpty() {
+        return cards == 0
+                && value.signum() == 0
+                && byType.values().stream().allMatch(bucket -> bucket.getCards() == 0 && bucket.getValue().signum() == 0);
+    }
+
+    Bson toUpdate() {
+        Document increments = new Document("version", 1)
+                .append("valuedCards", cards)
+                .append("totalValue", new Decimal128(value));
+        byType.forEach((type, bucket) -> {
+            if (bucket.getCards() != 0 || bucket.getValue().signum() != 0) {
+                String field = "byType." + OwnerValuationRepository.encodeKey(type);
+                increments.append(field + ".cards", bucket.getCards())
+                        .append(field + ".value", new Decimal128(bucket.getValue()));
+            }
+        });
+        return new Document("$inc", increments)
+                .append("$set", new Document("updatedAt", LocalDateTime.now()));
+    }
+
+    private static BigDecimal priceOf(PokemonCard card) {
+        return card.getMarketPrice() == null ? BigDecimal.ZERO : card.getMarketPrice();
+    }
+
+    private static String typeOf(PokemonCard card) {
+        return card.getType() == null ? Portfolio.UNKNOWN : card.getType();
+    }
+
+    @Override
+    public String toString() {
+        return "ValuationDelta{cards=" + cards + ", value=" + value + ", byType=" + byType.keySet() + "}";
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.service;
+
+import com.example.model.BulkResult;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import reactor.util.function.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the bean validation that single-item routes get from {@code @Valid} to every item of a bulk
+ * request. Invalid items are reported under their request index and kept out of the write, so one bad
+ * item does not fail its chunk.
+ */
+@Singleton
+public class BulkValidation {
+
+    static final Comparator<BulkResult.Item> BY_INDEX = Comparator.comparingLong(BulkResult.Item::getIndex);
+
+    private final Validator validator;
+
+    @Inject
+    public BulkValidation(Validator validator) {
+        this.validator = validator;
+    }
+
+    /**
+     * Splits a chunk of indexed items into the documents to write, with their request indexes, and
+     * {@link BulkResult#INVALID} items for those failing validation.
+     */
+    public <T> Chunk<T> check(List<Tuple2<Long, T>> items, Function<T, String> idOf) {
+        List<T> documents = new ArrayList<>(items.size());
+        List<Long> indexes = new ArrayList<>(items.size());
+        List<BulkResult.Item> rejected = new ArrayList<>();
+        for (Tuple2<Long, T> item : items) {
+            Set<ConstraintViolation<T>> violations = validator.validate(item.getT2());
+            if (violations.isEmpty()) {
+                documents.add(item.getT2());
+                indexes.add(item.getT1());
+            } else {
+                rejected.add(new BulkResult.Item(item.getT1(), idOf.apply(item.getT2()), BulkResult.INVALID,
+                        describe(violations)));
+            }
+        }
+        return new Chunk<>(documents, indexes, rejected);
+    }
+
+    private static <T> String describe(Set<ConstraintViolation<T>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    public record Chunk<T>(List<T> documents, List<Long> indexes, List<BulkResult.Item> rejected) {
+    }
+}
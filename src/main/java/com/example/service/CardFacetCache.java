@@ -0,0 +1,41 @@
+package com.example.service;
+
+import com.example.config.FacetConfiguration;
+import com.example.model.CardFacets;
+import com.example.repository.PokemonCardRepository;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Mono;
+
+/**
+ * Single-entry cache over the {@code $facet} count aggregation. Once the counts are older than
+ * {@code refresh-after}, the next caller still gets them while one recount runs in the background;
+ * concurrent callers on a cold cache share a single aggregation. Card writes call {@link #invalidate()},
+ * and Caffeine discards any recount that was already running when the entry was invalidated.
+ */
+@Singleton
+public class CardFacetCache {
+
+    private static final String KEY = "pokemon_cards";
+
+    private final AsyncLoadingCache<String, CardFacets> cache;
+
+    @Inject
+    public CardFacetCache(PokemonCardRepository pokemonCardRepository, FacetConfiguration configuration) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .refreshAfterWrite(configuration.getRefreshAfter())
+                .expireAfterWrite(configuration.getExpireAfter())
+                .buildAsync((key, executor) -> pokemonCardRepository.facetCounts().toFuture());
+    }
+
+    public Mono<CardFacets> get() {
+        return Mono.fromFuture(() -> cache.get(KEY));
+    }
+
+    public void invalidate() {
+        cache.synchronous().invalidate(KEY);
+    }
+}
@@ -1,28 +1,88 @@
 package com.example.service;
 
+import com.example.config.BulkConfiguration;
+import com.example.model.BatchGetResult;
+import com.example.model.BulkResult;
 import com.example.model.CardOwner;
+import com.example.model.OwnerValuation;
+import com.example.model.Portfolio;
 import com.example.repository.CardOwnerRepository;
+import com.example.repository.FieldProjection;
+import com.example.repository.PageCursor;
+import io.micronaut.core.annotation.Nullable;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
 
 @Singleton
 public class CardOwnerService {
     
     private final CardOwnerRepository cardOwnerRepository;
+    private final BulkConfiguration bulkConfiguration;
+    private final OwnerValuationService ownerValuationService;
+    private final BulkValidation bulkValidation;
     
     @Inject
-    public CardOwnerService(CardOwnerRepository cardOwnerRepository) {
+    public CardOwnerService(CardOwnerRepository cardOwnerRepository,
+                            BulkConfiguration bulkConfiguration,
+                            OwnerValuationService ownerValuationService,
+                            BulkValidation bulkValidation) {
         this.cardOwnerRepository = cardOwnerRepository;
+        this.bulkConfiguration = bulkConfiguration;
+        this.ownerValuationService = ownerValuationService;
+        this.bulkValidation = bulkValidation;
     }
     
     public Mono<CardOwner> createOwner(CardOwner owner) {
         owner.setCreatedAt(LocalDateTime.now());
         owner.setUpdatedAt(LocalDateTime.now());
-        return cardOwnerRepository.save(owner);
+        return cardOwnerRepository.save(owner)
+                .flatMap(saved -> ownerValuationService.rebuild(saved.getId()).thenReturn(saved));
+    }
+    
+    /**
+     * Validates each owner like the single-owner routes do and writes the valid ones in chunks. Owners that
+     * already exist keep their stored {@code createdAt}; new owners get the current time.
+     */
+    public Mono<BulkResult> bulkUpsertOwners(Flux<CardOwner> owners) {
+        return owners
+                .doOnNext(owner -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    owner.setCreatedAt(now);
+                    owner.setUpdatedAt(now);
+                })
+                .index()
+                .buffer(bulkConfiguration.getChunkSize())
+                .flatMapSequential(items -> {
+                    BulkValidation.Chunk<CardOwner> chunk = bulkValidation.check(items, CardOwner::getId);
+                    return cardOwnerRepository.bulkUpsert(chunk.documents(), chunk.indexes())
+                            .collectList()
+                            .flatMapMany(written -> ownerValuationService.ownersReplaced(idsOf(written))
+                                    .thenMany(Flux.fromIterable(written)))
+                            .concatWith(Flux.fromIterable(chunk.rejected()));
+                }, bulkConfiguration.getMaxInFlight())
+                .collectSortedList(BulkValidation.BY_INDEX)
+                .map(BulkResult::new);
+    }
+    
+    private static List<String> idsOf(List<BulkResult.Item> items) {
+        return items.stream()
+                .map(BulkResult.Item::getId)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+    
+    /**
+     * Inserts owners that already carry ids and timestamps, as produced by the data generator. Their
+     * valuations are built on first read.
+     */
+    public Mono<Integer> insertOwners(List<CardOwner> owners) {
+        return cardOwnerRepository.insertAll(owners);
     }
     
     public Mono<CardOwner> updateOwner(String id, CardOwner updatedOwner) {
@@ -34,7 +94,8 @@ public class CardOwnerService {
                     updatedOwner.setUpdatedAt(LocalDateTime.now());
                     return updatedOwner;
                 })
-                .flatMap(cardOwnerRepository::save);
+                .flatMap(cardOwnerRepository::save)
+                .flatMap(saved -> ownerValuationService.rebuild(saved.getId()).thenReturn(saved));
     }
     
     public Mono<CardOwner> findById(String id) {
@@ -42,55 +103,72 @@ public class CardOwnerService {
                 .switchIfEmpty(Mono.error(new RuntimeException("Owner not found with id: " + id)));
     }
     
-    public Flux<CardOwner> findAll() {
-        return cardOwnerRepository.findAll();
+    public Mono<LocalDateTime> findUpdatedAt(String id) {
+        return cardOwnerRepository.findUpdatedAt(id);
+    }
+    
+    public Mono<BatchGetResult<CardOwner>> findByIds(List<String> ids) {
+        return cardOwnerRepository.findAllById(ids)
+                .collectMap(CardOwner::getId)
+                .map(found -> BatchGetResult.inRequestOrder(ids, found));
+    }
+    
+    public Flux<CardOwner> findAll(@Nullable PageCursor after, int limit, FieldProjection projection) {
+        return cardOwnerRepository.findAll(after, limit, projection);
     }
     
     public Mono<CardOwner> findByEmail(String email) {
         return cardOwnerRepository.findByEmail(email);
     }
     
-    public Flux<CardOwner> findByLastName(String lastName) {
-        return cardOwnerRepository.findByLastName(lastName);
+    public Flux<CardOwner> findByLastName(String lastName,
+                                          @Nullable PageCursor after,
+                                          int limit,
+                                          FieldProjection projection) {
+        return cardOwnerRepository.findByLastName(lastName, after, limit, projection);
     }
     
-    public Flux<CardOwner> findOwnersByCardId(String cardId) {
-        return cardOwnerRepository.findByOwnedCardId(cardId);
+    public Flux<CardOwner> findOwnersByCardId(String cardId,
+                                              @Nullable PageCursor after,
+                                              int limit,
+                                              FieldProjection projection) {
+        return cardOwnerRepository.findByOwnedCardId(cardId, after, limit, projection);
     }
     
     public Mono<Void> deleteOwner(String id) {
         return cardOwnerRepository.findById(id)
                 .switchIfEmpty(Mono.error(new RuntimeException("Owner not found with id: " + id)))
-                .flatMap(owner -> cardOwnerRepository.deleteById(id));
+                .flatMap(owner -> cardOwnerRepository.deleteById(id))
+                .then(ownerValuationService.ownerDeleted(id));
     }
     
     public Mono<Long> countOwners() {
         return cardOwnerRepository.count();
     }
     
+    public Mono<Portfolio> getPortfolio(String ownerId) {
+        return cardOwnerRepository.portfolio(ownerId)
+                .switchIfEmpty(Mono.error(new RuntimeException("Owner not found with id: " + ownerId)));
+    }
+    
+    public Mono<OwnerValuation> getValuation(String ownerId) {
+        return ownerValuationService.getValuation(ownerId)
+                .switchIfEmpty(Mono.error(new RuntimeException("Owner not found with id: " + ownerId)));
+    }
+    
+    /**
+     * Adds a card and updates the owner's valuation when the card was not already owned. Adding a card
+     * twice returns the owner unchanged.
+     */
     public Mono<CardOwner> addCardToOwner(String ownerId, String cardId) {
-        return cardOwnerRepository.findById(ownerId)
-                .switchIfEmpty(Mono.error(new RuntimeException("Owner not found with id: " + ownerId)))
-                .map(owner -> {
-                    if (owner.getOwnedCardIds() != null && !owner.getOwnedCardIds().contains(cardId)) {
-                        owner.getOwnedCardIds().add(cardId);
-                        owner.setUpdatedAt(LocalDateTime.now());
-                    }
-                    return owner;
-                })
-                .flatMap(cardOwnerRepository::save);
+        return cardOwnerRepository.addOwnedCard(ownerId, cardId)
+                .flatMap(owner -> ownerValuationService.cardAdded(ownerId, cardId).thenReturn(owner))
+                .switchIfEmpty(Mono.defer(() -> findById(ownerId)));
     }
     
     public Mono<CardOwner> removeCardFromOwner(String ownerId, String cardId) {
-        return cardOwnerRepository.findById(ownerId)
-                .switchIfEmpty(Mono.error(new RuntimeException("Owner not found with id: " + ownerId)))
-                .map(owner -> {
-                    if (owner.getOwnedCardIds() != null) {
-                        owner.getOwnedCardIds().remove(cardId);
-                        owner.setUpdatedAt(LocalDateTime.now());
-                    }
-                    return owner;
-                })
-                .flatMap(cardOwnerRepository::save);
+        return cardOwnerRepository.removeOwnedCard(ownerId, cardId)
+                .flatMap(owner -> ownerValuationService.cardRemoved(ownerId, cardId).thenReturn(owner))
+                .switchIfEmpty(Mono.defer(() -> findById(ownerId)));
     }
 }
@@ -0,0 +1,193 @@
+package com.example.service;
+
+import com.example.config.DumpConfiguration;
+import com.example.model.DumpResult;
+import com.example.repository.DumpRepository;
+import com.example.repository.EntityCache;
+import com.example.repository.EntityCaches;
+import com.example.util.DumpFileReader;
+import com.example.util.DumpFileWriter;
+import com.example.util.DumpFormat;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.bson.RawBsonDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Streams whole collections to dump files and back.
+ * <p>
+ * Export reads the collection with a large cursor batch size and writes each document as it arrives, so the
+ * heap only holds one batch. Import pulls documents from a {@link DumpFileReader} on demand. It groups them
+ * into {@code insertMany} batches bounded by count and bytes, and keeps a bounded number of batches in
+ * flight. The file is read no faster than MongoDB acknowledges the writes. File I/O runs on the
+ * bounded-elastic scheduler.
+ */
+@Singleton
+public class DumpService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DumpService.class);
+
+    private final DumpRepository dumpRepository;
+    private final DumpConfiguration dumpConfiguration;
+    private final EntityCaches entityCaches;
+    private final CardFacetCache cardFacetCache;
+    private final OwnerValuationService ownerValuationService;
+
+    @Inject
+    public DumpService(DumpRepository dumpRepository,
+                       DumpConfiguration dumpConfiguration,
+                       EntityCaches entityCaches,
+                       CardFacetCache cardFacetCache,
+                       OwnerValuationService ownerValuationService) {
+        this.dumpRepository = dumpRepository;
+        this.dumpConfiguration = dumpConfiguration;
+        this.entityCaches = entityCaches;
+        this.cardFacetCache = cardFacetCache;
+        this.ownerValuationService = ownerValuationService;
+    }
+
+    /**
+     * Resolves a file name against {@code app.dump.directory}, rejecting names that would leave it.
+     */
+    public Path resolve(String fileName) {
+        Path directory = Path.of(dumpConfiguration.getDirectory()).toAbsolutePath().normalize();
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.startsWith(directory) || file.equals(directory)) {
+            throw new IllegalArgumentException("Dump file must be inside " + directory + ": " + fileName);
+        }
+        return file;
+    }
+
+    public Mono<DumpResult> export(String collection, Path file, DumpFormat format) {
+        return Mono.defer(() -> {
+            checkCollection(collection);
+            long start = System.nanoTime();
+            return Mono.fromCallable(() -> new DumpFileWriter(file, format, dumpConfiguration.getBufferSize()))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMap(writer -> dumpRepository.findAll(collection, dumpConfiguration.getExportBatchSize())
+                            .publishOn(Schedulers.boundedElastic(), dumpConfiguration.getExportBatchSize())
+                            .doOnNext(writer::write)
+                            .then(Mono.fromCallable(() -> {
+                                writer.commit();
+                                return result(collection, file, format, writer.getDocuments(), 0,
+                                        writer.getBytes(), start);
+                            }))
+                            .doOnError(e -> writer.abort())
+                            .doOnCancel(writer::abort))
+                    .doOnNext(result -> LOG.info("Exported {} document(s) from {} to {} in {} ms",
+                            result.getDocuments(), collection, file, result.getDurationMillis()));
+        });
+    }
+
+    /**
+     * Inserts every document of a dump file. With {@code replace} the collection is emptied first; its
+     * indexes are kept. Without it, documents whose {@code _id} already exists are skipped and counted.
+     */
+    public Mono<DumpResult> importFile(String collection, Path file, DumpFormat format, boolean replace) {
+        return Mono.defer(() -> {
+            checkCollection(collection);
+            if (!Files.isRegularFile(file)) {
+                // Checked before a replace empties the collection.
+                return Mono.error(new NoSuchFileException(file.toString()));
+            }
+            long start = System.nanoTime();
+            long[] bytes = {0};
+            Mono<Long> clear = replace ? dumpRepository.deleteAll(collection) : Mono.just(0L);
+            return clear
+                    .thenMany(Flux.using(
+                            () -> new DumpFileReader(file, format, dumpConfiguration.getBufferSize()),
+                            reader -> Flux.<RawBsonDocument>generate(sink -> {
+                                try {
+                                    RawBsonDocument document = reader.next();
+                                    if (document == null) {
+                                        bytes[0] = reader.getOffset();
+                                        sink.complete();
+                                    } else {
+                                        sink.next(document);
+                                    }
+                                } catch (IOException e) {
+                                    sink.error(new UncheckedIOException(e));
+                                }
+                            }),
+                            DumpService::closeQuietly)
+                            .subscribeOn(Schedulers.boundedElastic()))
+                    .transform(this::batches)
+                    .flatMap(batch -> dumpRepository.insertAll(collection, batch),
+                            dumpConfiguration.getImportMaxInFlight())
+                    .reduce(DumpRepository.Inserted.NONE, DumpRepository.Inserted::plus)
+                    .map(inserted -> result(collection, file, format, inserted.documents(), inserted.duplicates(),
+                            bytes[0], start))
+                    .doFinally(signal -> invalidateCaches(collection))
+                    .flatMap(result -> ownerValuationService.forgetAll().thenReturn(result))
+                    .doOnNext(result -> LOG.info("Imported {} document(s) into {} from {} in {} ms ({} duplicate(s))",
+                            result.getDocuments(), collection, file, result.getDurationMillis(),
+                            result.getDuplicates()));
+        });
+    }
+
+    /**
+     * Closes a batch at {@code app.dump.import-batch-size} documents or {@code app.dump.import-batch-bytes}
+     * bytes, whichever comes first.
+     */
+    private Flux<List<RawBsonDocument>> batches(Flux<RawBsonDocument> documents) {
+        return Flux.defer(() -> {
+            long[] batchBytes = {0};
+            int[] batchCount = {0};
+            return documents.bufferUntil(document -> {
+                batchBytes[0] += document.getByteBuffer().remaining();
+                batchCount[0]++;
+                if (batchBytes[0] >= dumpConfiguration.getImportBatchBytes()
+                        || batchCount[0] >= dumpConfiguration.getImportBatchSize()) {
+                    batchBytes[0] = 0;
+                    batchCount[0] = 0;
+                    return true;
+                }
+                return false;
+            });
+        });
+    }
+
+    private void invalidateCaches(String collection) {
+        EntityCache<?> cache = entityCaches.forCollection(collection);
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+        cardFacetCache.invalidate();
+    }
+
+    private static void checkCollection(String collection) {
+        if (!DumpRepository.COLLECTIONS.contains(collection)) {
+            throw new IllegalArgumentException("Collection cannot be dumped: " + collection);
+        }
+    }
+
+    private static DumpResult result(String collection,
+                                     Path file,
+                                     DumpFormat format,
+                                     long documents,
+                                     long duplicates,
+                                     long bytes,
+                                     long start) {
+        return new DumpResult(collection, file.toString(), format.getExtension(), documents, duplicates,
+                bytes, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void closeQuietly(DumpFileReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            LOG.warn("Failed to close dump file", e);
+        }
+    }
+}
@@ -3,8 +3,6 @@ package com.example.service;
 import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoDatabase;
 import io.micronaut.context.annotation.Requires;
-import io.micronaut.context.event.ApplicationEventListener;
-import io.micronaut.context.event.StartupEvent;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.bson.Document;
@@ -13,11 +11,9 @@ import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
-
 @Singleton
 @Requires(property = "app.verify-indexes", value = "true", defaultValue = "true")
-public class IndexVerificationService implements ApplicationEventListener<StartupEvent> {
+public class IndexVerificationService implements StartupPhase {
 
     private static final Logger LOG = LoggerFactory.getLogger(IndexVerificationService.class);
 
@@ -29,16 +25,21 @@ public class IndexVerificationService implements ApplicationEventListener<Startu
     }
 
     @Override
-    public void onApplicationEvent(StartupEvent event) {
+    public String getName() {
+        return "verify";
+    }
+
+    @Override
+    public int getOrder() {
+        return VERIFY;
+    }
+
+    @Override
+    public Mono<Void> run() {
         LOG.info("=== Starting Index Verification ===");
         
-        // Delay slightly to ensure Liquibase has run
-        Mono.delay(Duration.ofSeconds(2))
-            .then(verifyIndexes())
-            .subscribe(
-                unused -> LOG.info("=== Index Verification Completed ==="),
-                error -> LOG.error("Index verification failed", error)
-            );
+        return verifyIndexes()
+            .doOnSuccess(unused -> LOG.info("=== Index Verification Completed ==="));
     }
 
     private Mono<Void> verifyIndexes() {
@@ -0,0 +1,37 @@
+package com.example.service;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.bson.Document;
+import reactor.core.publisher.Mono;
+
+/**
+ * First startup phase: completes once the server answers a {@code ping}, bounded by the driver's
+ * server selection timeout.
+ */
+@Singleton
+public class MongoConnectionCheck implements StartupPhase {
+
+    private final MongoClient mongoClient;
+
+    @Inject
+    public MongoConnectionCheck(MongoClient mongoClient) {
+        this.mongoClient = mongoClient;
+    }
+
+    @Override
+    public String getName() {
+        return "connect";
+    }
+
+    @Override
+    public int getOrder() {
+        return CONNECT;
+    }
+
+    @Override
+    public Mono<Void> run() {
+        return Mono.from(mongoClient.getDatabase("admin").runCommand(new Document("ping", 1))).then();
+    }
+}
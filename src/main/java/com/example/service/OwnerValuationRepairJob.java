@@ -0,0 +1,40 @@
+package com.example.service;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs {@link OwnerValuationService#repair()} every {@code app.valuation.repair-interval}. Without that
+ * property repairs only happen through {@code POST /api/admin/valuations/repair}. Every instance schedules the
+ * job, but the repair lease lets only one of them run it at a time.
+ */
+@Singleton
+@Requires(property = "app.valuation.repair-interval")
+public class OwnerValuationRepairJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OwnerValuationRepairJob.class);
+
+    private final OwnerValuationService ownerValuationService;
+
+    @Inject
+    public OwnerValuationRepairJob(OwnerValuationService ownerValuationService) {
+        this.ownerValuationService = ownerValuationService;
+    }
+
+    @Scheduled(fixedDelay = "${app.valuation.repair-interval}", initialDelay = "${app.valuation.repair-interval}")
+    void repair() {
+        ownerValuationService.repair()
+                .doOnNext(report -> LOG.info("Checked {} owner valuations in {} ms: {} drifted, {} missing",
+                        report.getOwners(), report.getDurationMillis(), report.getDrifted(), report.getMissing()))
+                .switchIfEmpty(Mono.fromRunnable(
+                        () -> LOG.info("Skipped owner valuation repair, another instance is running it")))
+                .doOnError(e -> LOG.warn("Owner valuation repair failed", e))
+                .onErrorComplete()
+                .block();
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.service;
+
+import com.example.config.ValuationConfiguration;
+import com.example.model.OwnerValuation;
+import com.example.model.PokemonCard;
+import com.example.model.ValuationRepairReport;
+import com.example.repository.CardOwnerRepository;
+import com.example.repository.LeaseRepository;
+import com.example.repository.OwnerValuationRepository;
+import com.example.repository.PokemonCardRepository;
+import com.example.repository.ValuationDelta;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+
+/**
+ * Keeps each owner's stored valuation in step with their cards. Adding or removing a card applies a
+ * {@link ValuationDelta} to that owner; changing a card's price or type, or deleting it, applies one delta
+ * to every owner holding it, found through the {@code ownedCardIds} index and updated in batches. A valuation
+ * is built from {@link CardOwnerRepository#portfolio(String)} the first time it is needed and whenever a delta
+ * finds none to update.
+ * <p>
+ * Card deltas are computed from the card as the write itself replaced or deleted it, never from the entity
+ * cache. Increments can still drift from the source data, for example when a write fails between the two
+ * collections or a bulk import replaces cards wholesale. {@link #repair()} recomputes every owner, overwrites
+ * the valuations that disagree and reports how far they were off. Rebuilds and repairs only overwrite the
+ * version they read, so a delta applied meanwhile is never lost; they read again and retry instead.
+ */
+@Singleton
+public class OwnerValuationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OwnerValuationService.class);
+    private static final int DRIFT_SAMPLE_SIZE = 100;
+    private static final int OVERWRITE_RETRIES = 3;
+    private static final String REPAIR_LEASE = "owner-valuation-repair";
+
+    private final OwnerValuationRepository ownerValuationRepository;
+    private final CardOwnerRepository cardOwnerRepository;
+    private final PokemonCardRepository pokemonCardRepository;
+    private final LeaseRepository leaseRepository;
+    private final ValuationConfiguration valuationConfiguration;
+
+    @Inject
+    public OwnerValuationService(OwnerValuationRepository ownerValuationRepository,
+                                 CardOwnerRepository cardOwnerRepository,
+                                 PokemonCardRepository pokemonCardRepository,
+                                 LeaseRepository leaseRepository,
+                                 ValuationConfiguration valuationConfiguration) {
+        this.ownerValuationRepository = ownerValuationRepository;
+        this.cardOwnerRepository = cardOwnerRepository;
+        this.pokemonCardRepository = pokemonCardRepository;
+        this.leaseRepository = leaseRepository;
+        this.valuationConfiguration = valuationConfiguration;
+    }
+
+    /**
+     * The stored valuation, built on first use. Empty if the owner does not exist.
+     */
+    public Mono<OwnerValuation> getValuation(String ownerId) {
+        return ownerValuationRepository.findById(ownerId)
+                .switchIfEmpty(Mono.defer(() -> rebuild(ownerId)));
+    }
+
+    /**
+     * Recomputes an owner's valuation from their cards and stores it. If deltas keep landing while it is
+     * recomputed, the stored valuation they keep current is returned instead. Empty if the owner does not exist.
+     */
+    public Mono<OwnerValuation> rebuild(String ownerId) {
+        return revalue(ownerId, (stored, fresh) -> true)
+                .map(Revaluation::fresh)
+                .onErrorResume(Exceptions::isRetryExhausted, e -> ownerValuationRepository.findById(ownerId));
+    }
+
+    public Mono<Void> cardAdded(String ownerId, String cardId) {
+        return pokemonCardRepository.findCurrentById(cardId)
+                .flatMap(card -> apply(ownerId, new ValuationDelta().add(card)));
+    }
+
+    public Mono<Void> cardRemoved(String ownerId, String cardId) {
+        return pokemonCardRepository.findCurrentById(cardId)
+                .flatMap(card -> apply(ownerId, new ValuationDelta().remove(card)));
+    }
+
+    /**
+     * Moves every holder of the card from its old price and type to the new ones. {@code before} must be the
+     * document the write replaced, as returned by {@link PokemonCardRepository#replace(PokemonCard)}, so
+     * concurrent updates each move holders by exactly their own change. Edits that touch neither price nor
+     * type cost nothing.
+     */
+    public Mono<Void> cardChanged(PokemonCard before, PokemonCard after) {
+        ValuationDelta delta = new ValuationDelta().remove(before).add(after);
+        return delta.isEmpty() ? Mono.empty() : fanOut(after.getId(), delta);
+    }
+
+    /**
+     * Takes a deleted card out of its holders' valuations. Their {@code ownedCardIds} still list it, but
+     * {@link CardOwnerRepository#portfolio(String)} no longer finds it, so both agree on its value.
+     */
+    public Mono<Void> cardDeleted(PokemonCard card) {
+        return fanOut(card.getId(), new ValuationDelta().remove(card));
+    }
+
+    public Mono<Void> ownerDeleted(String ownerId) {
+        return ownerValuationRepository.deleteById(ownerId);
+    }
+
+    /**
+     * Drops the valuations of owners written in bulk, which are rebuilt on next read.
+     */
+    public Mono<Void> ownersReplaced(Collection<String> ownerIds) {
+        return ownerIds.isEmpty() ? Mono.empty() : ownerValuationRepository.deleteAllById(ownerIds);
+    }
+
+    /**
+     * Drops every stored valuation after cards or owners were replaced wholesale, as by a dump import.
+     */
+    public Mono<Void> forgetAll() {
+        return ownerValuationRepository.deleteAll();
+    }
+
+    private Mono<Void> apply(String ownerId, ValuationDelta delta) {
+        return ownerValuationRepository.apply(ownerId, delta)
+                .flatMap(applied -> applied ? Mono.<Void>empty() : rebuild(ownerId).then());
+    }
+
+    private Mono<Void> fanOut(String cardId, ValuationDelta delta) {
+        return cardOwnerRepository.findIdsByOwnedCardId(cardId)
+                .buffer(valuationConfiguration.getFanOutBatchSize())
+                .concatMap(ownerIds -> ownerValuationRepository.applyAll(ownerIds, delta))
+                .then();
+    }
+
+    /**
+     * Recomputes every owner's valuation and overwrites the stored ones that are missing or disagree. Runs
+     * under a lease, so only one instance repairs at a time; empty without doing anything while another
+     * repair holds it.
+     */
+    public Mono<ValuationRepairReport> repair() {
+        Mono<ValuationRepairReport> repair = Mono.defer(() -> {
+            long start = System.nanoTime();
+            return cardOwnerRepository.findAllIds()
+                    .flatMap(this::repair, valuationConfiguration.getRepairConcurrency())
+                    .reduce(new Tally(), Tally::add)
+                    .map(tally -> tally.toReport((System.nanoTime() - start) / 1_000_000))
+                    .doOnNext(report -> {
+                        if (report.getDrifted() > 0) {
+                            LOG.warn("Repaired {} drifted owner valuations out of {} (max value drift {})",
+                                    report.getDrifted(), report.getOwners(), report.getMaxValueDrift());
+                        }
+                    });
+        });
+        return leaseRepository.runExclusively(REPAIR_LEASE, valuationConfiguration.getRepairLeaseTtl(), repair);
+    }
+
+    private Mono<Outcome> repair(String ownerId) {
+        return revalue(ownerId, (stored, fresh) -> stored.isEmpty() || !stored.get().sameTotalsAs(fresh))
+                .map(Revaluation::outcome)
+                .onErrorResume(Exceptions::isRetryExhausted, e -> {
+                    LOG.info("Left the valuation of owner {} to the next repair, it kept changing", ownerId);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Reads the stored valuation, then recomputes it from the portfolio and writes it when {@code overwrite}
+     * says so. The write only lands on the version that was read; if a delta or another overwrite got there
+     * first, both are read again, up to {@link #OVERWRITE_RETRIES} times. Empty if the owner does not exist.
+     */
+    private Mono<Revaluation> revalue(String ownerId,
+                                      BiPredicate<Optional<OwnerValuation>, OwnerValuation> overwrite) {
+        return Mono.defer(() -> ownerValuationRepository.findById(ownerId)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(stored -> cardOwnerRepository.portfolio(ownerId)
+                                .map(OwnerValuation::of)
+                                .flatMap(fresh -> {
+                                    if (!overwrite.test(stored, fresh)) {
+                                        return Mono.just(new Revaluation(ownerId, stored, fresh, false));
+                                    }
+                                    Long expectedVersion = stored.map(OwnerValuation::getVersion).orElse(null);
+                                    return ownerValuationRepository.replace(fresh, expectedVersion)
+                                            .flatMap(replaced -> replaced
+                                                    ? Mono.just(new Revaluation(ownerId, stored, fresh, true))
+                                                    : Mono.<Revaluation>error(new ConcurrentModificationException(
+                                                            "Valuation of owner " + ownerId + " changed meanwhile")));
+                                })))
+                .retryWhen(Retry.max(OVERWRITE_RETRIES).filter(ConcurrentModificationException.class::isInstance));
+    }
+
+    private record Revaluation(String ownerId, Optional<OwnerValuation> stored, OwnerValuation fresh, boolean written) {
+
+        Outcome outcome() {
+            if (!written) {
+                return Outcome.consistent(ownerId);
+            }
+            return stored
+                    .map(valuation -> Outcome.drifted(ownerId, valuation, fresh))
+                    .orElseGet(() -> Outcome.missing(ownerId));
+        }
+    }
+
+    private record Outcome(String ownerId, boolean drifted, boolean missing, BigDecimal valueDrift) {
+
+        static Outcome consistent(String ownerId) {
+            return new Outcome(ownerId, false, false, BigDecimal.ZERO);
+        }
+
+        static Outcome missing(String ownerId) {
+            return new Outcome(ownerId, false, true, BigDecimal.ZERO);
+        }
+
+        static Outcome drifted(String ownerId, OwnerValuation stored, OwnerValuation fresh) {
+            return new Outcome(ownerId, true, false, stored.getTotalValue().subtract(fresh.getTotalValue()).abs());
+        }
+    }
+
+    private static final class Tally {
+
+        private long owners;
+        private long drifted;
+        private long missing;
+        private BigDecimal maxValueDrift = BigDecimal.ZERO;
+        private final List<String> driftedOwnerIds = new ArrayList<>();
+
+        Tally add(Outcome outcome) {
+            owners++;
+            if (outcome.missing()) {
+                missing++;
+            }
+            if (outcome.drifted()) {
+                drifted++;
+                maxValueDrift = maxValueDrift.max(outcome.valueDrift());
+                if (driftedOwnerIds.size() < DRIFT_SAMPLE_SIZE) {
+                    driftedOwnerIds.add(outcome.ownerId());
+                }
+            }
+            return this;
+        }
+
+        ValuationRepairReport toReport(long durationMillis) {
+            return new ValuationRepairReport(owners, drifted, missing, maxValueDrift, driftedOwnerIds, durationMillis);
+        }
+    }
+}
@@ -1,40 +1,132 @@
 package com.example.service;
 
+import com.example.config.BulkConfiguration;
+import com.example.model.BatchGetResult;
+import com.example.model.BulkResult;
+import com.example.model.CardFacets;
 import com.example.model.PokemonCard;
+import com.example.repository.FieldProjection;
+import com.example.repository.PageCursor;
 import com.example.repository.PokemonCardRepository;
+import io.micronaut.core.annotation.Nullable;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Singleton
 public class PokemonCardService {
     
     private final PokemonCardRepository pokemonCardRepository;
+    private final BulkConfiguration bulkConfiguration;
+    private final CardFacetCache cardFacetCache;
+    private final OwnerValuationService ownerValuationService;
+    private final BulkValidation bulkValidation;
     
     @Inject
-    public PokemonCardService(PokemonCardRepository pokemonCardRepository) {
+    public PokemonCardService(PokemonCardRepository pokemonCardRepository,
+                              BulkConfiguration bulkConfiguration,
+                              CardFacetCache cardFacetCache,
+                              OwnerValuationService ownerValuationService,
+                              BulkValidation bulkValidation) {
         this.pokemonCardRepository = pokemonCardRepository;
+        this.bulkConfiguration = bulkConfiguration;
+        this.cardFacetCache = cardFacetCache;
+        this.ownerValuationService = ownerValuationService;
+        this.bulkValidation = bulkValidation;
     }
     
     public Mono<PokemonCard> createCard(PokemonCard card) {
         card.setCreatedAt(LocalDateTime.now());
         card.setUpdatedAt(LocalDateTime.now());
-        return pokemonCardRepository.save(card);
+        return pokemonCardRepository.save(card)
+                .doFinally(signal -> cardFacetCache.invalidate());
+    }
+    
+    /**
+     * Validates each card like the single-card routes do and writes the valid ones in chunks. Cards that
+     * already exist keep their stored {@code createdAt}; new cards get the current time. The price and type
+     * of existing cards are read before each chunk is written, and holders of cards whose price or type
+     * changed get the same delta as a single update.
+     */
+    public Mono<BulkResult> bulkUpsertCards(Flux<PokemonCard> cards) {
+        return cards
+                .doOnNext(card -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    card.setCreatedAt(now);
+                    card.setUpdatedAt(now);
+                })
+                .index()
+                .buffer(bulkConfiguration.getChunkSize())
+                .flatMapSequential(items -> {
+                    BulkValidation.Chunk<PokemonCard> chunk = bulkValidation.check(items, PokemonCard::getId);
+                    return pokemonCardRepository.findValuedFieldsById(idsOf(chunk.documents()))
+                            .collectMap(PokemonCard::getId)
+                            .flatMapMany(previous -> pokemonCardRepository
+                                    .bulkUpsert(chunk.documents(), chunk.indexes())
+                                    .collectList()
+                                    .flatMapMany(written -> revalueHolders(previous, chunk.documents(), written)
+                                            .thenMany(Flux.fromIterable(written))))
+                            .concatWith(Flux.fromIterable(chunk.rejected()));
+                }, bulkConfiguration.getMaxInFlight())
+                .collectSortedList(BulkValidation.BY_INDEX)
+                .map(BulkResult::new)
+                .doFinally(signal -> cardFacetCache.invalidate());
+    }
+    
+    private static List<String> idsOf(List<PokemonCard> cards) {
+        return cards.stream()
+                .map(PokemonCard::getId)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+    
+    /**
+     * Applies {@link OwnerValuationService#cardChanged} for every upserted card that existed before the write.
+     * A card repeated within the chunk moves its holders once, from the stored version to the last one.
+     */
+    private Mono<Void> revalueHolders(Map<String, PokemonCard> previous,
+                                      List<PokemonCard> cards,
+                                      List<BulkResult.Item> written) {
+        Map<String, PokemonCard> byId = cards.stream()
+                .filter(card -> card.getId() != null)
+                .collect(Collectors.toMap(PokemonCard::getId, card -> card, (first, second) -> second));
+        return Flux.fromIterable(written)
+                .filter(item -> BulkResult.UPSERTED.equals(item.getStatus()) && previous.containsKey(item.getId()))
+                .map(BulkResult.Item::getId)
+                .distinct()
+                .concatMap(id -> ownerValuationService.cardChanged(previous.get(id), byId.get(id)))
+                .then();
+    }
+    
+    /**
+     * Inserts cards that already carry ids and timestamps, as produced by the data generator.
+     */
+    public Mono<Integer> insertCards(List<PokemonCard> cards) {
+        return pokemonCardRepository.insertAll(cards)
+                .doFinally(signal -> cardFacetCache.invalidate());
     }
     
     public Mono<PokemonCard> updateCard(String id, PokemonCard updatedCard) {
         return pokemonCardRepository.findById(id)
                 .switchIfEmpty(Mono.error(new RuntimeException("Card not found with id: " + id)))
-                .map(existingCard -> {
+                .flatMap(existingCard -> {
                     updatedCard.setId(existingCard.getId());
                     updatedCard.setCreatedAt(existingCard.getCreatedAt());
                     updatedCard.setUpdatedAt(LocalDateTime.now());
-                    return updatedCard;
+                    return pokemonCardRepository.replace(updatedCard)
+                            .switchIfEmpty(Mono.error(new RuntimeException("Card not found with id: " + id)))
+                            .flatMap(replaced -> ownerValuationService.cardChanged(replaced, updatedCard)
+                                    .thenReturn(updatedCard));
                 })
-                .flatMap(pokemonCardRepository::save);
+                .doFinally(signal -> cardFacetCache.invalidate());
     }
     
     public Mono<PokemonCard> findById(String id) {
@@ -42,33 +134,69 @@ public class PokemonCardService {
                 .switchIfEmpty(Mono.error(new RuntimeException("Card not found with id: " + id)));
     }
     
-    public Flux<PokemonCard> findAll() {
-        return pokemonCardRepository.findAll();
+    public Mono<LocalDateTime> findUpdatedAt(String id) {
+        return pokemonCardRepository.findUpdatedAt(id);
     }
     
-    public Flux<PokemonCard> findByType(String type) {
-        return pokemonCardRepository.findByType(type);
+    public Mono<BatchGetResult<PokemonCard>> findByIds(List<String> ids) {
+        return pokemonCardRepository.findAllById(ids)
+                .collectMap(PokemonCard::getId)
+                .map(found -> BatchGetResult.inRequestOrder(ids, found));
     }
     
-    public Flux<PokemonCard> findByRarity(String rarity) {
-        return pokemonCardRepository.findByRarity(rarity);
+    public Flux<PokemonCard> findAll(@Nullable PageCursor after, int limit, FieldProjection projection) {
+        return pokemonCardRepository.findAll(after, limit, projection);
     }
     
-    public Flux<PokemonCard> findBySet(String set) {
-        return pokemonCardRepository.findBySet(set);
+    public Flux<PokemonCard> findByType(String type,
+                                        @Nullable PageCursor after,
+                                        int limit,
+                                        FieldProjection projection) {
+        return pokemonCardRepository.findByType(type, after, limit, projection);
     }
     
-    public Flux<PokemonCard> searchByName(String name) {
-        return pokemonCardRepository.findByName(name);
+    public Flux<PokemonCard> findByRarity(String rarity,
+                                          @Nullable PageCursor after,
+                                          int limit,
+                                          FieldProjection projection) {
+        return pokemonCardRepository.findByRarity(rarity, after, limit, projection);
+    }
+    
+    public Flux<PokemonCard> findBySet(String set,
+                                       @Nullable PageCursor after,
+                                       int limit,
+                                       FieldProjection projection) {
+        return pokemonCardRepository.findBySet(set, after, limit, projection);
+    }
+    
+    public Flux<PokemonCard> findByPriceRange(@Nullable BigDecimal min,
+                                              @Nullable BigDecimal max,
+                                              boolean ascending,
+                                              @Nullable PageCursor after,
+                                              int limit,
+                                              FieldProjection projection) {
+        return pokemonCardRepository.findByPriceRange(min, max, ascending, after, limit, projection);
+    }
+    
+    public Flux<PokemonCard> searchByName(String name,
+                                          @Nullable PageCursor after,
+                                          int limit,
+                                          FieldProjection projection) {
+        return pokemonCardRepository.findByName(name, after, limit, projection);
     }
     
     public Mono<Void> deleteCard(String id) {
-        return pokemonCardRepository.findById(id)
+        return pokemonCardRepository.deleteById(id)
                 .switchIfEmpty(Mono.error(new RuntimeException("Card not found with id: " + id)))
-                .flatMap(card -> pokemonCardRepository.deleteById(id));
+                .flatMap(ownerValuationService::cardDeleted)
+                .doFinally(signal -> cardFacetCache.invalidate());
     }
     
     public Mono<Long> countCards() {
         return pokemonCardRepository.count();
     }
+    
+    public Mono<CardFacets> getFacets() {
+        return cardFacetCache.get();
+    }
 }
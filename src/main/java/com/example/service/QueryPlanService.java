@@ -0,0 +1,163 @@
+package com.example.service;
+
+import com.example.repository.CardOwnerRepository;
+import com.example.repository.PokemonCardRepository;
+import com.example.repository.QueryShape;
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.reactivestreams.client.FindPublisher;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.bson.Document;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Explains every query shape the repositories issue and reports index usage, so missing or unused indexes
+ * show up from the service itself. Sample values are taken from an existing document where there is one.
+ */
+@Singleton
+public class QueryPlanService {
+
+    private static final int SAMPLE_LIMIT = 50;
+    private static final int EXAMINED_PER_RETURNED = 10;
+    private static final Set<String> DOCUMENT_STAGES = Set.of("FETCH", "COLLSCAN");
+
+    private final MongoDatabase database;
+
+    @Inject
+    public QueryPlanService(MongoClient mongoClient) {
+        this.database = mongoClient.getDatabase("pokemon_db");
+    }
+
+    /**
+     * One summary per query shape: winning plan stages, indexes used, docs and keys examined vs returned,
+     * whether the plan includes a collection scan, and whether the filter is not fully served by index
+     * bounds ({@code unindexed}).
+     */
+    public Mono<List<Map<String, Object>>> explainQueryShapes() {
+        Mono<List<QueryShape>> cardShapes = sample("pokemon_cards")
+                .map(sample -> PokemonCardRepository.queryShapes(sample, SAMPLE_LIMIT));
+        Mono<List<QueryShape>> ownerShapes = sample("card_owners")
+                .map(sample -> CardOwnerRepository.queryShapes(sample, SAMPLE_LIMIT));
+        return Flux.concat(cardShapes, ownerShapes)
+                .flatMapIterable(shapes -> shapes)
+                .concatMap(this::explain)
+                .collectList();
+    }
+
+    /**
+     * {@code $indexStats} for a collection: each index with its key and how often it was used since
+     * the server started or the index was built.
+     */
+    public Mono<List<Map<String, Object>>> indexUsage(String collectionName) {
+        return Flux.from(database.getCollection(collectionName)
+                        .aggregate(List.of(new Document("$indexStats", new Document()))))
+                .map(QueryPlanService::summarizeIndexStats)
+                .collectList();
+    }
+
+    private Mono<Document> sample(String collectionName) {
+        return Mono.from(database.getCollection(collectionName).find().first())
+                .defaultIfEmpty(new Document());
+    }
+
+    private Mono<Map<String, Object>> explain(QueryShape shape) {
+        FindPublisher<Document> find = database.getCollection(shape.getCollection())
+                .find(shape.getFilter())
+                .limit(shape.getLimit());
+        if (shape.getSort() != null) {
+            find = find.sort(shape.getSort());
+        }
+        return Mono.from(find.explain(Document.class, ExplainVerbosity.EXECUTION_STATS))
+                .map(explain -> summarizeExplain(shape, explain));
+    }
+
+    static Map<String, Object> summarizeExplain(QueryShape shape, Document explain) {
+        Document queryPlanner = explain.get("queryPlanner", new Document());
+        Document winningPlan = queryPlanner.get("winningPlan", new Document());
+        // Plans executed by the slot-based engine wrap the classic plan tree in "queryPlan"
+        Document plan = winningPlan.get("queryPlan", winningPlan);
+
+        List<String> stages = new ArrayList<>();
+        List<String> indexes = new ArrayList<>();
+        List<Document> residualFilters = new ArrayList<>();
+        collectStages(plan, stages, indexes, residualFilters);
+
+        Document stats = explain.get("executionStats", new Document());
+        boolean collscan = stages.contains("COLLSCAN");
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("query", shape.getName());
+        summary.put("collection", shape.getCollection());
+        summary.put("winningPlan", String.join(" <- ", stages));
+        summary.put("indexesUsed", indexes);
+        summary.put("collscan", collscan);
+        summary.put("unindexed", collscan || !residualFilters.isEmpty() || examinesFarMoreThanReturned(stats));
+        summary.put("residualFilter", residualFilters.stream().map(Document::toJson).toList());
+        summary.put("docsExamined", stats.get("totalDocsExamined"));
+        summary.put("keysExamined", stats.get("totalKeysExamined"));
+        summary.put("returned", stats.get("nReturned"));
+        summary.put("executionTimeMillis", stats.get("executionTimeMillis"));
+        return summary;
+    }
+
+    /**
+     * True when documents are examined far beyond what is returned, which catches selective predicates the
+     * index bounds miss even when the plan shape looks indexed.
+     */
+    private static boolean examinesFarMoreThanReturned(Document stats) {
+        long examined = longOf(stats.get("totalDocsExamined"));
+        long returned = longOf(stats.get("nReturned"));
+        return examined > EXAMINED_PER_RETURNED * Math.max(1, returned);
+    }
+
+    private static long longOf(Object value) {
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+
+    /**
+     * Walks the plan tree. A {@code filter} on a document-reading stage (FETCH, COLLSCAN) is a predicate the
+     * index bounds did not cover, applied to every document read.
+     */
+    private static void collectStages(Document node,
+                                      List<String> stages,
+                                      List<String> indexes,
+                                      List<Document> residualFilters) {
+        String stage = node.getString("stage");
+        if (stage != null) {
+            stages.add(stage);
+        }
+        String indexName = node.getString("indexName");
+        if (indexName != null) {
+            indexes.add(indexName);
+        }
+        Document filter = node.get("filter", Document.class);
+        if (filter != null && !filter.isEmpty() && DOCUMENT_STAGES.contains(stage)) {
+            residualFilters.add(filter);
+        }
+        Document input = node.get("inputStage", Document.class);
+        if (input != null) {
+            collectStages(input, stages, indexes, residualFilters);
+        }
+        for (Document child : node.getList("inputStages", Document.class, List.of())) {
+            collectStages(child, stages, indexes, residualFilters);
+        }
+    }
+
+    private static Map<String, Object> summarizeIndexStats(Document indexStats) {
+        Document accesses = indexStats.get("accesses", new Document());
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("name", indexStats.getString("name"));
+        summary.put("key", indexStats.get("key"));
+        summary.put("ops", accesses.get("ops"));
+        summary.put("since", accesses.get("since"));
+        return summary;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.service;
+
+import io.micronaut.core.order.Ordered;
+import reactor.core.publisher.Mono;
+
+/**
+ * One step of the {@link StartupPipeline}. Phases run one after another in {@link #getOrder()} order,
+ * each starting as soon as the previous one completes.
+ */
+public interface StartupPhase extends Ordered {
+
+    int CONNECT = 0;
+    int MIGRATE = 100;
+    int VERIFY = 200;
+    int SEED = 300;
+
+    String getName();
+
+    Mono<Void> run();
+}
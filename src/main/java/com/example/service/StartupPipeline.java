@@ -0,0 +1,116 @@
+package com.example.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the enabled {@link StartupPhase}s (connect, migrate, verify, seed) in sequence on startup and tracks
+ * how long each took. The service reports ready only once every phase has completed.
+ */
+@Singleton
+public class StartupPipeline implements ApplicationEventListener<StartupEvent> {
+
+    public enum Status { STARTING, READY, FAILED }
+
+    private static final Logger LOG = LoggerFactory.getLogger(StartupPipeline.class);
+
+    private final List<StartupPhase> phases;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Long> phaseMillis = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private volatile Status status = Status.STARTING;
+    private volatile String failure;
+    private volatile long bootToReadyMillis = -1;
+
+    @Inject
+    public StartupPipeline(List<StartupPhase> phases, MeterRegistry meterRegistry) {
+        this.phases = new ArrayList<>(phases);
+        this.phases.sort(Comparator.comparingInt(StartupPhase::getOrder));
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        LOG.info("🚦 Running startup phases: {}", phases.stream().map(StartupPhase::getName).toList());
+        run().subscribe(
+                unused -> { },
+                error -> {
+                    failure = error.getMessage();
+                    status = Status.FAILED;
+                    LOG.error("❌ Startup failed; the service will stay not-ready", error);
+                },
+                () -> {
+                    bootToReadyMillis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+                    status = Status.READY;
+                    LOG.info("✅ Ready in {} ms since JVM start (phases: {})", bootToReadyMillis, getPhaseMillis());
+                }
+        );
+    }
+
+    Mono<Void> run() {
+        return Flux.fromIterable(phases)
+                .concatMap(this::timed)
+                .then();
+    }
+
+    private Mono<Void> timed(StartupPhase phase) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return phase.run().doOnSuccess(unused -> {
+                long elapsed = System.nanoTime() - start;
+                phaseMillis.put(phase.getName(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+                Timer.builder("app.startup.phase")
+                        .description("Duration of each startup phase")
+                        .tag("phase", phase.getName())
+                        .register(meterRegistry)
+                        .record(elapsed, TimeUnit.NANOSECONDS);
+                LOG.info("✓ Startup phase '{}' completed in {} ms", phase.getName(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+            });
+        });
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isReady() {
+        return status == Status.READY;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    /**
+     * Milliseconds from JVM start until the last phase completed; {@code -1} until then.
+     */
+    public long getBootToReadyMillis() {
+        return bootToReadyMillis;
+    }
+
+    /**
+     * Duration of each completed phase, in run order.
+     */
+    public Map<String, Long> getPhaseMillis() {
+        synchronized (phaseMillis) {
+            return new LinkedHashMap<>(phaseMillis);
+        }
+    }
+}
@@ -1,47 +1,126 @@
 package com.example.util;
 
+import com.example.config.SeedConfiguration;
 import com.example.model.CardOwner;
 import com.example.model.PokemonCard;
 import com.example.service.CardOwnerService;
 import com.example.service.PokemonCardService;
+import com.example.service.StartupPhase;
 import io.micronaut.context.annotation.Requires;
-import io.micronaut.context.event.ApplicationEventListener;
-import io.micronaut.context.event.StartupEvent;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongFunction;
 
 @Singleton
 @Requires(property = "app.seed-data", value = "true", defaultValue = "false")
-public class DataSeeder implements ApplicationEventListener<StartupEvent> {
+public class DataSeeder implements StartupPhase {
 
     private static final Logger LOG = LoggerFactory.getLogger(DataSeeder.class);
 
     private final PokemonCardService pokemonCardService;
     private final CardOwnerService cardOwnerService;
+    private final SeedConfiguration seedConfiguration;
 
     @Inject
-    public DataSeeder(PokemonCardService pokemonCardService, CardOwnerService cardOwnerService) {
+    public DataSeeder(PokemonCardService pokemonCardService,
+                      CardOwnerService cardOwnerService,
+                      SeedConfiguration seedConfiguration) {
         this.pokemonCardService = pokemonCardService;
         this.cardOwnerService = cardOwnerService;
+        this.seedConfiguration = seedConfiguration;
     }
 
     @Override
-    public void onApplicationEvent(StartupEvent event) {
-        LOG.info("Seeding initial data...");
-        
-        seedPokemonCards();
-        seedCardOwners();
-        
-        LOG.info("Data seeding completed!");
+    public String getName() {
+        return "seed";
     }
 
-    private void seedPokemonCards() {
+    @Override
+    public int getOrder() {
+        return SEED;
+    }
+
+    /**
+     * Seeds only an empty database, so restarts do not trip the unique indexes. Inserts the sample
+     * documents, or a generated dataset when {@code app.seed.cards} or {@code app.seed.owners} is set.
+     * Readiness waits for this phase, so a generated dataset keeps the instance out of rotation until every
+     * document is in; {@link SeedCli} generates one ahead of time instead.
+     */
+    @Override
+    public Mono<Void> run() {
+        return pokemonCardService.countCards().flatMap(existing -> {
+            if (existing > 0) {
+                LOG.info("Skipping data seeding: {} card(s) already present", existing);
+                return Mono.empty();
+            }
+            if (seedConfiguration.isSynthetic()) {
+                return generate();
+            }
+            LOG.info("Seeding initial data...");
+            return seedPokemonCards()
+                .then(seedCardOwners())
+                .doOnSuccess(unused -> LOG.info("Data seeding completed!"));
+        });
+    }
+
+    private Mono<Void> generate() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(seedConfiguration);
+        LOG.info("Generating {} card(s) and {} owner(s) from seed {}; readiness waits until it completes",
+            seedConfiguration.getCards(), seedConfiguration.getOwners(), seedConfiguration.getRandomSeed());
+        return load("cards", seedConfiguration.getCards(), generator::card, pokemonCardService::insertCards)
+            .then(load("owners", seedConfiguration.getOwners(), generator::owner, cardOwnerService::insertOwners));
+    }
+
+    /**
+     * Generates and inserts {@code total} documents in batches of {@code app.seed.batch-size}. Up to
+     * {@code app.seed.concurrency} batches are generated on the parallel scheduler and awaiting
+     * {@code insertMany} at once.
+     */
+    private <T> Mono<Void> load(String kind,
+                                long total,
+                                LongFunction<T> generate,
+                                Function<List<T>, Mono<Integer>> insert) {
+        if (total == 0) {
+            return Mono.empty();
+        }
+        int batchSize = seedConfiguration.getBatchSize();
+        int batches = Math.toIntExact((total + batchSize - 1) / batchSize);
+        return Mono.defer(() -> {
+            Progress progress = new Progress(kind, total, seedConfiguration.getProgressInterval());
+            return Flux.range(0, batches)
+                .flatMap(batch -> Mono.fromCallable(() -> batch(batch, batchSize, total, generate))
+                    .subscribeOn(Schedulers.parallel())
+                    .flatMap(insert), seedConfiguration.getConcurrency())
+                .doOnNext(progress::record)
+                .doOnComplete(progress::finish)
+                .then();
+        });
+    }
+
+    private static <T> List<T> batch(int batch, int batchSize, long total, LongFunction<T> generate) {
+        long start = (long) batch * batchSize;
+        long end = Math.min(start + batchSize, total);
+        List<T> documents = new ArrayList<>((int) (end - start));
+        for (long index = start; index < end; index++) {
+            documents.add(generate.apply(index));
+        }
+        return documents;
+    }
+
+    private Mono<Void> seedPokemonCards() {
         List<PokemonCard> cards = Arrays.asList(
             new PokemonCard(
                 "Pikachu",
@@ -90,14 +169,13 @@ public class DataSeeder implements ApplicationEventListener<StartupEvent> {
             )
         );
 
-        cards.forEach(card -> {
-            pokemonCardService.createCard(card)
-                .doOnSuccess(savedCard -> LOG.info("Created card: {}", savedCard.getName()))
-                .subscribe();
-        });
+        return Flux.fromIterable(cards)
+            .concatMap(card -> pokemonCardService.createCard(card)
+                .doOnSuccess(savedCard -> LOG.info("Created card: {}", savedCard.getName())))
+            .then();
     }
 
-    private void seedCardOwners() {
+    private Mono<Void> seedCardOwners() {
         List<CardOwner> owners = Arrays.asList(
             new CardOwner(
                 "Ash",
@@ -125,10 +203,50 @@ public class DataSeeder implements ApplicationEventListener<StartupEvent> {
             )
         );
 
-        owners.forEach(owner -> {
-            cardOwnerService.createOwner(owner)
-                .doOnSuccess(savedOwner -> LOG.info("Created owner: {} {}", savedOwner.getFirstName(), savedOwner.getLastName()))
-                .subscribe();
-        });
+        return Flux.fromIterable(owners)
+            .concatMap(owner -> cardOwnerService.createOwner(owner)
+                .doOnSuccess(savedOwner -> LOG.info("Created owner: {} {}", savedOwner.getFirstName(), savedOwner.getLastName())))
+            .then();
+    }
+
+    /**
+     * Logs inserted counts and throughput at most once per interval while a load runs.
+     */
+    private static final class Progress {
+
+        private final String kind;
+        private final long total;
+        private final long intervalNanos;
+        private final long start = System.nanoTime();
+        private final AtomicLong inserted = new AtomicLong();
+        private final AtomicLong nextReport;
+
+        Progress(String kind, long total, Duration interval) {
+            this.kind = kind;
+            this.total = total;
+            this.intervalNanos = interval.toNanos();
+            this.nextReport = new AtomicLong(start + intervalNanos);
+        }
+
+        void record(int count) {
+            long done = inserted.addAndGet(count);
+            long now = System.nanoTime();
+            long due = nextReport.get();
+            if (now >= due && nextReport.compareAndSet(due, now + intervalNanos)) {
+                LOG.info("Inserted {}/{} {} ({}%, {} docs/s)",
+                    done, total, kind, done * 100 / total, rate(done, now));
+            }
+        }
+
+        void finish() {
+            long now = System.nanoTime();
+            LOG.info("Inserted {} {} in {} ms ({} docs/s)",
+                inserted.get(), kind, (now - start) / 1_000_000, rate(inserted.get(), now));
+        }
+
+        private long rate(long done, long now) {
+            long elapsed = Math.max(1, now - start);
+            return done * 1_000_000_000L / elapsed;
+        }
     }
 }
@@ -0,0 +1,87 @@
+package com.example.util;
+
+import com.example.model.DumpResult;
+import com.example.service.DumpService;
+import com.example.service.StartupPipeline;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command-line export and import, run instead of the HTTP server:
+ * <pre>
+ * java -jar app.jar export &lt;collection&gt; &lt;file&gt; [--format=ndjson|bson]
+ * java -jar app.jar import &lt;collection&gt; &lt;file&gt; [--format=ndjson|bson] [--replace]
+ * </pre>
+ * The file path is used as given. The application context starts without the server or the seed phase.
+ * Migrations still run, so an import into an empty database gets its indexes first.
+ */
+public final class DumpCli {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DumpCli.class);
+    private static final String USAGE = "Usage: export|import <collection> <file> [--format=ndjson|bson] [--replace]";
+
+    private DumpCli() {}
+
+    public static boolean handles(String[] args) {
+        return args.length > 0 && ("export".equals(args[0]) || "import".equals(args[0]));
+    }
+
+    /**
+     * Runs the command and returns the process exit code.
+     */
+    public static int run(String[] args) {
+        if (args.length < 3) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        String command = args[0];
+        String collection = args[1];
+        Path file = Path.of(args[2]);
+        String format = null;
+        boolean replace = false;
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].startsWith("--format=")) {
+                format = args[i].substring("--format=".length());
+            } else if ("--replace".equals(args[i]) && "import".equals(command)) {
+                replace = true;
+            } else {
+                System.err.println("Unknown option " + args[i] + "\n" + USAGE);
+                return 2;
+            }
+        }
+
+        try (ApplicationContext context = ApplicationContext.run(Map.of("app.seed-data", false))) {
+            awaitStartup(context.getBean(StartupPipeline.class));
+            DumpService dumpService = context.getBean(DumpService.class);
+            DumpFormat dumpFormat = DumpFormat.of(format, file);
+            DumpResult result = "export".equals(command)
+                    ? dumpService.export(collection, file, dumpFormat).block()
+                    : dumpService.importFile(collection, file, dumpFormat, replace).block();
+            byte[] json = context.getBean(JsonMapper.class).writeValueAsBytes(result);
+            System.out.println(new String(json, StandardCharsets.UTF_8));
+            return 0;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return 2;
+        } catch (Exception e) {
+            LOG.error("{} of {} failed", command, collection, e);
+            return 1;
+        }
+    }
+
+    static void awaitStartup(StartupPipeline pipeline) throws InterruptedException {
+        while (pipeline.getStatus() == StartupPipeline.Status.STARTING) {
+            TimeUnit.MILLISECONDS.sleep(200);
+        }
+        if (pipeline.getStatus() == StartupPipeline.Status.FAILED) {
+            throw new IllegalStateException("Startup failed: " + pipeline.getFailure());
+        }
+    }
+}
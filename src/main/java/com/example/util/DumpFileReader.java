@@ -0,0 +1,173 @@
+package com.example.util;
+
+import io.micronaut.core.annotation.Nullable;
+import org.bson.BsonInvalidOperationException;
+import org.bson.RawBsonDocument;
+import org.bson.json.JsonParseException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a dump one document at a time through a fixed-size buffer, so memory use is bounded by the buffer
+ * and the largest document rather than the file. A BSON document or JSON line may span any number of reads,
+ * up to {@link #MAX_LINE_SIZE} bytes per line, so a file without newlines fails instead of filling the heap.
+ * Not thread-safe.
+ */
+public final class DumpFileReader implements Closeable {
+
+    // Largest document the server accepts plus room for the command envelope, as the driver allows.
+    private static final int MAX_DOCUMENT_SIZE = 16 * 1024 * 1024 + 16 * 1024;
+    // Extended JSON spells out what BSON packs in binary, e.g. base64 binaries and type wrappers.
+    static final int MAX_LINE_SIZE = 2 * MAX_DOCUMENT_SIZE;
+
+    private final FileChannel channel;
+    private final DumpFormat format;
+    private final ByteBuffer buffer;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+    private long offset;
+    private long documents;
+    private long lines;
+
+    public DumpFileReader(Path file, DumpFormat format, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.format = format;
+        this.buffer = ByteBuffer.allocate(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+        this.buffer.flip();
+    }
+
+    /**
+     * The next document, or {@code null} at the end of the file.
+     *
+     * @throws IllegalArgumentException if the file holds something other than documents in its format
+     */
+    @Nullable
+    public RawBsonDocument next() throws IOException {
+        RawBsonDocument document = format == DumpFormat.BSON ? nextBson() : nextJson();
+        if (document != null) {
+            documents++;
+        }
+        return document;
+    }
+
+    public long getDocuments() {
+        return documents;
+    }
+
+    /**
+     * Bytes consumed so far.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    @Nullable
+    private RawBsonDocument nextBson() throws IOException {
+        while (buffer.remaining() < Integer.BYTES) {
+            if (!fill()) {
+                if (buffer.hasRemaining()) {
+                    throw new EOFException("Truncated BSON document at byte " + offset);
+                }
+                return null;
+            }
+        }
+        int length = buffer.getInt(buffer.position());
+        if (length < 5 || length > MAX_DOCUMENT_SIZE) {
+            throw new IllegalArgumentException("Invalid BSON document length " + length + " at byte " + offset);
+        }
+        byte[] bytes = new byte[length];
+        int copied = 0;
+        while (copied < length) {
+            if (!buffer.hasRemaining() && !fill()) {
+                throw new EOFException("Truncated BSON document at byte " + offset);
+            }
+            int chunk = Math.min(buffer.remaining(), length - copied);
+            buffer.get(bytes, copied, chunk);
+            copied += chunk;
+        }
+        offset += length;
+        return new RawBsonDocument(bytes);
+    }
+
+    @Nullable
+    private RawBsonDocument nextJson() throws IOException {
+        while (true) {
+            if (!readLine()) {
+                return null;
+            }
+            String json = line.toString(StandardCharsets.UTF_8).trim();
+            if (json.isEmpty()) {
+                continue;
+            }
+            RawBsonDocument document;
+            try {
+                document = RawBsonDocument.parse(json);
+            } catch (JsonParseException | BsonInvalidOperationException e) {
+                throw new IllegalArgumentException("Invalid JSON document on line " + lines + ": " + e.getMessage(), e);
+            }
+            if (document.getByteBuffer().remaining() > MAX_DOCUMENT_SIZE) {
+                throw new IllegalArgumentException("Document on line " + lines + " is "
+                        + document.getByteBuffer().remaining() + " bytes as BSON, more than the "
+                        + MAX_DOCUMENT_SIZE + " MongoDB accepts");
+            }
+            return document;
+        }
+    }
+
+    /**
+     * Reads up to the next newline into {@link #line}. False once the file is exhausted.
+     *
+     * @throws IllegalArgumentException if the line is longer than {@link #MAX_LINE_SIZE}
+     */
+    private boolean readLine() throws IOException {
+        line.reset();
+        while (true) {
+            if (!buffer.hasRemaining() && !fill()) {
+                if (line.size() == 0) {
+                    return false;
+                }
+                lines++;
+                return true;
+            }
+            int start = buffer.position();
+            int end = buffer.limit();
+            int newline = start;
+            while (newline < end && buffer.get(newline) != '\n') {
+                newline++;
+            }
+            if (line.size() + newline - start > MAX_LINE_SIZE) {
+                throw new IllegalArgumentException("Line " + (lines + 1) + " is longer than " + MAX_LINE_SIZE
+                        + " bytes; the file is not one JSON document per line");
+            }
+            line.write(buffer.array(), buffer.arrayOffset() + start, newline - start);
+            if (newline < end) {
+                buffer.position(newline + 1);
+                offset += newline + 1 - start;
+                lines++;
+                return true;
+            }
+            buffer.position(end);
+            offset += end - start;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        buffer.compact();
+        int read = channel.read(buffer);
+        buffer.flip();
+        return read > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
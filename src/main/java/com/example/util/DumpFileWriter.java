@@ -0,0 +1,111 @@
+package com.example.util;
+
+import org.bson.RawBsonDocument;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a dump through a fixed-size buffer into {@code <file>.partial}, which {@link #commit()} moves into
+ * place. An interrupted export never leaves a file that looks complete. Not thread-safe.
+ */
+public final class DumpFileWriter {
+
+    private static final JsonWriterSettings RELAXED = JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final Path file;
+    private final Path partial;
+    private final DumpFormat format;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long documents;
+    private long bytes;
+
+    public DumpFileWriter(Path file, DumpFormat format, int bufferSize) throws IOException {
+        this.file = file;
+        this.partial = file.resolveSibling(file.getFileName() + ".partial");
+        this.format = format;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(partial,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    public void write(RawBsonDocument document) {
+        try {
+            if (format == DumpFormat.BSON) {
+                put(document.getByteBuffer().asNIO());
+            } else {
+                put(ByteBuffer.wrap(document.toJson(RELAXED).getBytes(StandardCharsets.UTF_8)));
+                put(ByteBuffer.wrap(NEWLINE));
+            }
+            documents++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void put(ByteBuffer source) throws IOException {
+        bytes += source.remaining();
+        if (source.remaining() > buffer.remaining()) {
+            flush();
+            if (source.remaining() > buffer.capacity()) {
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+                return;
+            }
+        }
+        buffer.put(source);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes, syncs and moves the file into place, replacing any previous dump of the same name.
+     */
+    public void commit() throws IOException {
+        flush();
+        channel.force(false);
+        channel.close();
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Discards the partial file. Safe to call after a failed write or commit.
+     */
+    public void abort() {
+        try {
+            channel.close();
+            Files.deleteIfExists(partial);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getDocuments() {
+        return documents;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.util;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Dump file layouts. {@link #BSON} is concatenated BSON documents, the same layout {@code mongodump} writes
+ * and {@code mongorestore} reads. {@link #NDJSON} is one relaxed Extended JSON document per line, which keeps
+ * Decimal128 prices and dates intact.
+ */
+public enum DumpFormat {
+
+    NDJSON("ndjson"),
+    BSON("bson");
+
+    private final String extension;
+
+    DumpFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * The named format, or the one implied by the file's extension when no name is given.
+     */
+    public static DumpFormat of(@Nullable String name, Path file) {
+        if (name != null && !name.isBlank()) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown dump format: " + name, e);
+            }
+        }
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".bson")) {
+            return BSON;
+        }
+        if (fileName.endsWith(".ndjson") || fileName.endsWith(".jsonl") || fileName.endsWith(".json")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the dump format of " + file + "; name it explicitly");
+    }
+}
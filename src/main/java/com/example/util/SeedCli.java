@@ -0,0 +1,61 @@
+package com.example.util;
+
+import com.example.service.StartupPipeline;
+import io.micronaut.context.ApplicationContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line dataset generation, run instead of the HTTP server:
+ * <pre>
+ * java -jar app.jar seed [--cards=N] [--owners=M] [--random-seed=S]
+ * </pre>
+ * Runs the startup phases, seed included, without the server and exits once the data is in. Generating a
+ * large dataset this way keeps it off the readiness path of the service instances that will use it. Any
+ * other {@code app.seed.*} setting is read from the usual configuration and environment.
+ */
+public final class SeedCli {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SeedCli.class);
+    private static final String USAGE = "Usage: seed [--cards=N] [--owners=M] [--random-seed=S]";
+
+    private SeedCli() {}
+
+    public static boolean handles(String[] args) {
+        return args.length > 0 && "seed".equals(args[0]);
+    }
+
+    /**
+     * Runs the command and returns the process exit code.
+     */
+    public static int run(String[] args) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("app.seed-data", true);
+        for (int i = 1; i < args.length; i++) {
+            String option = args[i];
+            int equals = option.indexOf('=');
+            String name = equals < 0 ? option : option.substring(0, equals);
+            if (equals < 0 || !(name.equals("--cards") || name.equals("--owners") || name.equals("--random-seed"))) {
+                System.err.println("Unknown option " + option + "\n" + USAGE);
+                return 2;
+            }
+            try {
+                properties.put("app.seed." + name.substring(2), Long.parseLong(option.substring(equals + 1)));
+            } catch (NumberFormatException e) {
+                System.err.println("Not a number: " + option + "\n" + USAGE);
+                return 2;
+            }
+        }
+
+        try (ApplicationContext context = ApplicationContext.run(properties)) {
+            DumpCli.awaitStartup(context.getBean(StartupPipeline.class));
+            return 0;
+        } catch (Exception e) {
+            LOG.error("Seeding failed", e);
+            return 1;
+        }
+    }
+}
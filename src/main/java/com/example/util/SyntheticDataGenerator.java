@@ -0,0 +1,184 @@
+package com.example.util;
+
+import com.example.config.SeedConfiguration;
+import com.example.model.CardOwner;
+import com.example.model.PokemonCard;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Builds cards and owners with skewed, catalogue-like distributions.
+ * <ul>
+ *   <li>Sets, types and names follow a Zipf distribution, and rarity a fixed mix from common to secret rare.</li>
+ *   <li>Prices are log-normal around a per-rarity base.</li>
+ *   <li>Owner collection sizes are Zipf-distributed between 0 and {@code maxOwnedCards}. Owners pick cards
+ *       by Zipf popularity, so a few cards are held by many owners.</li>
+ * </ul>
+ * Each document is drawn from its own generator seeded by the configured seed and its index. The same
+ * index always yields the same document, however the work is batched or parallelised. Ids are the index
+ * as 24 hex digits, so owners can refer to cards that have not been generated yet.
+ */
+public final class SyntheticDataGenerator {
+
+    static final LocalDateTime EPOCH = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+    private static final long CARD_STREAM = 0x636172645fL;
+    private static final long OWNER_STREAM = 0x6f776e65725fL;
+
+    private static final String[] NAMES = {"Pikachu", "Charizard", "Mewtwo", "Eevee", "Gengar", "Snorlax",
+            "Blastoise", "Venusaur", "Dragonite", "Lucario", "Gyarados", "Umbreon", "Rayquaza", "Jigglypuff",
+            "Bulbasaur", "Squirtle", "Charmander", "Mew", "Lapras", "Alakazam", "Machamp", "Arcanine", "Ditto",
+            "Psyduck", "Magikarp", "Onix", "Scyther", "Vaporeon", "Jolteon", "Flareon"};
+    private static final String[] TYPES = {"Fire", "Water", "Grass", "Electric", "Psychic", "Normal",
+            "Fighting", "Dragon", "Dark", "Steel", "Fairy", "Ice", "Ground", "Flying", "Bug", "Rock", "Ghost",
+            "Poison"};
+    private static final String[] SERIES = {"Base Set", "Jungle", "Fossil", "Team Rocket", "Gym Heroes",
+            "Neo Genesis", "Expedition", "Ruby & Sapphire", "Diamond & Pearl", "Black & White", "XY",
+            "Sun & Moon", "Sword & Shield", "Scarlet & Violet"};
+    private static final String[] RARITIES = {"Common", "Uncommon", "Rare", "Rare Holo", "Secret Rare"};
+    private static final double[] RARITY_ODDS = {0.55, 0.82, 0.94, 0.99, 1.0};
+    private static final double[] RARITY_BASE_PRICE = {0.25, 0.75, 3.00, 20.00, 150.00};
+    private static final String[] ABILITIES = {"Tackle", "Thunder Shock", "Fire Spin", "Vine Whip",
+            "Hydro Pump", "Psychic", "Hyper Beam", "Rest", "Body Slam", "Quick Attack", "Solar Beam",
+            "Dragon Rage", "Shadow Ball", "Earthquake", "Ice Beam"};
+    private static final String[] FIRST_NAMES = {"Ash", "Misty", "Brock", "Gary", "May", "Dawn", "Serena",
+            "Cilan", "Iris", "Max", "Tracey", "Jessie", "James", "Erika", "Sabrina", "Blaine", "Lance", "Cynthia"};
+    private static final String[] LAST_NAMES = {"Ketchum", "Waterflower", "Harrison", "Oak", "Maple", "Berlitz",
+            "Yvonne", "Stone", "Birch", "Elm", "Rowan", "Juniper", "Sycamore", "Kukui", "Magnolia", "Sada"};
+    private static final String[] CITIES = {"Pallet Town", "Viridian City", "Pewter City", "Cerulean City",
+            "Vermilion City", "Celadon City", "Saffron City", "Fuchsia City", "Cinnabar Island"};
+
+    private final long randomSeed;
+    private final long cards;
+    private final ZipfSampler names;
+    private final ZipfSampler types;
+    private final ZipfSampler sets;
+    private final ZipfSampler cardPopularity;
+    private final ZipfSampler collectionSizes;
+
+    public SyntheticDataGenerator(SeedConfiguration configuration) {
+        double skew = configuration.getPopularitySkew();
+        this.randomSeed = configuration.getRandomSeed();
+        this.cards = configuration.getCards();
+        this.names = new ZipfSampler(NAMES.length, skew);
+        this.types = new ZipfSampler(TYPES.length, skew);
+        this.sets = new ZipfSampler(configuration.getSets(), skew);
+        this.cardPopularity = cards > 0 ? new ZipfSampler(Math.toIntExact(cards), skew) : null;
+        this.collectionSizes = new ZipfSampler(configuration.getMaxOwnedCards() + 1,
+                configuration.getCollectionSizeSkew());
+    }
+
+    public static String cardId(long index) {
+        return String.format("%024x", index);
+    }
+
+    public static String ownerId(long index) {
+        return String.format("%024x", index);
+    }
+
+    public PokemonCard card(long index) {
+        SplittableRandom random = randomFor(CARD_STREAM, index);
+        int rarity = rarity(random.nextDouble());
+        PokemonCard card = new PokemonCard(
+                NAMES[names.sample(random) - 1] + " " + (index + 1),
+                TYPES[types.sample(random) - 1],
+                30 + 10 * random.nextInt(23),
+                RARITIES[rarity],
+                setName(sets.sample(random)),
+                price(RARITY_BASE_PRICE[rarity], random),
+                List.of(ABILITIES[random.nextInt(ABILITIES.length)], ABILITIES[random.nextInt(ABILITIES.length)]));
+        LocalDateTime createdAt = EPOCH.plusSeconds(index);
+        card.setId(cardId(index));
+        card.setCreatedAt(createdAt);
+        card.setUpdatedAt(createdAt);
+        return card;
+    }
+
+    public CardOwner owner(long index) {
+        SplittableRandom random = randomFor(OWNER_STREAM, index);
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        CardOwner owner = new CardOwner(
+                firstName,
+                lastName,
+                firstName.toLowerCase(Locale.ROOT) + "." + lastName.toLowerCase(Locale.ROOT) + "." + index + "@example.com",
+                String.format("555-%04d", random.nextInt(10_000)),
+                new CardOwner.Address(
+                        (1 + random.nextInt(999)) + " Route " + (1 + random.nextInt(30)),
+                        CITIES[random.nextInt(CITIES.length)],
+                        "Kanto",
+                        String.format("%05d", random.nextInt(100_000)),
+                        "Pokemon World"),
+                ownedCards(random));
+        LocalDateTime createdAt = EPOCH.plusSeconds(index);
+        owner.setId(ownerId(index));
+        owner.setCreatedAt(createdAt);
+        owner.setUpdatedAt(createdAt);
+        return owner;
+    }
+
+    /**
+     * Distinct card ids, mostly popular ones. Collections covering more than half the catalogue, and picks
+     * that keep landing on cards already chosen, are filled uniformly instead.
+     */
+    private List<String> ownedCards(SplittableRandom random) {
+        int size = (int) Math.min(collectionSizes.sample(random) - 1, cards);
+        if (size == 0) {
+            return new ArrayList<>();
+        }
+        Set<Long> picked = new LinkedHashSet<>(size * 2);
+        if (size > cards / 2) {
+            long offset = random.nextLong(cards);
+            for (long i = 0; i < size; i++) {
+                picked.add((offset + i) % cards);
+            }
+        } else {
+            for (long attempts = 8L * size; picked.size() < size && attempts > 0; attempts--) {
+                picked.add((long) cardPopularity.sample(random) - 1);
+            }
+            while (picked.size() < size) {
+                picked.add(random.nextLong(cards));
+            }
+        }
+        List<String> ids = new ArrayList<>(size);
+        for (long index : picked) {
+            ids.add(cardId(index));
+        }
+        return ids;
+    }
+
+    private SplittableRandom randomFor(long stream, long index) {
+        return new SplittableRandom(randomSeed ^ stream * 0x9E3779B97F4A7C15L ^ index * 0xBF58476D1CE4E5B9L);
+    }
+
+    private static int rarity(double roll) {
+        int rarity = 0;
+        while (roll >= RARITY_ODDS[rarity]) {
+            rarity++;
+        }
+        return rarity;
+    }
+
+    private static String setName(int rank) {
+        String series = SERIES[(rank - 1) % SERIES.length];
+        int edition = (rank - 1) / SERIES.length;
+        return edition == 0 ? series : series + " " + (edition + 1);
+    }
+
+    /**
+     * Log-normal around the rarity's base price, rounded to cents and never below one cent.
+     */
+    private static BigDecimal price(double base, SplittableRandom random) {
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        double price = Math.max(0.01, base * Math.exp(0.8 * gaussian));
+        return BigDecimal.valueOf(price).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.controller;
 
 import com.example.service.IndexVerificationService;
+import com.example.service.StartupPipeline;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.client.HttpClient;
@@ -14,6 +15,8 @@ import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +37,9 @@ class AdminControllerTest implements TestPropertyProvider {
     @Inject
     IndexVerificationService indexVerificationService;
 
+    @Inject
+    StartupPipeline startupPipeline;
+
     @Override
     public Map<String, String> getProperties() {
         mongoDBContainer.start();
@@ -110,4 +116,48 @@ class AdminControllerTest implements TestPropertyProvider {
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatus());
     }
+
+    @Test
+    void testQueryPlansFlagUnindexedFilters() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!startupPipeline.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+
+        var response = client.toBlocking().exchange(
+                HttpRequest.GET("/api/admin/query-plans"),
+                List.class
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        Map<String, Map<?, ?>> plans = new HashMap<>();
+        for (Object plan : response.getBody().orElseThrow()) {
+            Map<?, ?> summary = (Map<?, ?>) plan;
+            plans.put((String) summary.get("query"), summary);
+        }
+        for (String query : List.of("findByType", "findByRarity", "findBySet", "findByName",
+                "findByLastName", "findByOwnedCardId", "findByEmail")) {
+            assertTrue(plans.containsKey(query), "Missing plan for " + query);
+            assertTrue(plans.get(query).containsKey("docsExamined"));
+        }
+        // No index starts with set or rarity; the planner may walk the createdAt index for the sort, but
+        // the predicate is then applied to every fetched document
+        assertEquals(Boolean.TRUE, plans.get("findBySet").get("unindexed"));
+        assertEquals(Boolean.TRUE, plans.get("findByRarity").get("unindexed"));
+        assertEquals(Boolean.FALSE, plans.get("findByEmail").get("unindexed"));
+        assertEquals(Boolean.FALSE, plans.get("findByEmail").get("collscan"));
+    }
+
+    @Test
+    void testIndexUsage() {
+        var response = client.toBlocking().exchange(
+                HttpRequest.GET("/api/admin/index-usage"),
+                Map.class
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        Map<?, ?> result = response.getBody().orElseThrow();
+        List<?> cardIndexes = (List<?>) result.get("pokemon_cards");
+        assertTrue(cardIndexes.stream().anyMatch(index -> "_id_".equals(((Map<?, ?>) index).get("name"))));
+    }
 }
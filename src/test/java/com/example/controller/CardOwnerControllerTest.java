@@ -1,24 +1,39 @@
 package com.example.controller;
 
+import com.example.model.BulkResult;
 import com.example.model.CardOwner;
+import com.example.model.OwnerValuation;
+import com.example.model.Portfolio;
+import com.example.model.PokemonCard;
+import com.example.model.ValuationRepairReport;
+import com.example.repository.OwnerValuationRepository;
 import com.example.service.CardOwnerService;
+import com.example.service.PokemonCardService;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.client.HttpClient;
 import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import io.micronaut.test.support.TestPropertyProvider;
 import jakarta.inject.Inject;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -38,6 +53,15 @@ class CardOwnerControllerTest implements TestPropertyProvider {
     @Inject
     CardOwnerService cardOwnerService;
 
+    @Inject
+    PokemonCardService pokemonCardService;
+
+    @Inject
+    OwnerValuationRepository ownerValuationRepository;
+
+    @Inject
+    MongoClient mongoClient;
+
     private CardOwner testOwner;
 
     @Override
@@ -103,6 +127,28 @@ class CardOwnerControllerTest implements TestPropertyProvider {
         assertFalse(owners.isEmpty());
     }
 
+    @Test
+    void testGetAllOwnersWithFieldProjection() {
+        cardOwnerService.createOwner(testOwner).block();
+
+        var response = client.toBlocking().exchange(
+                HttpRequest.GET("/api/owners?limit=5&fields=_id,firstName,lastName"),
+                List.class
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertTrue(response.getBody().isPresent());
+        List<?> owners = response.getBody().get();
+        assertFalse(owners.isEmpty());
+
+        Map<?, ?> owner = (Map<?, ?>) owners.get(0);
+        assertTrue(owner.containsKey("_id"));
+        assertTrue(owner.containsKey("firstName"));
+        assertFalse(owner.containsKey("address"));
+        assertFalse(owner.containsKey("ownedCardIds"));
+        assertFalse(owner.containsKey("email"));
+    }
+
     @Test
     void testGetOwnerById() {
         // First create an owner
@@ -132,6 +178,189 @@ class CardOwnerControllerTest implements TestPropertyProvider {
         assertEquals(HttpStatus.NOT_FOUND, response.getStatus());
     }
 
+    @Test
+    void testConditionalGetOwner() {
+        CardOwner savedOwner = cardOwnerService.createOwner(testOwner).block();
+        assertNotNull(savedOwner);
+
+        var first = client.toBlocking().exchange(
+                HttpRequest.GET("/api/owners/" + savedOwner.getId()),
+                CardOwner.class
+        );
+        String etag = first.getHeaders().get("ETag");
+        String lastModified = first.getHeaders().get("Last-Modified");
+        assertNotNull(etag);
+        assertNotNull(lastModified);
+
+        var unchanged = client.toBlocking().exchange(
+                HttpRequest.GET("/api/owners/" + savedOwner.getId()).header("If-Modified-Since", lastModified),
+                CardOwner.class
+        );
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatus());
+
+        cardOwnerService.addCardToOwner(savedOwner.getId(), "etag-card-1").block();
+
+        var changed = client.toBlocking().exchange(
+                HttpRequest.GET("/api/owners/" + savedOwner.getId()).header("If-None-Match", etag),
+                CardOwner.class
+        );
+        assertEquals(HttpStatus.OK, changed.getStatus());
+        assertTrue(changed.getBody().get().getOwnedCardIds().contains("etag-card-1"));
+    }
+
+    @Test
+    void testPortfolioValuesOwnedCards() {
+        PokemonCard charmander = pokemonCardService.createCard(new PokemonCard("Portfolio Charmander", "Fire", 50,
+                "Common", "Portfolio Set", new BigDecimal("10.10"), Arrays.asList("Ember"))).block();
+        PokemonCard vulpix = pokemonCardService.createCard(new PokemonCard("Portfolio Vulpix", "Fire", 50,
+                "Rare", "Portfolio Set", new BigDecimal("5.05"), Arrays.asList("Ember"))).block();
+        PokemonCard squirtle = pokemonCardService.createCard(new PokemonCard("Portfolio Squirtle", "Water", 50,
+                "Common", "Portfolio Set", new BigDecimal("1.00"), Arrays.asList("Bubble"))).block();
+        testOwner.setEmail("portfolio@pokemon.com");
+        testOwner.setOwnedCardIds(Arrays.asList(charmander.getId(), vulpix.getId(), squirtle.getId(), "deleted-card"));
+        CardOwner savedOwner = cardOwnerService.createOwner(testOwner).block();
+
+        var response = client.toBlocking().exchange(
+                HttpRequest.GET("/api/owners/" + savedOwner.getId() + "/portfolio"),
+                Portfolio.class
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        Portfolio portfolio = response.getBody().get();
+        assertEquals(4, portfolio.getOwnedCards());
+        assertEquals(3, portfolio.getValuedCards());
+        assertEquals(0, new BigDecimal("16.15").compareTo(portfolio.getTotalValue()));
+        assertEquals(List.of("Fire", "Water"), List.copyOf(portfolio.getByType().keySet()));
+        assertEquals(2, portfolio.getByType().get("Fire").getCards());
+        assertEquals(0, new BigDecimal("15.15").compareTo(portfolio.getByType().get("Fire").getValue()));
+        assertEquals(0, new BigDecimal("11.10").compareTo(portfolio.getByRarity().get("Common").getValue()));
+    }
+
+    @Test
+    void testPortfolioOfUnknownOwner() {
+        var response = client.toBlocking().exchange(
+                HttpRequest.GET("/api/owners/nonexistent-id/portfolio"),
+                Portfolio.class
+        );
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatus());
+    }
+
+    @Test
+    void testValuationFollowsCardChanges() {
+        PokemonCard pikachu = pokemonCardService.createCard(new PokemonCard("Valuation Pikachu", "Electric", 60,
+                "Rare", "Valuation Set", new BigDecimal("20.00"), Arrays.asList("Thunder Shock"))).block();
+        PokemonCard bulbasaur = pokemonCardService.createCard(new PokemonCard("Valuation Bulbasaur", "Grass", 45,
+                "Common", "Valuation Set", new BigDecimal("2.50"), Arrays.asList("Vine Whip"))).block();
+        testOwner.setEmail("valuation@pokemon.com");
+        testOwner.setOwnedCardIds(Arrays.asList(pikachu.getId()));
+        CardOwner owner = cardOwnerService.createOwner(testOwner).block();
+        String path = "/api/owners/" + owner.getId() + "/valuation";
+
+        assertValuation(path, 1, "20.00");
+
+        client.toBlocking().exchange(HttpRequest.POST("/api/owners/" + owner.getId() + "/cards/" + bulbasaur.getId(), ""));
+        client.toBlocking().exchange(HttpRequest.POST("/api/owners/" + owner.getId() + "/cards/" + bulbasaur.getId(), ""));
+        OwnerValuation afterAdd = assertValuation(path, 2, "22.50");
+        assertEquals(0, new BigDecimal("2.50").compareTo(afterAdd.getByType().get("Grass").getValue()));
+
+        pikachu.setMarketPrice(new BigDecimal("35.25"));
+        pikachu.setType("Lightning");
+        pokemonCardService.updateCard(pikachu.getId(), pikachu).block();
+        OwnerValuation afterUpdate = assertValuation(path, 2, "37.75");
+        assertFalse(afterUpdate.getByType().containsKey("Electric"));
+        assertEquals(1, afterUpdate.getByType().get("Lightning").getCards());
+
+        pokemonCardService.deleteCard(bulbasaur.getId()).block();
+        assertValuation(path, 1, "35.25");
+
+        client.toBlocking().exchange(HttpRequest.DELETE("/api/owners/" + owner.getId() + "/cards/" + pikachu.getId()));
+        OwnerValuation afterRemove = assertValuation(path, 0, "0");
+        assertTrue(afterRemove.getByType().isEmpty());
+    }
+
+    @Test
+    void testValuationFollowsBulkCardUpsert() {
+        PokemonCard gastly = pokemonCardService.createCard(new PokemonCard("Bulk Gastly", "Ghost", 30,
+                "Common", "Bulk Valuation Set", new BigDecimal("5.00"), Arrays.asList("Lick"))).block();
+        testOwner.setEmail("bulk-valuation@pokemon.com");
+        testOwner.setOwnedCardIds(Arrays.asList(gastly.getId()));
+        CardOwner owner = cardOwnerService.createOwner(testOwner).block();
+        String path = "/api/owners/" + owner.getId() + "/valuation";
+        assertValuation(path, 1, "5.00");
+
+        gastly.setMarketPrice(new BigDecimal("9.00"));
+        gastly.setType("Poison");
+        BulkResult result = client.toBlocking().retrieve(
+                HttpRequest.POST("/api/cards/bulk", List.of(gastly)), BulkResult.class);
+
+        assertEquals(BulkResult.UPSERTED, result.getItems().get(0).getStatus());
+        OwnerValuation valuation = assertValuation(path, 1, "9.00");
+        assertEquals(Set.of("Poison"), valuation.getByType().keySet());
+    }
+
+    @Test
+    void testRepairFixesDriftedValuation() {
+        PokemonCard eevee = pokemonCardService.createCard(new PokemonCard("Repair Eevee", "Normal", 55,
+                "Common", "Repair Set", new BigDecimal("4.00"), Arrays.asList("Tackle"))).block();
+        testOwner.setEmail("repair@pokemon.com");
+        testOwner.setOwnedCardIds(Arrays.asList(eevee.getId()));
+        CardOwner owner = cardOwnerService.createOwner(testOwner).block();
+        OwnerValuation stored = ownerValuationRepository.findById(owner.getId()).block();
+        stored.setTotalValue(new BigDecimal("99.00"));
+        assertTrue(ownerValuationRepository.replace(stored, stored.getVersion()).block());
+
+        var response = client.toBlocking().exchange(
+                HttpRequest.POST("/api/admin/valuations/repair", ""),
+                ValuationRepairReport.class
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        ValuationRepairReport report = response.getBody().get();
+        assertTrue(report.getDriftedOwnerIds().contains(owner.getId()));
+        assertTrue(new BigDecimal("95.00").compareTo(report.getMaxValueDrift()) <= 0);
+        assertValuation("/api/owners/" + owner.getId() + "/valuation", 1, "4.00");
+    }
+
+    @Test
+    void testStaleValuationOverwriteIsRefused() {
+        PokemonCard snorlax = pokemonCardService.createCard(new PokemonCard("Stale Snorlax", "Normal", 150,
+                "Rare", "Stale Set", new BigDecimal("7.00"), Arrays.asList("Rest"))).block();
+        testOwner.setEmail("stale@pokemon.com");
+        testOwner.setOwnedCardIds(List.of());
+        CardOwner owner = cardOwnerService.createOwner(testOwner).block();
+        OwnerValuation stale = ownerValuationRepository.findById(owner.getId()).block();
+        long readVersion = stale.getVersion();
+
+        cardOwnerService.addCardToOwner(owner.getId(), snorlax.getId()).block();
+
+        assertFalse(ownerValuationRepository.replace(stale, readVersion).block());
+        assertValuation("/api/owners/" + owner.getId() + "/valuation", 1, "7.00");
+    }
+
+    @Test
+    void testRepairIsRefusedWhileAnotherInstanceHoldsTheLease() {
+        MongoCollection<Document> leases = mongoClient.getDatabase("pokemon_db").getCollection("leases");
+        Mono.from(leases.insertOne(new Document("_id", "owner-valuation-repair")
+                .append("holder", "other-instance")
+                .append("expiresAt", new Date(System.currentTimeMillis() + 60_000)))).block();
+        try {
+            HttpClientResponseException error = assertThrows(HttpClientResponseException.class,
+                    () -> client.toBlocking().exchange(HttpRequest.POST("/api/admin/valuations/repair", ""),
+                            ValuationRepairReport.class));
+            assertEquals(HttpStatus.CONFLICT, error.getStatus());
+        } finally {
+            Mono.from(leases.deleteOne(new Document("_id", "owner-valuation-repair"))).block();
+        }
+    }
+
+    private OwnerValuation assertValuation(String path, int valuedCards, String totalValue) {
+        OwnerValuation valuation = client.toBlocking().retrieve(HttpRequest.GET(path), OwnerValuation.class);
+        assertEquals(valuedCards, valuation.getValuedCards());
+        assertEquals(0, new BigDecimal(totalValue).compareTo(valuation.getTotalValue()));
+        return valuation;
+    }
+
     @Test
     void testUpdateOwner() {
         // First create an owner
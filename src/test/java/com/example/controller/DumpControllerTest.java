@@ -0,0 +1,153 @@
+package com.example.controller;
+
+import com.example.model.DumpResult;
+import com.example.model.PokemonCard;
+import com.example.service.PokemonCardService;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DumpControllerTest implements TestPropertyProvider {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7.0")
+            .withExposedPorts(27017);
+
+    @Inject
+    @Client("/")
+    HttpClient client;
+
+    @Inject
+    PokemonCardService pokemonCardService;
+
+    private Path dumpDirectory;
+
+    @Override
+    public Map<String, String> getProperties() {
+        mongoDBContainer.start();
+        try {
+            dumpDirectory = Files.createTempDirectory("dumps");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Map.of(
+                "mongodb.uri", mongoDBContainer.getReplicaSetUrl("pokemon_test_db"),
+                "app.dump.directory", dumpDirectory.toString(),
+                "app.dump.buffer-size", "64"
+        );
+    }
+
+    @Test
+    void testExportAndReplaceRoundTrip() {
+        for (String format : List.of("ndjson", "bson")) {
+            PokemonCard card = pokemonCardService.createCard(new PokemonCard("Dump Gengar " + format, "Ghost", 60,
+                    "Rare Holo", "Dump Set", new BigDecimal("123.45"), Arrays.asList("Shadow Ball"))).block();
+            long count = pokemonCardService.countCards().block();
+
+            DumpResult exported = client.toBlocking().retrieve(
+                    HttpRequest.POST("/api/admin/dumps/export/pokemon_cards?format=" + format, ""), DumpResult.class);
+            assertEquals(format, exported.getFormat());
+            assertTrue(Files.exists(dumpDirectory.resolve("pokemon_cards." + format)));
+            assertEquals(count, exported.getDocuments());
+
+            pokemonCardService.deleteCard(card.getId()).block();
+            DumpResult imported = client.toBlocking().retrieve(
+                    HttpRequest.POST("/api/admin/dumps/import/pokemon_cards?format=" + format + "&replace=true", ""),
+                    DumpResult.class);
+
+            assertEquals(count, imported.getDocuments());
+            assertEquals(0, imported.getDuplicates());
+            assertEquals(exported.getBytes(), imported.getBytes());
+            PokemonCard restored = pokemonCardService.findById(card.getId()).block();
+            assertEquals(card.getName(), restored.getName());
+            assertEquals(0, new BigDecimal("123.45").compareTo(restored.getMarketPrice()));
+        }
+    }
+
+    @Test
+    void testImportWithoutReplaceSkipsExistingDocuments() {
+        pokemonCardService.createCard(new PokemonCard("Dump Haunter", "Ghost", 50,
+                "Uncommon", "Dump Set", new BigDecimal("3.10"), Arrays.asList("Lick"))).block();
+        DumpResult exported = client.toBlocking().retrieve(
+                HttpRequest.POST("/api/admin/dumps/export/pokemon_cards?file=existing.bson", ""), DumpResult.class);
+
+        DumpResult imported = client.toBlocking().retrieve(
+                HttpRequest.POST("/api/admin/dumps/import/pokemon_cards?file=existing.bson", ""), DumpResult.class);
+
+        assertEquals(0, imported.getDocuments());
+        assertEquals(exported.getDocuments(), imported.getDuplicates());
+    }
+
+    @Test
+    void testImportRejectsViolationsOfOtherUniqueIndexes() throws IOException {
+        pokemonCardService.createCard(new PokemonCard("Dump Misdreavus", "Ghost", 60,
+                "Rare", "Dump Set", new BigDecimal("8.00"), Arrays.asList("Perish Song"))).block();
+        Files.writeString(dumpDirectory.resolve("same-name.ndjson"),
+                "{\"_id\": {\"$oid\": \"65f000000000000000000001\"}, \"name\": \"Dump Misdreavus\", \"set\": \"Dump Set\"}\n");
+
+        var exception = assertThrows(HttpClientResponseException.class, () -> client.toBlocking().exchange(
+                HttpRequest.POST("/api/admin/dumps/import/pokemon_cards?file=same-name.ndjson", "")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void testImportRejectsOverlongLine() throws IOException {
+        byte[] line = new byte[40 * 1024 * 1024];
+        Arrays.fill(line, (byte) ' ');
+        Files.write(dumpDirectory.resolve("no-newlines.ndjson"), line);
+
+        var exception = assertThrows(HttpClientResponseException.class, () -> client.toBlocking().exchange(
+                HttpRequest.POST("/api/admin/dumps/import/pokemon_cards?file=no-newlines.ndjson", "")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void testRejectsFilesOutsideDumpDirectory() {
+        var exception = assertThrows(HttpClientResponseException.class, () -> client.toBlocking().exchange(
+                HttpRequest.POST("/api/admin/dumps/export/pokemon_cards?file=../escape.ndjson", "")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void testRejectsUnknownCollection() {
+        var exception = assertThrows(HttpClientResponseException.class, () -> client.toBlocking().exchange(
+                HttpRequest.POST("/api/admin/dumps/export/owner_valuations", "")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void testImportOfMissingFile() {
+        var exception = assertThrows(HttpClientResponseException.class, () -> client.toBlocking().exchange(
+                HttpRequest.POST("/api/admin/dumps/import/card_owners?file=missing.ndjson&replace=true", "")));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+}
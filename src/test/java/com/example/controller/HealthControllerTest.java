@@ -0,0 +1,62 @@
+package com.example.controller;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HealthControllerTest implements TestPropertyProvider {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7.0")
+            .withExposedPorts(27017);
+
+    @Inject
+    @Client("/")
+    HttpClient client;
+
+    @Override
+    public Map<String, String> getProperties() {
+        mongoDBContainer.start();
+        return Map.of(
+                "mongodb.uri", mongoDBContainer.getReplicaSetUrl("pokemon_test_db")
+        );
+    }
+
+    @Test
+    void testReadinessReportsPhasesOnceStartupCompletes() throws InterruptedException {
+        Map<?, ?> body = null;
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (body == null && System.currentTimeMillis() < deadline) {
+            try {
+                body = client.toBlocking().retrieve(HttpRequest.GET("/health/readiness"), Map.class);
+            } catch (HttpClientResponseException e) {
+                assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+                Thread.sleep(100);
+            }
+        }
+
+        assertNotNull(body, "service never became ready");
+        assertEquals("READY", body.get("status"));
+        Map<?, ?> phases = (Map<?, ?>) body.get("phases");
+        assertTrue(phases.containsKey("connect"));
+        assertTrue(phases.containsKey("migrate"));
+        assertTrue(((Number) body.get("bootToReadyMillis")).longValue() > 0);
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.controller;
 
+import com.example.model.BatchGetRequest;
+import com.example.model.BulkResult;
 import com.example.model.PokemonCard;
+import com.example.repository.PageCursor;
 import com.example.service.PokemonCardService;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.client.HttpClient;
 import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.runtime.server.EmbeddedServer;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import io.micronaut.test.support.TestPropertyProvider;
 import jakarta.inject.Inject;
@@ -18,9 +23,13 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -40,6 +49,9 @@ class PokemonCardControllerTest implements TestPropertyProvider {
     @Inject
     PokemonCardService pokemonCardService;
 
+    @Inject
+    EmbeddedServer server;
+
     private PokemonCard testCard;
 
     @Override
@@ -82,6 +94,111 @@ class PokemonCardControllerTest implements TestPropertyProvider {
         assertNotNull(createdCard.getUpdatedAt());
     }
 
+    @Test
+    void testBulkUpsertCards() {
+        List<PokemonCard> cards = Arrays.asList(
+                new PokemonCard("Bulbasaur", "Grass", 40, "Common", "Bulk Set",
+                        new BigDecimal("5.00"), Arrays.asList("Vine Whip")),
+                new PokemonCard("Squirtle", "Water", 40, "Common", "Bulk Set",
+                        new BigDecimal("5.00"), Arrays.asList("Bubble"))
+        );
+
+        var response = client.toBlocking().exchange(
+                HttpRequest.POST("/api/cards/bulk", cards),
+                BulkResult.class
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertTrue(response.getBody().isPresent());
+
+        BulkResult result = response.getBody().get();
+        assertEquals(2, result.getItems().size());
+        assertEquals(2, result.getSucceeded());
+        assertEquals(0, result.getItems().get(0).getIndex());
+        assertEquals(1, result.getItems().get(1).getIndex());
+        assertEquals(BulkResult.CREATED, result.getItems().get(0).getStatus());
+
+        for (BulkResult.Item item : result.getItems()) {
+            assertNotNull(item.getId());
+            assertEquals(item.getIndex() == 0 ? "Bulbasaur" : "Squirtle",
+                    pokemonCardService.findById(item.getId()).block().getName());
+        }
+    }
+
+    @Test
+    void testBulkUpsertKeepsCreatedAt() {
+        PokemonCard existing = pokemonCardService.createCard(new PokemonCard("Eevee", "Normal", 50, "Common",
+                "Bulk Set", new BigDecimal("3.00"), Arrays.asList("Tackle"))).block();
+        var createdAt = pokemonCardService.findById(existing.getId()).block().getCreatedAt();
+
+        existing.setHp(70);
+        var response = client.toBlocking().exchange(
+                HttpRequest.POST("/api/cards/bulk", List.of(existing)),
+                BulkResult.class
+        );
+
+        assertEquals(BulkResult.UPSERTED, response.getBody().get().getItems().get(0).getStatus());
+        PokemonCard stored = pokemonCardService.findById(existing.getId()).block();
+        assertEquals(Integer.valueOf(70), stored.getHp());
+        assertEquals(createdAt, stored.getCreatedAt());
+        assertTrue(stored.getUpdatedAt().isAfter(createdAt));
+    }
+
+    @Test
+    void testBatchGetCards() {
+        PokemonCard first = pokemonCardService.createCard(new PokemonCard("Oddish", "Grass", 50, "Common",
+                "Batch Set", new BigDecimal("1.00"), Arrays.asList("Absorb"))).block();
+        PokemonCard second = pokemonCardService.createCard(new PokemonCard("Psyduck", "Water", 50, "Common",
+                "Batch Set", new BigDecimal("1.00"), Arrays.asList("Headache"))).block();
+        String unknownId = "000000000000000000000000";
+
+        var response = client.toBlocking().exchange(
+                HttpRequest.POST("/api/cards/batch-get",
+                        new BatchGetRequest(Arrays.asList(second.getId(), unknownId, first.getId(), second.getId()))),
+                Map.class
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        Map<?, ?> body = response.getBody().orElseThrow();
+        List<?> items = (List<?>) body.get("items");
+        assertEquals(2, items.size());
+        assertEquals("Psyduck", ((Map<?, ?>) items.get(0)).get("name"));
+        assertEquals("Oddish", ((Map<?, ?>) items.get(1)).get("name"));
+        assertEquals(List.of(unknownId), body.get("missing"));
+
+        var viaQuery = client.toBlocking().exchange(
+                HttpRequest.GET("/api/cards?ids=" + first.getId() + "," + second.getId()),
+                Map.class
+        );
+        assertEquals(2, ((List<?>) viaQuery.getBody().orElseThrow().get("items")).size());
+    }
+
+    @Test
+    void testMetricsExposeRouteRepositoryAndMongoLatency() {
+        PokemonCard savedCard = pokemonCardService.createCard(testCard).block();
+        client.toBlocking().exchange(HttpRequest.GET("/api/cards/" + savedCard.getId()), PokemonCard.class);
+
+        String metrics = client.toBlocking().retrieve(HttpRequest.GET("/prometheus"), String.class);
+
+        assertTrue(metrics.contains("http_server_requests_seconds"));
+        assertTrue(metrics.contains("repository_operations_seconds_count{operation=\"findById\""));
+        assertTrue(metrics.contains("quantile=\"0.999\""));
+        assertTrue(metrics.contains("mongodb_driver_commands_seconds"));
+    }
+
+    @Test
+    void testMetricsExposeConnectionPool() {
+        pokemonCardService.createCard(testCard).block();
+
+        String metrics = client.toBlocking().retrieve(HttpRequest.GET("/prometheus"), String.class);
+
+        assertTrue(metrics.contains("mongodb_pool_size"));
+        assertTrue(metrics.contains("mongodb_pool_checked_out"));
+        assertTrue(metrics.contains("mongodb_pool_wait_queue"));
+        assertTrue(metrics.contains("mongodb_pool_checkout_seconds_count{outcome=\"success\""));
+        assertTrue(metrics.contains("mongodb_pool_connections_created_total"));
+    }
+
     @Test
     void testGetAllCards() {
         // First create a card
@@ -98,6 +215,115 @@ class PokemonCardControllerTest implements TestPropertyProvider {
         assertFalse(cards.isEmpty());
     }
 
+    @Test
+    void testGetAllCardsWithFieldProjection() {
+        pokemonCardService.createCard(testCard).block();
+
+        var response = client.toBlocking().exchange(
+                HttpRequest.GET("/api/cards?limit=5&fields=_id,name,marketPrice"),
+                List.class
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertTrue(response.getBody().isPresent());
+        List<?> cards = response.getBody().get();
+        assertFalse(cards.isEmpty());
+
+        Map<?, ?> card = (Map<?, ?>) cards.get(0);
+        assertEquals(Set.of("_id", "createdAt", "name", "marketPrice"), card.keySet());
+
+        String ndjson = client.toBlocking().retrieve(
+                HttpRequest.GET("/api/cards?limit=5&fields=_id,name").accept(Pagination.APPLICATION_NDJSON),
+                String.class
+        );
+        String firstLine = ndjson.lines().findFirst().orElseThrow();
+        assertTrue(firstLine.contains("\"name\""));
+        assertFalse(firstLine.contains("\"type\""));
+        assertFalse(firstLine.contains("\"attacks\""));
+    }
+
+    @Test
+    void testGetAllCardsPaged() {
+        for (int i = 0; i < 3; i++) {
+            pokemonCardService.createCard(new PokemonCard(
+                    "Paged Card " + i,
+                    "Normal",
+                    50,
+                    "Common",
+                    "Paging Set",
+                    new BigDecimal("1.00"),
+                    Arrays.asList("Tackle")
+            )).block();
+        }
+
+        var firstPage = client.toBlocking().exchange(
+                HttpRequest.GET("/api/cards?limit=2"),
+                List.class
+        );
+
+        assertEquals(HttpStatus.OK, firstPage.getStatus());
+        assertEquals(2, firstPage.getBody().get().size());
+        String cursor = firstPage.getHeaders().get(Pagination.NEXT_CURSOR_HEADER);
+        assertNotNull(cursor);
+
+        var secondPage = client.toBlocking().exchange(
+                HttpRequest.GET("/api/cards?limit=2&after=" + cursor),
+                List.class
+        );
+
+        assertEquals(HttpStatus.OK, secondPage.getStatus());
+        assertFalse(secondPage.getBody().get().isEmpty());
+        assertNotEquals(firstPage.getBody().get().get(0), secondPage.getBody().get().get(0));
+    }
+
+    @Test
+    void testGetAllCardsInvalidCursor() {
+        var exception = assertThrows(HttpClientResponseException.class, () ->
+                client.toBlocking().exchange(HttpRequest.GET("/api/cards?after=not-a-cursor"), List.class)
+        );
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void testGetAllCardsAsNdjson() {
+        pokemonCardService.createCard(new PokemonCard(
+                "Streamed Card",
+                "Normal",
+                50,
+                "Common",
+                "Streaming Set",
+                new BigDecimal("1.00"),
+                Arrays.asList("Tackle")
+        )).block();
+
+        String body = client.toBlocking().retrieve(
+                HttpRequest.GET("/api/cards?limit=5").accept(Pagination.APPLICATION_NDJSON),
+                String.class
+        );
+
+        String[] lines = body.trim().split("\n");
+        assertTrue(lines.length >= 1);
+        for (String line : lines) {
+            assertTrue(line.startsWith("{") && line.endsWith("}"), "Each line should be one JSON document");
+        }
+    }
+
+    @Test
+    void testGetAllCardsAsNdjsonInvalidCursor() {
+        String wrongType = PageCursor.of("not-a-timestamp", "000000000000000000000000").encode();
+
+        for (String cursor : List.of("not-a-cursor", wrongType)) {
+            var exception = assertThrows(HttpClientResponseException.class, () ->
+                    client.toBlocking().exchange(
+                            HttpRequest.GET("/api/cards?after=" + cursor).accept(Pagination.APPLICATION_NDJSON),
+                            String.class)
+            );
+
+            assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        }
+    }
+
     @Test
     void testGetCardById() {
         // First create a card
@@ -150,6 +376,76 @@ class PokemonCardControllerTest implements TestPropertyProvider {
         assertEquals(Integer.valueOf(90), updatedCard.getHp());
     }
 
+    @Test
+    void testConditionalGetCard() {
+        PokemonCard savedCard = pokemonCardService.createCard(testCard).block();
+        assertNotNull(savedCard);
+
+        var first = client.toBlocking().exchange(
+                HttpRequest.GET("/api/cards/" + savedCard.getId()),
+                PokemonCard.class
+        );
+        String etag = first.getHeaders().get("ETag");
+        assertNotNull(etag);
+        assertNotNull(first.getHeaders().get("Last-Modified"));
+
+        var unchanged = client.toBlocking().exchange(
+                HttpRequest.GET("/api/cards/" + savedCard.getId()).header("If-None-Match", etag),
+                PokemonCard.class
+        );
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatus());
+        assertFalse(unchanged.getBody().isPresent());
+        assertEquals(etag, unchanged.getHeaders().get("ETag"));
+
+        savedCard.setHp(70);
+        client.toBlocking().exchange(HttpRequest.PUT("/api/cards/" + savedCard.getId(), savedCard), PokemonCard.class);
+
+        var changed = client.toBlocking().exchange(
+                HttpRequest.GET("/api/cards/" + savedCard.getId()).header("If-None-Match", etag),
+                PokemonCard.class
+        );
+        assertEquals(HttpStatus.OK, changed.getStatus());
+        assertEquals(Integer.valueOf(70), changed.getBody().get().getHp());
+        assertNotEquals(etag, changed.getHeaders().get("ETag"));
+    }
+
+    @Test
+    void testGetFacetsReflectsWrites() {
+        testCard.setType("Facet");
+        testCard.setRarity("Facet Rarity");
+        pokemonCardService.createCard(testCard).block();
+
+        Map<?, ?> facets = client.toBlocking().retrieve(HttpRequest.GET("/api/cards/facets"), Map.class);
+        assertEquals(1, ((Number) ((Map<?, ?>) facets.get("types")).get("Facet")).intValue());
+        assertEquals(1, ((Number) ((Map<?, ?>) facets.get("rarities")).get("Facet Rarity")).intValue());
+        assertTrue(((Number) facets.get("total")).longValue() >= 1);
+
+        PokemonCard second = new PokemonCard("Facet Two", "Facet", 40, "Common", "Base Set",
+                new BigDecimal("1.00"), Arrays.asList("Tackle"));
+        pokemonCardService.createCard(second).block();
+
+        facets = client.toBlocking().retrieve(HttpRequest.GET("/api/cards/facets"), Map.class);
+        assertEquals(2, ((Number) ((Map<?, ?>) facets.get("types")).get("Facet")).intValue());
+    }
+
+    @Test
+    void testLargeListResponsesAreGzipped() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            pokemonCardService.createCard(new PokemonCard("Gzip Card " + i, "Normal", 50, "Common", "Gzip Set",
+                    new BigDecimal("1.00"), Arrays.asList("Tackle", "Growl"))).block();
+        }
+        HttpURLConnection connection = (HttpURLConnection) server.getURI()
+                .resolve("/api/cards/search/set/Gzip%20Set?limit=30").toURL().openConnection();
+        connection.setRequestProperty("Accept-Encoding", "gzip");
+
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("gzip", connection.getContentEncoding());
+        try (GZIPInputStream body = new GZIPInputStream(connection.getInputStream())) {
+            String json = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(json.contains("Gzip Card 29"));
+        }
+    }
+
     @Test
     void testDeleteCard() {
         // First create a card
@@ -0,0 +1,196 @@
+package com.example.migration;
+
+import com.example.config.MigrationConfiguration;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Updates.set;
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ChangeLogRunnerTest implements TestPropertyProvider {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7.0")
+            .withExposedPorts(27017);
+
+    @Inject
+    ChangeLogRunner changeLogRunner;
+
+    @Inject
+    MongoClient mongoClient;
+
+    @Override
+    public Map<String, String> getProperties() {
+        mongoDBContainer.start();
+        return Map.of(
+                "mongodb.uri", mongoDBContainer.getReplicaSetUrl("pokemon_test_db"),
+                "app.init-db", "false",
+                "app.seed-data", "false",
+                "app.verify-indexes", "false",
+                "app.migration.lock-wait-timeout", "1s",
+                "app.migration.lock-poll-interval", "100ms"
+        );
+    }
+
+    @BeforeEach
+    void dropDatabase() {
+        Mono.from(database().drop()).block();
+    }
+
+    private MongoDatabase database() {
+        return mongoClient.getDatabase("pokemon_db");
+    }
+
+    private int changeSetCount() {
+        return ChangeLog.load("classpath:db/changelog/db.changelog-master.json").getChangeSets().size();
+    }
+
+    @Test
+    void testAppliesEveryChangeSetOnce() {
+        assertEquals(changeSetCount(), changeLogRunner.update().block());
+
+        List<String> indexNames = Flux.from(database().getCollection("pokemon_cards").listIndexes())
+                .map(index -> index.getString("name"))
+                .collectList()
+                .block();
+        assertTrue(indexNames.contains("name_1_set_1"));
+        assertTrue(indexNames.contains("name_text"));
+        assertEquals((long) changeSetCount(),
+                Mono.from(database().getCollection(ChangeLogRunner.CHANGELOG_COLLECTION).countDocuments()).block());
+
+        assertEquals(0, changeLogRunner.update().block());
+    }
+
+    @Test
+    void testBackfillsNormalizedNameLikeNewWrites() {
+        MongoCollection<Document> cards = database().getCollection("pokemon_cards");
+        Mono.from(cards.insertMany(List.of(
+                new Document("_id", "legacy-accented").append("name", "  Flabébé ").append("set", "Legacy"),
+                new Document("_id", "legacy-lowered").append("name", "Pokémon Center").append("set", "Legacy")
+                        .append("normalizedName", "pokémon center")))).block();
+
+        changeLogRunner.update().block();
+
+        assertEquals("flabebe", normalizedName(cards, "legacy-accented"));
+        assertEquals("pokemon center", normalizedName(cards, "legacy-lowered"));
+    }
+
+    @Test
+    void testConvertsLegacyPricesAndDropsDescendingPriceIndex() {
+        MongoCollection<Document> cards = database().getCollection("pokemon_cards");
+        Mono.from(cards.insertMany(List.of(
+                new Document("_id", "price-string").append("name", "String").append("marketPrice", "12.50"),
+                new Document("_id", "price-double").append("name", "Double").append("marketPrice", 3.75),
+                new Document("_id", "price-null").append("name", "Null").append("marketPrice", null),
+                new Document("_id", "price-garbage").append("name", "Garbage").append("marketPrice", "n/a")))).block();
+
+        changeLogRunner.update().block();
+
+        assertDecimal("12.50", marketPrice(cards, "price-string"));
+        assertDecimal("3.75", marketPrice(cards, "price-double"));
+        assertNull(marketPrice(cards, "price-null"));
+        assertEquals("n/a", marketPrice(cards, "price-garbage"));
+
+        List<String> indexNames = Flux.from(cards.listIndexes())
+                .map(index -> index.getString("name"))
+                .collectList()
+                .block();
+        assertFalse(indexNames.contains("marketPrice_-1"));
+        assertTrue(indexNames.contains("marketPrice_1__id_1"));
+    }
+
+    private static void assertDecimal(String expected, Object actual) {
+        Decimal128 decimal = assertInstanceOf(Decimal128.class, actual);
+        assertEquals(0, new BigDecimal(expected).compareTo(decimal.bigDecimalValue()));
+    }
+
+    private static Object marketPrice(MongoCollection<Document> cards, String id) {
+        return Mono.from(cards.find(eq("_id", id)).first()).block().get("marketPrice");
+    }
+
+    private static String normalizedName(MongoCollection<Document> cards, String id) {
+        return Mono.from(cards.find(eq("_id", id)).first()).block().getString("normalizedName");
+    }
+
+    @Test
+    void testRejectsModifiedChangeSet() {
+        changeLogRunner.update().block();
+        Mono.from(database().getCollection(ChangeLogRunner.CHANGELOG_COLLECTION)
+                .updateOne(eq("_id", "2::pokemon-service"), set("md5sum", "edited"))).block();
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> changeLogRunner.update().block());
+        assertTrue(error.getMessage().contains("2::pokemon-service"));
+    }
+
+    @Test
+    void testWaitsForLockHeldByAnotherInstance() {
+        Mono.from(database().getCollection(ChangeLogRunner.LOCK_COLLECTION).insertOne(new Document("_id", 1)
+                .append("locked", true)
+                .append("lockedBy", "other-instance")
+                .append("lockGranted", new Date()))).block();
+
+        assertThrows(IllegalStateException.class, () -> changeLogRunner.update().block());
+        assertEquals(0L, Mono.from(database().getCollection(ChangeLogRunner.CHANGELOG_COLLECTION).countDocuments()).block());
+    }
+
+    @Test
+    void testHeldLockIsRefreshedWhileWorkRuns() {
+        MigrationConfiguration configuration = new MigrationConfiguration();
+        configuration.setLockStaleAfter(Duration.ofMillis(300));
+        configuration.setLockWaitTimeout(Duration.ofMillis(900));
+        configuration.setLockPollInterval(Duration.ofMillis(100));
+        MongoCollection<Document> locks = database().getCollection(ChangeLogRunner.LOCK_COLLECTION);
+        ChangeLogLock holder = new ChangeLogLock(locks, configuration);
+        ChangeLogLock contender = new ChangeLogLock(locks, configuration);
+
+        holder.acquire().block();
+        Disposable work = holder.whileHeld(Mono.delay(Duration.ofSeconds(2))).subscribe();
+        try {
+            assertThrows(IllegalStateException.class, () -> contender.acquire().block());
+        } finally {
+            work.dispose();
+            holder.release().block();
+        }
+    }
+
+    @Test
+    void testBatchesConsecutiveIndexChangeSets() {
+        ChangeLog changeLog = ChangeLog.load("classpath:db/changelog/db.changelog-master.json");
+
+        List<List<ChangeSet>> batches = ChangeLogRunner.batches(changeLog.getChangeSets());
+
+        assertEquals(List.of("1"), ids(batches.get(0)));
+        assertEquals(List.of("2", "3", "4", "5"), ids(batches.get(1)));
+        assertEquals(List.of("6"), ids(batches.get(2)));
+        assertEquals(List.of("7", "8", "9", "10", "11"), ids(batches.get(3)));
+    }
+
+    private static List<String> ids(List<ChangeSet> changeSets) {
+        return changeSets.stream().map(ChangeSet::getId).toList();
+    }
+}
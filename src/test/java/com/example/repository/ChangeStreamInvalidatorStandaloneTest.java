@@ -0,0 +1,81 @@
+package com.example.repository;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Updates.set;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against a standalone server, as docker-compose does, which cannot serve change streams.
+ */
+@MicronautTest
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ChangeStreamInvalidatorStandaloneTest implements TestPropertyProvider {
+
+    @Container
+    static GenericContainer<?> mongoContainer = new GenericContainer<>("mongo:7.0")
+            .withExposedPorts(27017);
+
+    @Inject
+    PokemonCardRepository pokemonCardRepository;
+
+    @Inject
+    ChangeStreamInvalidator changeStreamInvalidator;
+
+    @Inject
+    MongoClient mongoClient;
+
+    @Override
+    public Map<String, String> getProperties() {
+        mongoContainer.start();
+        return Map.of(
+                "mongodb.uri", "mongodb://" + mongoContainer.getHost() + ":" + mongoContainer.getMappedPort(27017)
+                        + "/pokemon_test_db",
+                "app.change-stream.retry-interval", "100ms"
+        );
+    }
+
+    private MongoCollection<Document> cards() {
+        return mongoClient.getDatabase("pokemon_db").getCollection("pokemon_cards");
+    }
+
+    @Test
+    void testStandaloneServerKeepsCachesOnTtl() throws InterruptedException {
+        String id = "standalone-card";
+        Mono.from(cards().insertOne(new Document("_id", id)
+                .append("name", "Wigglytuff")
+                .append("set", "Standalone Set")
+                .append("hp", 90)
+                .append("createdAt", LocalDateTime.now()))).block();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (changeStreamInvalidator.getMode() == ChangeStreamInvalidator.Mode.STARTING
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertEquals(ChangeStreamInvalidator.Mode.TTL_ONLY, changeStreamInvalidator.getMode());
+
+        assertEquals(90, pokemonCardRepository.findById(id).block().getHp());
+        Mono.from(cards().updateOne(eq("_id", id), set("hp", 120))).block();
+        // Several retry intervals: a retrying stream would have cleared the cache by now
+        Thread.sleep(1_000);
+
+        assertEquals(90, pokemonCardRepository.findById(id).block().getHp());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.repository;
+
+import com.example.model.PokemonCard;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Updates.set;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against a single-node replica set (Testcontainers initiates one), which is what change streams need.
+ */
+@MicronautTest
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ChangeStreamInvalidatorTest implements TestPropertyProvider {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7.0")
+            .withExposedPorts(27017);
+
+    @Inject
+    PokemonCardRepository pokemonCardRepository;
+
+    @Inject
+    ChangeStreamInvalidator changeStreamInvalidator;
+
+    @Inject
+    MongoClient mongoClient;
+
+    @Override
+    public Map<String, String> getProperties() {
+        mongoDBContainer.start();
+        return Map.of(
+                "mongodb.uri", mongoDBContainer.getReplicaSetUrl("pokemon_test_db"),
+                "app.change-stream.consumer", "change-stream-test",
+                "app.change-stream.token-save-interval", "0s"
+        );
+    }
+
+    private MongoCollection<Document> cards() {
+        return mongoClient.getDatabase("pokemon_db").getCollection("pokemon_cards");
+    }
+
+    @Test
+    void testWriteFromAnotherNodeEvictsCachedCard() throws InterruptedException {
+        String id = "change-stream-card";
+        Mono.from(cards().insertOne(new Document("_id", id)
+                .append("name", "Jigglypuff")
+                .append("set", "Change Stream Set")
+                .append("hp", 50)
+                .append("createdAt", LocalDateTime.now()))).block();
+        assertEquals(50, pokemonCardRepository.findById(id).block().getHp());
+
+        // Bypass the repository, as another replica would; repeat until the stream has been opened
+        Integer hp = null;
+        long deadline = System.currentTimeMillis() + 30_000;
+        for (int attempt = 1; System.currentTimeMillis() < deadline; attempt++) {
+            Mono.from(cards().updateOne(eq("_id", id), set("hp", 100 + attempt))).block();
+            Thread.sleep(200);
+            hp = pokemonCardRepository.findById(id).block().getHp();
+            if (hp > 100) {
+                break;
+            }
+        }
+
+        assertNotNull(hp);
+        assertTrue(hp > 100, "Cached card was never evicted");
+        assertEquals(ChangeStreamInvalidator.Mode.CHANGE_STREAM, changeStreamInvalidator.getMode());
+
+        BsonDocument saved = Mono.from(mongoClient.getDatabase("pokemon_db")
+                .getCollection(ChangeStreamInvalidator.TOKEN_COLLECTION, BsonDocument.class)
+                .find(eq("_id", "change-stream-test")).first()).block();
+        assertNotNull(saved);
+        assertTrue(saved.containsKey("token"));
+    }
+}
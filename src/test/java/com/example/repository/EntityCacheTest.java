@@ -0,0 +1,75 @@
+package com.example.repository;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheTest {
+
+    @Test
+    void testSecondLookupIsServedFromCache() {
+        EntityCache<String> cache = new EntityCache<>("test", true, 100, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        StepVerifier.create(cache.getOrLoad("1", id -> Mono.fromCallable(() -> "card-" + loads.incrementAndGet())))
+                .expectNext("card-1")
+                .verifyComplete();
+        StepVerifier.create(cache.getOrLoad("1", id -> Mono.fromCallable(() -> "card-" + loads.incrementAndGet())))
+                .expectNext("card-1")
+                .verifyComplete();
+
+        assertEquals(1, loads.get());
+        Map<String, Object> stats = cache.stats();
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(1L, stats.get("misses"));
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        EntityCache<String> cache = new EntityCache<>("test", true, 100, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad("1", id -> Mono.fromCallable(() -> "card-" + loads.incrementAndGet())).block();
+        cache.invalidate("1");
+
+        StepVerifier.create(cache.getOrLoad("1", id -> Mono.fromCallable(() -> "card-" + loads.incrementAndGet())))
+                .expectNext("card-2")
+                .verifyComplete();
+    }
+
+    @Test
+    void testLoadStartedBeforeInvalidationIsNotCached() {
+        EntityCache<String> cache = new EntityCache<>("test", true, 100, Duration.ofMinutes(1));
+        Sinks.One<String> slowLoad = Sinks.one();
+
+        StepVerifier.create(cache.getOrLoad("1", id -> slowLoad.asMono()))
+                .then(() -> {
+                    cache.invalidate("1");
+                    slowLoad.tryEmitValue("stale");
+                })
+                .expectNext("stale")
+                .verifyComplete();
+
+        StepVerifier.create(cache.getOrLoad("1", id -> Mono.just("fresh")))
+                .expectNext("fresh")
+                .verifyComplete();
+    }
+
+    @Test
+    void testDisabledCacheAlwaysLoads() {
+        EntityCache<String> cache = new EntityCache<>("test", false, 100, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad("1", id -> Mono.fromCallable(() -> "card-" + loads.incrementAndGet())).block();
+        cache.getOrLoad("1", id -> Mono.fromCallable(() -> "card-" + loads.incrementAndGet())).block();
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.repository;
+
+import com.example.model.PokemonCard;
+import com.example.service.PokemonCardService;
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PokemonCardRepositoryTest implements TestPropertyProvider {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7.0")
+            .withExposedPorts(27017);
+
+    @Inject
+    PokemonCardRepository pokemonCardRepository;
+
+    @Inject
+    PokemonCardService pokemonCardService;
+
+    @Inject
+    MongoClient mongoClient;
+
+    @Override
+    public Map<String, String> getProperties() {
+        mongoDBContainer.start();
+        return Map.of(
+                "mongodb.uri", mongoDBContainer.getReplicaSetUrl("pokemon_test_db")
+        );
+    }
+
+    @BeforeAll
+    void createSearchIndexes() {
+        // Same definitions as the changelog, so the plan does not depend on startup timing
+        MongoCollection<Document> collection = cards();
+        Mono.from(collection.createIndex(new Document("normalizedName", 1).append("_id", 1))).block();
+        Mono.from(collection.createIndex(new Document("name", "text"),
+                new com.mongodb.client.model.IndexOptions().name("name_text"))).block();
+        Mono.from(collection.createIndex(new Document("marketPrice", 1).append("_id", 1))).block();
+
+        List<PokemonCard> cards = Arrays.asList(
+                new PokemonCard("Search Eevee", "Normal", 50, "Common", "Search Set",
+                        new BigDecimal("10.00"), Arrays.asList("Tackle")),
+                new PokemonCard("Eevee", "Normal", 50, "Common", "Search Set",
+                        new BigDecimal("12.00"), Arrays.asList("Quick Attack")),
+                new PokemonCard("Flabébé", "Fairy", 40, "Common", "Search Set",
+                        new BigDecimal("1.00"), Arrays.asList("Fairy Wind"))
+        );
+        cards.forEach(card -> pokemonCardService.createCard(card).onErrorResume(e -> Mono.empty()).block());
+    }
+
+    private MongoCollection<Document> cards() {
+        return mongoClient.getDatabase("pokemon_db").getCollection("pokemon_cards");
+    }
+
+    @Test
+    void testPrefixSearchUsesIndexInsteadOfCollectionScan() {
+        Document plan = Mono.from(cards()
+                .find(PokemonCardRepository.namePrefixFilter("eev"))
+                .sort(Sorts.ascending("normalizedName", "_id"))
+                .explain(Document.class, ExplainVerbosity.EXECUTION_STATS)).block();
+
+        assertNotNull(plan);
+        String winningPlan = plan.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+        assertFalse(winningPlan.contains("COLLSCAN"), "Prefix search must not scan the collection: " + winningPlan);
+        assertTrue(winningPlan.contains("IXSCAN"), "Prefix search should scan the normalizedName index: " + winningPlan);
+    }
+
+    @Test
+    void testPrefixMatchesRankBeforeWordMatches() {
+        StepVerifier.create(pokemonCardRepository.findByName("Eevee", null, 10, FieldProjection.ALL).collectList())
+                .assertNext(cards -> {
+                    assertFalse(cards.isEmpty());
+                    assertEquals("Eevee", cards.get(0).getName());
+                    assertTrue(cards.stream().anyMatch(card -> "Search Eevee".equals(card.getName())));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testSearchIgnoresCaseAndAccents() {
+        StepVerifier.create(pokemonCardRepository.findByName("FLABEBE", null, 10, FieldProjection.ALL))
+                .assertNext(card -> assertEquals("Flabébé", card.getName()))
+                .thenConsumeWhile(card -> true)
+                .verifyComplete();
+    }
+
+    @Test
+    void testNameSearchPagesFromPrefixIntoWordMatches() {
+        List.of("Pager One", "Pager Two", "Pager Three", "Alpha Pager", "Beta Pager", "Gamma Pager")
+                .forEach(name -> pokemonCardService.createCard(new PokemonCard(name, "Normal", 30, "Common",
+                        "Pager Set", new BigDecimal("1.00"), Arrays.asList("Tackle"))).block());
+
+        List<String> names = new ArrayList<>();
+        PageCursor cursor = null;
+        for (int page = 0; page < 5; page++) {
+            List<PokemonCard> cards = pokemonCardRepository.findByName("pager", cursor, 2, FieldProjection.ALL)
+                    .collectList().block();
+            assertNotNull(cards);
+            cards.forEach(card -> names.add(card.getName()));
+            if (cards.size() < 2) {
+                break;
+            }
+            PokemonCard last = cards.get(cards.size() - 1);
+            cursor = PageCursor.decode(PokemonCardRepository.nameSearchCursor(last).encode());
+        }
+
+        assertEquals(List.of("Pager One", "Pager Three", "Pager Two"), names.subList(0, 3));
+        assertEquals(Set.of("Alpha Pager", "Beta Pager", "Gamma Pager"), Set.copyOf(names.subList(3, names.size())));
+        assertEquals(6, names.size());
+    }
+
+    @Test
+    void testNameSearchContinuesAfterTheCursorCardStopsMatching() {
+        List.of("Alpha Drifter", "Beta Drifter", "Gamma Drifter")
+                .forEach(name -> pokemonCardService.createCard(new PokemonCard(name, "Normal", 30, "Common",
+                        "Drifter Set", new BigDecimal("1.00"), Arrays.asList("Tackle"))).block());
+
+        List<PokemonCard> first = pokemonCardRepository.findByName("drifter", null, 1, FieldProjection.ALL)
+                .collectList().block();
+        assertNotNull(first);
+        assertEquals(1, first.size());
+        PokemonCard last = first.get(0);
+        assertNotNull(last.textScore());
+        PageCursor cursor = PageCursor.decode(PokemonCardRepository.nameSearchCursor(last).encode());
+        pokemonCardService.deleteCard(last.getId()).block();
+
+        List<PokemonCard> rest = pokemonCardRepository.findByName("drifter", cursor, 10, FieldProjection.ALL)
+                .collectList().block();
+        assertNotNull(rest);
+        assertEquals(2, rest.size());
+        assertTrue(rest.stream().noneMatch(card -> card.getId().equals(last.getId())));
+    }
+
+    @Test
+    void testRegexMetacharactersAreMatchedLiterally() {
+        StepVerifier.create(pokemonCardRepository.findByName(".*", null, 10, FieldProjection.ALL))
+                .verifyComplete();
+        StepVerifier.create(pokemonCardRepository.findByName("(eev", null, 10, FieldProjection.ALL))
+                .verifyComplete();
+    }
+
+    @Test
+    void testMarketPriceIsStoredAsDecimal128() {
+        Document eevee = Mono.from(cards().find(new Document("name", "Eevee")).first()).block();
+
+        assertNotNull(eevee);
+        assertInstanceOf(Decimal128.class, eevee.get("marketPrice"));
+    }
+
+    @Test
+    void testPriceRangeUsesIndexForFilterAndSort() {
+        Document plan = Mono.from(cards()
+                .find(PokemonCardRepository.priceFilter(new BigDecimal("5"), new BigDecimal("50")))
+                .sort(Sorts.descending("marketPrice", "_id"))
+                .explain(Document.class, ExplainVerbosity.EXECUTION_STATS)).block();
+
+        assertNotNull(plan);
+        String winningPlan = plan.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+        assertTrue(winningPlan.contains("IXSCAN"), "Price range should scan the marketPrice index: " + winningPlan);
+        assertFalse(winningPlan.contains("\"SORT\""), "Price order should come from the index: " + winningPlan);
+    }
+
+    @Test
+    void testPriceRangePagesInPriceOrder() {
+        List.of("0.13", "0.11", "0.12").forEach(price -> pokemonCardService.createCard(
+                new PokemonCard("Price Probe " + price, "Normal", 30, "Common", "Price Set",
+                        new BigDecimal(price), Arrays.asList("Tackle"))).block());
+        BigDecimal min = new BigDecimal("0.11");
+        BigDecimal max = new BigDecimal("0.13");
+
+        List<PokemonCard> first = pokemonCardRepository
+                .findByPriceRange(min, max, true, null, 2, FieldProjection.ALL).collectList().block();
+        assertNotNull(first);
+        assertEquals(List.of("0.11", "0.12"), first.stream().map(card -> card.getMarketPrice().toPlainString()).toList());
+
+        PokemonCard last = first.get(1);
+        PageCursor cursor = PageCursor.decode(PageCursor.of(last.getMarketPrice(), last.getId()).encode());
+        StepVerifier.create(pokemonCardRepository.findByPriceRange(min, max, true, cursor, 2, FieldProjection.ALL))
+                .assertNext(card -> assertEquals("0.13", card.getMarketPrice().toPlainString()))
+                .verifyComplete();
+
+        StepVerifier.create(pokemonCardRepository.findByPriceRange(min, max, false, null, 1, FieldProjection.ALL))
+                .assertNext(card -> assertEquals("0.13", card.getMarketPrice().toPlainString()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testDriverTrafficIsCompressedWithZstd() {
+        pokemonCardRepository.findByType("Normal", null, 10, FieldProjection.ALL).collectList().block();
+
+        Document status = Mono.from(mongoClient.getDatabase("admin")
+                .runCommand(new Document("serverStatus", 1))).block();
+        assertNotNull(status);
+        Document zstd = status.get("network", Document.class)
+                .get("compression", Document.class)
+                .get("zstd", Document.class);
+        Number received = zstd.get("decompressor", Document.class).get("bytesIn", Number.class);
+        assertTrue(received.longValue() > 0, "The server should have received zstd-compressed messages");
+    }
+}
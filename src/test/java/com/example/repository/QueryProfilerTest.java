@@ -0,0 +1,79 @@
+package com.example.repository;
+
+import com.example.config.ProfilerConfiguration;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryProfilerTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    private static QueryProfiler profiler(int capacity) {
+        ProfilerConfiguration configuration = new ProfilerConfiguration();
+        configuration.setCapacity(capacity);
+        configuration.setSlowThreshold(Duration.ofMillis(100));
+        return new QueryProfiler(configuration);
+    }
+
+    @Test
+    void testShapeDropsValuesButKeepsOperators() {
+        BsonDocument first = BsonDocument.parse("{find: 'pokemon_cards', filter: {type: 'Fire', "
+                + "$or: [{createdAt: {$lt: 1}}, {createdAt: 1, _id: {$lt: 'a'}}]}, sort: {createdAt: -1, _id: -1}}");
+        BsonDocument second = BsonDocument.parse("{find: 'pokemon_cards', filter: {type: 'Water', "
+                + "$or: [{createdAt: {$lt: 2}}, {createdAt: 2, _id: {$lt: 'b'}}]}, sort: {createdAt: -1, _id: -1}}");
+
+        QueryProfiler.Shape shape = QueryProfiler.shapeOf("find", first);
+
+        assertEquals(shape, QueryProfiler.shapeOf("find", second));
+        assertEquals("pokemon_cards", shape.collection());
+        assertEquals("{type: ?, $or: [{createdAt: {$lt: ?}}, {createdAt: ?, _id: {$lt: ?}}]}", shape.filter());
+    }
+
+    @Test
+    void testInValuesAreCollapsed() {
+        BsonDocument command = BsonDocument.parse("{find: 'card_owners', filter: {_id: {$in: ['a', 'b', 'c']}}}");
+
+        assertEquals("{_id: {$in: ?}}", QueryProfiler.shapeOf("find", command).filter());
+    }
+
+    @Test
+    void testTopShapesRankedByTotalTime() {
+        QueryProfiler profiler = profiler(100);
+        QueryProfiler.Shape byType = new QueryProfiler.Shape("find", "pokemon_cards", "{type: ?}", null);
+        QueryProfiler.Shape byEmail = new QueryProfiler.Shape("find", "card_owners", "{email: ?}", null);
+        for (int i = 0; i < 10; i++) {
+            profiler.record(byType, 20 * MILLI, 5);
+        }
+        profiler.record(byEmail, 150 * MILLI, 1);
+
+        List<Map<String, Object>> top = profiler.topShapes(10);
+        assertEquals("{type: ?}", top.get(0).get("filter"));
+        assertEquals(10L, top.get(0).get("count"));
+        assertEquals(50L, top.get(0).get("returned"));
+
+        List<Map<String, Object>> slow = profiler.slowQueries(10);
+        assertEquals(1, slow.size());
+        assertEquals("{email: ?}", slow.get(0).get("filter"));
+    }
+
+    @Test
+    void testRingBufferKeepsMostRecentEntries() {
+        QueryProfiler profiler = profiler(3);
+        QueryProfiler.Shape old = new QueryProfiler.Shape("find", "pokemon_cards", "{set: ?}", null);
+        QueryProfiler.Shape recent = new QueryProfiler.Shape("find", "pokemon_cards", "{rarity: ?}", null);
+        profiler.record(old, MILLI, 1);
+        for (int i = 0; i < 3; i++) {
+            profiler.record(recent, MILLI, 1);
+        }
+
+        List<Map<String, Object>> top = profiler.topShapes(10);
+        assertEquals(1, top.size());
+        assertEquals("{rarity: ?}", top.get(0).get("filter"));
+    }
+}
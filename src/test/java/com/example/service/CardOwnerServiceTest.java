@@ -0,0 +1,109 @@
+package com.example.service;
+
+import com.example.model.CardOwner;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.micronaut.test.support.TestPropertyProvider;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CardOwnerServiceTest implements TestPropertyProvider {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7.0")
+            .withExposedPorts(27017);
+
+    @Inject
+    CardOwnerService cardOwnerService;
+
+    @Override
+    public Map<String, String> getProperties() {
+        mongoDBContainer.start();
+        return Map.of(
+                "mongodb.uri", mongoDBContainer.getReplicaSetUrl("pokemon_test_db")
+        );
+    }
+
+    private CardOwner newOwner() {
+        return new CardOwner(
+                "Brock",
+                "Harrison",
+                "brock-" + UUID.randomUUID() + "@pokemon.com",
+                "555-0147",
+                new CardOwner.Address("1 Rock St", "Pewter City", "Kanto", "12348", "Pokemon World"),
+                new ArrayList<>()
+        );
+    }
+
+    @Test
+    void testConcurrentAddsAreNeverLost() {
+        CardOwner savedOwner = cardOwnerService.createOwner(newOwner()).block();
+        assertNotNull(savedOwner);
+
+        int parallelAdds = 64;
+        Flux.range(0, parallelAdds)
+                .flatMap(i -> cardOwnerService.addCardToOwner(savedOwner.getId(), "card-" + i)
+                        .subscribeOn(Schedulers.parallel()), parallelAdds)
+                .blockLast();
+
+        StepVerifier.create(cardOwnerService.findById(savedOwner.getId()))
+                .assertNext(owner -> {
+                    assertEquals(parallelAdds, owner.getOwnedCardIds().size());
+                    for (int i = 0; i < parallelAdds; i++) {
+                        assertTrue(owner.getOwnedCardIds().contains("card-" + i));
+                    }
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testAddCardIsIdempotent() {
+        CardOwner savedOwner = cardOwnerService.createOwner(newOwner()).block();
+        assertNotNull(savedOwner);
+
+        cardOwnerService.addCardToOwner(savedOwner.getId(), "card-1").block();
+
+        StepVerifier.create(cardOwnerService.addCardToOwner(savedOwner.getId(), "card-1"))
+                .assertNext(owner -> assertEquals(Arrays.asList("card-1"), owner.getOwnedCardIds()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testRemoveCardReturnsUpdatedOwner() {
+        CardOwner owner = newOwner();
+        owner.setOwnedCardIds(new ArrayList<>(Arrays.asList("card-1", "card-2")));
+        CardOwner savedOwner = cardOwnerService.createOwner(owner).block();
+        assertNotNull(savedOwner);
+
+        StepVerifier.create(cardOwnerService.removeCardFromOwner(savedOwner.getId(), "card-1"))
+                .assertNext(updated -> {
+                    assertEquals(Arrays.asList("card-2"), updated.getOwnedCardIds());
+                    assertTrue(updated.getUpdatedAt().isAfter(savedOwner.getCreatedAt())
+                            || updated.getUpdatedAt().isEqual(savedOwner.getCreatedAt()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testAddCardToMissingOwner() {
+        StepVerifier.create(cardOwnerService.addCardToOwner("nonexistent-id", "card-1"))
+                .expectError(RuntimeException.class)
+                .verify();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.service;
 
 import com.example.model.PokemonCard;
+import com.example.repository.FieldProjection;
 import com.example.repository.PokemonCardRepository;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import io.micronaut.test.support.TestPropertyProvider;
@@ -152,7 +153,7 @@ class PokemonCardServiceTest implements TestPropertyProvider {
         );
         pokemonCardService.createCard(fireCard).block();
 
-        StepVerifier.create(pokemonCardService.findByType("Electric"))
+        StepVerifier.create(pokemonCardService.findByType("Electric", null, 50, FieldProjection.ALL))
                 .assertNext(card -> assertEquals("Electric", card.getType()))
                 .thenConsumeWhile(card -> "Electric".equals(card.getType()))
                 .verifyComplete();
@@ -162,7 +163,7 @@ class PokemonCardServiceTest implements TestPropertyProvider {
     void testFindByRarity() {
         pokemonCardService.createCard(testCard).block();
 
-        StepVerifier.create(pokemonCardService.findByRarity("Common"))
+        StepVerifier.create(pokemonCardService.findByRarity("Common", null, 50, FieldProjection.ALL))
                 .assertNext(card -> assertEquals("Common", card.getRarity()))
                 .thenConsumeWhile(card -> "Common".equals(card.getRarity()))
                 .verifyComplete();
@@ -172,7 +173,7 @@ class PokemonCardServiceTest implements TestPropertyProvider {
     void testSearchByName() {
         pokemonCardService.createCard(testCard).block();
 
-        StepVerifier.create(pokemonCardService.searchByName("Pika"))
+        StepVerifier.create(pokemonCardService.searchByName("Pika", null, 50, FieldProjection.ALL))
                 .assertNext(card -> assertTrue(card.getName().toLowerCase().contains("pika")))
                 .thenConsumeWhile(card -> card.getName().toLowerCase().contains("pika"))
                 .verifyComplete();
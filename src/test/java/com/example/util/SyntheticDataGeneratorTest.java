@@ -0,0 +1,100 @@
+package com.example.util;
+
+import com.example.config.SeedConfiguration;
+import com.example.model.CardOwner;
+import com.example.model.PokemonCard;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDataGeneratorTest {
+
+    private static SeedConfiguration configuration(long randomSeed) {
+        SeedConfiguration configuration = new SeedConfiguration();
+        configuration.setCards(10_000);
+        configuration.setOwners(1_000);
+        configuration.setMaxOwnedCards(2_000);
+        configuration.setRandomSeed(randomSeed);
+        return configuration;
+    }
+
+    @Test
+    void testSameSeedProducesSameDocuments() {
+        SyntheticDataGenerator first = new SyntheticDataGenerator(configuration(7));
+        SyntheticDataGenerator second = new SyntheticDataGenerator(configuration(7));
+
+        for (long index : new long[] {0, 1, 4_321, 9_999}) {
+            PokemonCard left = first.card(index);
+            PokemonCard right = second.card(index);
+            assertEquals(left.getId(), right.getId());
+            assertEquals(left.getName(), right.getName());
+            assertEquals(left.getType(), right.getType());
+            assertEquals(left.getSet(), right.getSet());
+            assertEquals(left.getMarketPrice(), right.getMarketPrice());
+            assertEquals(left.getCreatedAt(), right.getCreatedAt());
+        }
+        assertEquals(first.owner(123).getOwnedCardIds(), second.owner(123).getOwnedCardIds());
+        assertEquals(first.owner(123).getEmail(), second.owner(123).getEmail());
+    }
+
+    @Test
+    void testDifferentSeedProducesDifferentDocuments() {
+        SyntheticDataGenerator first = new SyntheticDataGenerator(configuration(7));
+        SyntheticDataGenerator second = new SyntheticDataGenerator(configuration(8));
+
+        long differing = 0;
+        for (long index = 0; index < 100; index++) {
+            if (!first.card(index).getMarketPrice().equals(second.card(index).getMarketPrice())) {
+                differing++;
+            }
+        }
+        assertTrue(differing > 50);
+        assertEquals(first.card(5).getId(), second.card(5).getId());
+    }
+
+    @Test
+    void testOwnedCardsAreDistinctAndExist() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(configuration(42));
+        int empty = 0;
+        int largest = 0;
+        for (long index = 0; index < 1_000; index++) {
+            CardOwner owner = generator.owner(index);
+            List<String> owned = owner.getOwnedCardIds();
+            assertEquals(owned.size(), new HashSet<>(owned).size());
+            assertTrue(owned.size() <= 2_000);
+            for (String cardId : owned) {
+                assertTrue(Long.parseLong(cardId, 16) < 10_000, cardId);
+            }
+            empty += owned.isEmpty() ? 1 : 0;
+            largest = Math.max(largest, owned.size());
+        }
+        assertTrue(empty > 100, "Expected many owners with no cards, got " + empty);
+        assertTrue(largest > 200, "Expected a long tail of large collections, got " + largest);
+    }
+
+    @Test
+    void testZipfSamplerFavoursLowRanks() {
+        ZipfSampler sampler = new ZipfSampler(100, 1.1);
+        SplittableRandom random = new SplittableRandom(1);
+        int[] counts = new int[101];
+        for (int i = 0; i < 100_000; i++) {
+            int rank = sampler.sample(random);
+            assertTrue(rank >= 1 && rank <= 100, "rank " + rank);
+            counts[rank]++;
+        }
+        assertTrue(counts[1] > counts[2]);
+        assertTrue(counts[2] > counts[10]);
+        assertTrue(counts[10] > counts[100]);
+        // P(1) / P(2) = 2^1.1
+        assertEquals(Math.pow(2, 1.1), (double) counts[1] / counts[2], 0.15);
+    }
+
+    @Test
+    void testZipfSamplerRejectsEmptyRange() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.1));
+    }
+}